@@ -0,0 +1,165 @@
+package io.luna;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.mobile.Animation;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.net.msg.out.NpcUpdateMessageWriter;
+import io.luna.net.msg.out.PlayerUpdateMessageWriter;
+import io.luna.net.session.GameSession;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A world populated with players and npcs at seeded random positions around the starting position, used to benchmark
+ * the updating and region code. Players are given sessions backed by a closed channel, so messages queued for them are
+ * discarded.
+ * <p>
+ * This class is within the {@code io.luna} package in order to construct a {@link LunaContext}. It reads definitions
+ * from {@code ./data}, so benchmarks using it must be run from the root directory.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class SyntheticWorld {
+
+    /**
+     * The identifier of the npc spawned.
+     */
+    private static final int NPC_ID = 1;
+
+    /**
+     * The animation performed by flagged players.
+     */
+    private static final Animation ANIMATION = new Animation(866);
+
+    /**
+     * The amount of ticks simulated, so that every local list is fully populated.
+     */
+    private static final int SETTLE_TICKS = 20;
+
+    static {
+        Configurator.setRootLevel(Level.WARN); // Silence login messages for every synthetic player.
+    }
+
+    /**
+     * The context the world is managed under.
+     */
+    private final LunaContext context = new LunaContext();
+
+    /**
+     * The players within the world.
+     */
+    private final List<Player> players = new ArrayList<>();
+
+    /**
+     * The npcs within the world.
+     */
+    private final List<Npc> npcs = new ArrayList<>();
+
+    /**
+     * Creates a new {@link SyntheticWorld}.
+     *
+     * @param population The amount of players and the amount of npcs.
+     * @param radius The maximum distance from the starting position mobs are placed at.
+     * @param seed The seed for placing mobs.
+     */
+    public SyntheticWorld(int population, int radius, long seed) {
+        Random random = new Random(seed);
+        Channel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        channel.close();
+
+        World world = context.getWorld();
+        for (int index = 0; index < population; index++) {
+            Player player = new Player(context, new PlayerCredentials("bot" + index, "password"));
+            player.setPosition(randomPosition(random, radius));
+            player.setSession(new GameSession(player, channel, null, null, null));
+            world.getPlayers().add(player);
+            player.setRegionChanged(true);
+            player.setLastRegion(player.getPosition());
+            players.add(player);
+
+            Npc npc = new Npc(context, NPC_ID, randomPosition(random, radius));
+            world.getNpcs().add(npc);
+            npcs.add(npc);
+        }
+
+        PlayerUpdateMessageWriter playerUpdate = new PlayerUpdateMessageWriter();
+        NpcUpdateMessageWriter npcUpdate = new NpcUpdateMessageWriter();
+        for (int tick = 0; tick < SETTLE_TICKS; tick++) {
+            for (Player player : players) {
+                playerUpdate.write(player).release();
+                npcUpdate.write(player).release();
+            }
+            players.forEach(it -> {
+                it.clearFlags();
+                it.setCachedBlock(null);
+            });
+            npcs.forEach(Npc::clearFlags);
+        }
+    }
+
+    /**
+     * Makes every {@code n}th player and npc perform an animation, so update blocks are encoded for them.
+     *
+     * @param n The interval of mobs to flag.
+     */
+    public void flagAnimations(int n) {
+        for (int index = 0; index < players.size(); index += n) {
+            players.get(index).animation(ANIMATION);
+            npcs.get(index).animation(ANIMATION);
+        }
+    }
+
+    /**
+     * Clears the cached update blocks of every player, as is done at the end of every tick.
+     */
+    public void clearCachedBlocks() {
+        players.forEach(it -> it.setCachedBlock(null));
+    }
+
+    /**
+     * Returns a random position within {@code radius} of the starting position.
+     */
+    private Position randomPosition(Random random, int radius) {
+        Position start = LunaConstants.STARTING_POSITION;
+        int x = start.getX() + random.nextInt(radius * 2 + 1) - radius;
+        int y = start.getY() + random.nextInt(radius * 2 + 1) - radius;
+        return new Position(x, y);
+    }
+
+    /**
+     * @return The world.
+     */
+    public World getWorld() {
+        return context.getWorld();
+    }
+
+    /**
+     * @return The players within the world.
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The npcs within the world.
+     */
+    public List<Npc> getNpcs() {
+        return npcs;
+    }
+}
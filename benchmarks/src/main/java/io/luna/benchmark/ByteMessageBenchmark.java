@@ -0,0 +1,107 @@
+package io.luna.benchmark;
+
+import io.luna.net.codec.ByteMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures the {@link ByteMessage} operations used most heavily when writing update messages.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ByteMessageBenchmark {
+
+    /**
+     * The amount of bit fields written per invocation, roughly those of a crowded player update.
+     */
+    private static final int BIT_FIELDS = 1024;
+
+    /**
+     * The fixed seed for generating data, so that results are reproducible.
+     */
+    private static final long SEED = 317;
+
+    /**
+     * The widths of the bit fields written.
+     */
+    private final int[] widths = new int[BIT_FIELDS];
+
+    /**
+     * The values of the bit fields written.
+     */
+    private final int[] values = new int[BIT_FIELDS];
+
+    /**
+     * The data written by {@link #putBytes()}.
+     */
+    private final byte[] bytes = new byte[256];
+
+    /**
+     * The string written by {@link #putString()}.
+     */
+    private final String string = "Welcome to Luna! You have 5 unread messages.";
+
+    /**
+     * The message being written to.
+     */
+    private ByteMessage msg;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        for (int index = 0; index < BIT_FIELDS; index++) {
+            widths[index] = 1 + random.nextInt(14);
+            values[index] = random.nextInt(1 << widths[index]);
+        }
+        random.nextBytes(bytes);
+        msg = ByteMessage.message();
+    }
+
+    @TearDown
+    public void tearDown() {
+        msg.release();
+    }
+
+    @Benchmark
+    public ByteMessage putBits() {
+        msg.getBuffer().clear();
+        msg.startBitAccess();
+        for (int index = 0; index < BIT_FIELDS; index++) {
+            msg.putBits(widths[index], values[index]);
+        }
+        msg.endBitAccess();
+        return msg;
+    }
+
+    @Benchmark
+    public ByteMessage putBytes() {
+        msg.getBuffer().clear();
+        msg.putBytes(bytes);
+        return msg;
+    }
+
+    @Benchmark
+    public ByteMessage putString() {
+        msg.getBuffer().clear();
+        msg.putString(string);
+        return msg;
+    }
+}
@@ -0,0 +1,87 @@
+package io.luna.benchmark;
+
+import io.luna.SyntheticWorld;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.region.RegionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures viewing distance queries for every player within crowds of various densities. A radius of
+ * {@code 10} packs the crowd into a single viewport, like a busy Grand Exchange, while larger radii spread it across
+ * several regions.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CrowdBenchmark {
+
+    /**
+     * The fixed seed for placing mobs, so that results are reproducible.
+     */
+    private static final long SEED = 317;
+
+    /**
+     * The amount of players and the amount of npcs in the crowd.
+     */
+    @Param({ "500", "2000" })
+    private int population;
+
+    /**
+     * The maximum distance from the center of the crowd that mobs are placed at.
+     */
+    @Param({ "10", "40" })
+    private int radius;
+
+    /**
+     * The region manager of the world.
+     */
+    private RegionManager regions;
+
+    /**
+     * The players within the crowd.
+     */
+    private List<Player> players;
+
+    @Setup
+    public void setup() {
+        SyntheticWorld world = new SyntheticWorld(population, radius, SEED);
+        regions = world.getWorld().getRegions();
+        players = world.getPlayers();
+    }
+
+    @Benchmark
+    public int getSurroundingPlayers() {
+        int count = 0;
+        for (Player player : players) {
+            count += regions.getSurroundingPlayers(player).size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getSurroundingNpcs() {
+        int count = 0;
+        for (Player player : players) {
+            count += regions.getSurroundingNpcs(player).size();
+        }
+        return count;
+    }
+}
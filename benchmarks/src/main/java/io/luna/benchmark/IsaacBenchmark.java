@@ -0,0 +1,106 @@
+package io.luna.benchmark;
+
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.net.codec.MessageType;
+import io.luna.net.codec.game.GameMessageEncoder;
+import io.luna.net.msg.GameMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures {@link IsaacCipher} throughput, both one value at a time and in blocks, as well as the
+ * per-message overhead of the {@link GameMessageEncoder}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IsaacBenchmark {
+
+    /**
+     * The amount of keys generated per invocation.
+     */
+    private static final int KEYS = 1024;
+
+    /**
+     * The fixed cipher seed, so that results are reproducible.
+     */
+    private static final int[] SEED = { 317, 377, 474, 508 };
+
+    /**
+     * The cipher used for generating keys.
+     */
+    private IsaacCipher cipher;
+
+    /**
+     * The array keys are generated into.
+     */
+    private final int[] keys = new int[KEYS];
+
+    /**
+     * The encoder used for measuring per-message overhead.
+     */
+    private GameMessageEncoder encoder;
+
+    /**
+     * The buffer that messages are encoded into.
+     */
+    private ByteBuf out;
+
+    @Setup
+    public void setup() {
+        cipher = new IsaacCipher(SEED);
+        encoder = new GameMessageEncoder(new IsaacCipher(SEED));
+        out = Unpooled.buffer(64);
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public void nextInt(Blackhole bh) {
+        for (int index = 0; index < KEYS; index++) {
+            bh.consume(cipher.nextInt());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int[] nextInts() {
+        cipher.nextInts(keys);
+        return keys;
+    }
+
+    @Benchmark
+    public ByteBuf encodeMessage() throws Exception {
+        ByteMessage msg = ByteMessage.message(110);
+        msg.put(100);
+
+        out.clear();
+        encoder.encode(null, new GameMessage(msg.getOpcode(), MessageType.FIXED, msg), out);
+        return out;
+    }
+}
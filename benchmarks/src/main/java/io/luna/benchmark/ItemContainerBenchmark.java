@@ -0,0 +1,66 @@
+package io.luna.benchmark;
+
+import io.luna.game.model.item.Item;
+import io.luna.game.model.item.ItemContainer;
+import io.luna.game.model.item.ItemContainer.StackPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures filling and then emptying an inventory sized {@link ItemContainer} with a mix of stackable
+ * and non-stackable items. Must be run from the root directory, as item definitions are read from {@code ./data}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemContainerBenchmark {
+
+    /**
+     * The capacity of the container.
+     */
+    private static final int CAPACITY = 28;
+
+    /**
+     * The items added and removed, alternating between coins and whips.
+     */
+    private final Item[] items = new Item[CAPACITY];
+
+    /**
+     * The container.
+     */
+    private ItemContainer container;
+
+    @Setup
+    public void setup() {
+        for (int index = 0; index < CAPACITY; index++) {
+            items[index] = index % 2 == 0 ? new Item(995, 100) : new Item(4151);
+        }
+        container = new ItemContainer(CAPACITY, StackPolicy.STANDARD);
+    }
+
+    @Benchmark
+    public ItemContainer addRemove() {
+        for (Item item : items) {
+            container.add(item);
+        }
+        for (Item item : items) {
+            container.remove(item);
+        }
+        return container;
+    }
+}
@@ -0,0 +1,123 @@
+package io.luna.benchmark;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.path.Path;
+import io.luna.game.model.path.PathFinder;
+import io.luna.game.model.region.ClippingMap;
+import io.luna.game.model.region.ClippingMapConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures how many paths a single {@link PathFinder} can find per second, over an open field and over
+ * fields with a percentage of randomly blocked tiles. Starts and targets are open tiles, with targets placed up to {@code
+ * 30} tiles away from the start.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathfindingBenchmark {
+
+    /**
+     * The fixed seed for placing blocked tiles and paths, so that results are reproducible.
+     */
+    private static final long SEED = 317;
+
+    /**
+     * The center of the field.
+     */
+    private static final Position CENTER = new Position(3200, 3200);
+
+    /**
+     * The amount of pairs of start and target positions.
+     */
+    private static final int PAIRS = 1024;
+
+    /**
+     * The percentage of blocked tiles in the field.
+     */
+    @Param({ "0", "15", "30" })
+    private int blocked;
+
+    /**
+     * The path finder.
+     */
+    private PathFinder finder;
+
+    /**
+     * The start positions.
+     */
+    private Position[] starts = new Position[PAIRS];
+
+    /**
+     * The target positions.
+     */
+    private Position[] targets = new Position[PAIRS];
+
+    /**
+     * The index of the next pair.
+     */
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(SEED);
+        List<String> dump = new ArrayList<>();
+        Set<Position> blockedTiles = new HashSet<>();
+        for (int x = CENTER.getX() - 100; x <= CENTER.getX() + 100; x++) {
+            for (int y = CENTER.getY() - 100; y <= CENTER.getY() + 100; y++) {
+                if (random.nextInt(100) < blocked) {
+                    dump.add(x + " " + y + " 0 0x200000");
+                    blockedTiles.add(new Position(x, y));
+                }
+            }
+        }
+
+        java.nio.file.Path input = Files.createTempFile("clipping", ".txt");
+        java.nio.file.Path output = Files.createTempFile("clipping", ".bin");
+        try {
+            Files.write(input, dump);
+            ClippingMapConverter.convert(input, output);
+            finder = new PathFinder(ClippingMap.load(output));
+        } finally {
+            Files.delete(input);
+            output.toFile().deleteOnExit();
+        }
+
+        for (int index = 0; index < PAIRS; index++) {
+            do {
+                starts[index] = CENTER.move(random.nextInt(61) - 30, random.nextInt(61) - 30);
+                targets[index] = starts[index].move(random.nextInt(61) - 30, random.nextInt(61) - 30);
+            } while (blockedTiles.contains(starts[index]) || blockedTiles.contains(targets[index]));
+        }
+    }
+
+    @Benchmark
+    public Path find() {
+        int index = next++ & (PAIRS - 1);
+        return finder.find(starts[index], targets[index]);
+    }
+}
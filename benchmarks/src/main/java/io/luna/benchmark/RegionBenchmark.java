@@ -0,0 +1,70 @@
+package io.luna.benchmark;
+
+import io.luna.SyntheticWorld;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.region.RegionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures surrounding player lookups for every player in synthetic worlds of various populations.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RegionBenchmark {
+
+    /**
+     * The fixed seed for placing mobs, so that results are reproducible.
+     */
+    private static final long SEED = 317;
+
+    /**
+     * The amount of players and the amount of npcs in the world.
+     */
+    @Param({ "100", "500", "2000" })
+    private int population;
+
+    /**
+     * The region manager of the world.
+     */
+    private RegionManager regions;
+
+    /**
+     * The players within the world.
+     */
+    private List<Player> players;
+
+    @Setup
+    public void setup() {
+        SyntheticWorld world = new SyntheticWorld(population, 32, SEED);
+        regions = world.getWorld().getRegions();
+        players = world.getPlayers();
+    }
+
+    @Benchmark
+    public int getSurroundingPlayers() {
+        int count = 0;
+        for (Player player : players) {
+            count += regions.getSurroundingPlayers(player).size();
+        }
+        return count;
+    }
+}
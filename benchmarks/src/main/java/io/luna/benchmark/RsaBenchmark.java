@@ -0,0 +1,113 @@
+package io.luna.benchmark;
+
+import io.luna.util.RsaUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures how many login blocks can be decrypted per second on a single core, using both the standard
+ * and Chinese Remainder Theorem methods of RSA decryption.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RsaBenchmark {
+
+    /**
+     * The fixed seed used to generate the key pair and login block, so that results are reproducible.
+     */
+    private static final long SEED = 317L;
+
+    /**
+     * The RSA modulus.
+     */
+    private BigInteger modulus;
+
+    /**
+     * The private RSA exponent.
+     */
+    private BigInteger exponent;
+
+    /**
+     * The first prime factor.
+     */
+    private BigInteger p;
+
+    /**
+     * The second prime factor.
+     */
+    private BigInteger q;
+
+    /**
+     * The private exponent modulo {@code p - 1}.
+     */
+    private BigInteger dp;
+
+    /**
+     * The private exponent modulo {@code q - 1}.
+     */
+    private BigInteger dq;
+
+    /**
+     * The inverse of {@code q} modulo {@code p}.
+     */
+    private BigInteger qInv;
+
+    /**
+     * An encrypted login block.
+     */
+    private BigInteger encrypted;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        BigInteger publicExponent = BigInteger.valueOf(65537);
+
+        BigInteger phi;
+        do {
+            p = BigInteger.probablePrime(512, random);
+            q = BigInteger.probablePrime(512, random);
+            phi = p.subtract(BigInteger.ONE).multiply(q.subtract(BigInteger.ONE));
+        } while (!phi.gcd(publicExponent).equals(BigInteger.ONE));
+
+        modulus = p.multiply(q);
+        exponent = publicExponent.modInverse(phi);
+        dp = exponent.mod(p.subtract(BigInteger.ONE));
+        dq = exponent.mod(q.subtract(BigInteger.ONE));
+        qInv = q.modInverse(p);
+
+        byte[] block = new byte[64];
+        random.nextBytes(block);
+        block[0] = 10;
+        encrypted = new BigInteger(block).modPow(publicExponent, modulus);
+    }
+
+    @Benchmark
+    public BigInteger standard() {
+        return RsaUtils.decrypt(encrypted, modulus, exponent);
+    }
+
+    @Benchmark
+    public BigInteger crt() {
+        return RsaUtils.decryptCrt(encrypted, p, q, dp, dq, qInv);
+    }
+}
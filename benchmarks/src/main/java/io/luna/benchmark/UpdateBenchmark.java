@@ -0,0 +1,118 @@
+package io.luna.benchmark;
+
+import io.luna.SyntheticWorld;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.update.UpdateBlockSet;
+import io.luna.game.model.mobile.update.UpdateState;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.msg.out.NpcUpdateMessageWriter;
+import io.luna.net.msg.out.PlayerUpdateMessageWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark that measures a full tick of player and npc updating, as well as update block encoding, on synthetic
+ * worlds of various populations. Every fourth mob performs an animation, so update blocks are written.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UpdateBenchmark {
+
+    /**
+     * The fixed seed for placing mobs, so that results are reproducible.
+     */
+    private static final long SEED = 317;
+
+    /**
+     * The amount of players and the amount of npcs in the world.
+     */
+    @Param({ "100", "500", "2000" })
+    private int population;
+
+    /**
+     * The synthetic world.
+     */
+    private SyntheticWorld world;
+
+    /**
+     * The players within the world.
+     */
+    private List<Player> players;
+
+    /**
+     * The player update message writer.
+     */
+    private final PlayerUpdateMessageWriter playerUpdate = new PlayerUpdateMessageWriter();
+
+    /**
+     * The npc update message writer.
+     */
+    private final NpcUpdateMessageWriter npcUpdate = new NpcUpdateMessageWriter();
+
+    /**
+     * The message update blocks are encoded into.
+     */
+    private ByteMessage blockMsg;
+
+    @Setup
+    public void setup() {
+        world = new SyntheticWorld(population, 32, SEED);
+        world.flagAnimations(4);
+        players = world.getPlayers();
+        blockMsg = ByteMessage.message();
+    }
+
+    @TearDown
+    public void tearDown() {
+        blockMsg.release();
+    }
+
+    @Benchmark
+    public int playerUpdate() {
+        int size = 0;
+        for (Player player : players) {
+            ByteMessage msg = playerUpdate.write(player);
+            size += msg.getBuffer().readableBytes();
+            msg.release();
+        }
+        world.clearCachedBlocks();
+        return size;
+    }
+
+    @Benchmark
+    public int npcUpdate() {
+        int size = 0;
+        for (Player player : players) {
+            ByteMessage msg = npcUpdate.write(player);
+            size += msg.getBuffer().readableBytes();
+            msg.release();
+        }
+        return size;
+    }
+
+    @Benchmark
+    public ByteMessage encodeUpdateBlocks() {
+        blockMsg.getBuffer().clear();
+        UpdateBlockSet.PLAYER_BLOCK_SET.encodeUpdateBlocks(players.get(0), blockMsg, UpdateState.ADD_LOCAL);
+        return blockMsg;
+    }
+}
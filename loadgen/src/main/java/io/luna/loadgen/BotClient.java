@@ -0,0 +1,424 @@
+package io.luna.loadgen;
+
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.ByteOrder;
+import io.luna.net.codec.ByteTransform;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.net.codec.MessageType;
+import io.luna.net.codec.game.GameMessageEncoder;
+import io.luna.net.codec.login.LoginResponse;
+import io.luna.net.msg.GameMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ByteToMessageDecoder} implementation that plays the part of a single 317 client. It performs the login
+ * protocol, decodes the framing of every message sent by the server, and performs a random action every tick until its
+ * session ends and it clicks the logout button.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class BotClient extends ByteToMessageDecoder {
+
+    /**
+     * The sizes of messages sent by the server, by opcode. {@code -1} and {@code -2} describe variable sized messages and
+     * {@code -3} describes messages that are never sent.
+     */
+    private static final int[] MESSAGE_SIZES = new int[256];
+
+    /**
+     * The public RSA exponent used by the client.
+     */
+    private static final BigInteger PUBLIC_EXPONENT = BigInteger.valueOf(65537);
+
+    /**
+     * The amount of milliseconds in a single tick.
+     */
+    private static final long TICK_MILLIS = 600;
+
+    /**
+     * The identifier of the logout button.
+     */
+    private static final int LOGOUT_BUTTON = 2458;
+
+    /**
+     * The identifier of the inventory interface.
+     */
+    private static final int INVENTORY_INTERFACE = 3214;
+
+    static {
+        Arrays.fill(MESSAGE_SIZES, -3);
+        int[][] sizes = { { 34, -2 }, { 36, 3 }, { 44, 5 }, { 53, -2 }, { 61, 1 }, { 65, -2 }, { 71, 3 }, { 73, 4 },
+            { 74, 2 }, { 81, -2 }, { 87, 6 }, { 97, 2 }, { 106, 1 }, { 109, 0 }, { 110, 1 }, { 122, 4 }, { 126, -2 },
+            { 134, 6 }, { 164, 2 }, { 171, 3 }, { 174, 5 }, { 219, 0 }, { 240, 2 }, { 248, 4 }, { 249, 3 },
+            { 253, -1 } };
+        for (int[] size : sizes) {
+            MESSAGE_SIZES[size[0]] = size[1];
+        }
+    }
+
+    /**
+     * The load generator this bot belongs to.
+     */
+    private final LoadGenerator generator;
+
+    /**
+     * The statistics this bot records to.
+     */
+    private final LoadStatistics statistics;
+
+    /**
+     * The username of this bot.
+     */
+    private final String username;
+
+    /**
+     * The random number generator used to pick actions.
+     */
+    private final Random random;
+
+    /**
+     * The amount of ticks this bot will stay logged in for.
+     */
+    private final int sessionTicks;
+
+    /**
+     * The time the connection was started, in nanoseconds.
+     */
+    private final long connectTime;
+
+    /**
+     * The current state of this bot.
+     */
+    private State state = State.HANDSHAKE;
+
+    /**
+     * The ISAAC that decrypts incoming opcodes.
+     */
+    private IsaacCipher decryptor;
+
+    /**
+     * The task that performs an action every tick.
+     */
+    private ScheduledFuture<?> tickTask;
+
+    /**
+     * The amount of ticks this bot has been logged in for.
+     */
+    private int ticks;
+
+    /**
+     * If the logout button has been clicked.
+     */
+    private boolean loggingOut;
+
+    /**
+     * The opcode of the message currently being decoded.
+     */
+    private int opcode = -1;
+
+    /**
+     * The size of the message currently being decoded.
+     */
+    private int size = -1;
+
+    /**
+     * The time the last player update was received, in nanoseconds.
+     */
+    private long lastUpdate;
+
+    /**
+     * The base coordinates of the currently loaded map, in tiles.
+     */
+    private int baseX, baseY = -1;
+
+    /**
+     * Creates a new {@link BotClient}.
+     *
+     * @param generator The load generator this bot belongs to.
+     * @param username The username of this bot.
+     * @param random The random number generator used to pick actions.
+     * @param sessionTicks The amount of ticks this bot will stay logged in for.
+     */
+    BotClient(LoadGenerator generator, String username, Random random, int sessionTicks) {
+        this.generator = generator;
+        this.username = username;
+        this.random = random;
+        this.sessionTicks = sessionTicks;
+        statistics = generator.getStatistics();
+        connectTime = System.nanoTime();
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        ByteBuf buf = ctx.alloc().buffer(2);
+        buf.writeByte(14);
+        buf.writeByte(0);
+        ctx.writeAndFlush(buf);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+        if (state == State.GAME) {
+            statistics.online.decrement();
+            if (loggingOut) {
+                statistics.logouts.increment();
+            } else {
+                statistics.disconnects.increment();
+            }
+        } else if (state != State.REJECTED) {
+            statistics.disconnects.increment();
+        }
+        generator.reconnect(username);
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        statistics.errors.increment();
+        ctx.close();
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        switch (state) {
+        case HANDSHAKE:
+            decodeHandshake(ctx, in);
+            break;
+        case LOGIN_RESPONSE:
+            decodeLoginResponse(ctx, in);
+            break;
+        case GAME:
+            decodeMessage(ctx, in);
+            break;
+        case REJECTED:
+            in.skipBytes(in.readableBytes());
+            break;
+        }
+    }
+
+    /**
+     * Decodes the handshake response and sends the login block.
+     */
+    private void decodeHandshake(ChannelHandlerContext ctx, ByteBuf in) {
+        if (in.readableBytes() >= 17) {
+            in.skipBytes(9);
+            long serverHalf = in.readLong();
+            long clientHalf = random.nextLong();
+
+            ByteMessage rsaBlock = ByteMessage.message();
+            rsaBlock.put(10);
+            rsaBlock.putLong(clientHalf);
+            rsaBlock.putLong(serverHalf);
+            rsaBlock.putInt(random.nextInt());
+            rsaBlock.putString(username);
+            rsaBlock.putString("password");
+            byte[] plain = new byte[rsaBlock.getBuffer().readableBytes()];
+            rsaBlock.getBuffer().readBytes(plain);
+            rsaBlock.release();
+            byte[] encrypted = new BigInteger(plain).modPow(PUBLIC_EXPONENT, generator.getModulus()).toByteArray();
+
+            ByteBuf buf = ctx.alloc().buffer(encrypted.length + 43);
+            buf.writeByte(16);
+            buf.writeByte(encrypted.length + 41);
+            buf.writeByte(255);
+            buf.writeShort(317);
+            buf.writeByte(0);
+            for (int i = 0; i < 9; i++) {
+                buf.writeInt(0);
+            }
+            buf.writeByte(encrypted.length);
+            buf.writeBytes(encrypted);
+            ctx.writeAndFlush(buf);
+
+            int[] isaacSeed = { (int) (clientHalf >> 32), (int) clientHalf, (int) (serverHalf >> 32), (int) serverHalf };
+            IsaacCipher encryptor = new IsaacCipher(isaacSeed);
+            for (int i = 0; i < isaacSeed.length; i++) {
+                isaacSeed[i] += 50;
+            }
+            decryptor = new IsaacCipher(isaacSeed);
+            ctx.pipeline().addBefore(ctx.name(), "game-encoder", new GameMessageEncoder(encryptor));
+
+            state = State.LOGIN_RESPONSE;
+        }
+    }
+
+    /**
+     * Decodes the login response, and starts performing actions if the login was successful.
+     */
+    private void decodeLoginResponse(ChannelHandlerContext ctx, ByteBuf in) {
+        if (!in.isReadable()) {
+            return;
+        }
+        int responseOpcode = in.getUnsignedByte(in.readerIndex());
+        if (responseOpcode != LoginResponse.NORMAL.getOpcode()) {
+            in.skipBytes(1);
+            state = State.REJECTED;
+            Arrays.stream(LoginResponse.values()).filter(it -> it.getOpcode() == responseOpcode).findFirst()
+                .ifPresent(statistics::rejected);
+            ctx.close();
+        } else if (in.readableBytes() >= 3) {
+            in.skipBytes(3);
+            state = State.GAME;
+            statistics.loginLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectTime));
+            statistics.logins.increment();
+            statistics.online.increment();
+            tickTask = ctx.executor().scheduleAtFixedRate(() -> tick(ctx), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Decodes the framing of a single message sent by the server.
+     */
+    private void decodeMessage(ChannelHandlerContext ctx, ByteBuf in) {
+        if (opcode == -1) {
+            if (!in.isReadable()) {
+                return;
+            }
+            opcode = (in.readUnsignedByte() - decryptor.nextInt()) & 0xFF;
+            size = MESSAGE_SIZES[opcode];
+            if (size == -3) {
+                statistics.errors.increment();
+                state = State.REJECTED;
+                ctx.close();
+                return;
+            }
+        }
+        if (size == -1) {
+            if (!in.isReadable()) {
+                return;
+            }
+            size = in.readUnsignedByte();
+        } else if (size == -2) {
+            if (!in.isReadable(2)) {
+                return;
+            }
+            size = in.readUnsignedShort();
+        }
+        if (in.isReadable(size)) {
+            handleMessage(ctx, opcode, in.readSlice(size));
+            statistics.messagesIn.increment();
+            opcode = -1;
+            size = -1;
+        }
+    }
+
+    /**
+     * Handles a decoded message sent by the server.
+     */
+    private void handleMessage(ChannelHandlerContext ctx, int opcode, ByteBuf payload) {
+        switch (opcode) {
+        case 73: // Region change.
+            ByteMessage msg = ByteMessage.wrap(payload);
+            baseX = (msg.getShort(ByteTransform.A) - 6) * 8;
+            baseY = (msg.getShort() - 6) * 8;
+            send(ctx, 121, MessageType.FIXED, ByteMessage.message());
+            break;
+        case 81: // Player update, received once per tick.
+            long now = System.nanoTime();
+            if (lastUpdate != 0) {
+                statistics.tickInterval.record(TimeUnit.NANOSECONDS.toMillis(now - lastUpdate));
+            }
+            lastUpdate = now;
+            break;
+        }
+    }
+
+    /**
+     * Performs a random action, or logs out if the session has ended.
+     */
+    private void tick(ChannelHandlerContext ctx) {
+        if (loggingOut) {
+            return;
+        }
+        if (++ticks >= sessionTicks || !generator.isRunning()) {
+            ByteMessage msg = ByteMessage.message();
+            msg.putShort(LOGOUT_BUTTON);
+            send(ctx, 185, MessageType.FIXED, msg);
+            loggingOut = true;
+            return;
+        }
+
+        int action = random.nextInt(100);
+        if (action < 40 && baseY != -1) {
+            walk(ctx);
+        } else if (action < 55) {
+            chat(ctx);
+        } else if (action < 70) {
+            clickItem(ctx);
+        } else {
+            send(ctx, 0, MessageType.FIXED, ByteMessage.message()); // Idle.
+        }
+    }
+
+    /**
+     * Clicks a random tile within the loaded map.
+     */
+    private void walk(ChannelHandlerContext ctx) {
+        int x = baseX + 40 + random.nextInt(24);
+        int y = baseY + 40 + random.nextInt(24);
+
+        ByteMessage msg = ByteMessage.message();
+        msg.putShort(x, ByteTransform.A, ByteOrder.LITTLE);
+        msg.putShort(y, ByteOrder.LITTLE);
+        msg.put(random.nextBoolean() ? 1 : 0, ByteTransform.S);
+        send(ctx, 164, MessageType.VARIABLE, msg);
+    }
+
+    /**
+     * Says a random message.
+     */
+    private void chat(ChannelHandlerContext ctx) {
+        byte[] text = new byte[4 + random.nextInt(12)];
+        random.nextBytes(text);
+
+        ByteMessage msg = ByteMessage.message();
+        msg.put(0, ByteTransform.S);
+        msg.put(0, ByteTransform.S);
+        for (int i = text.length - 1; i >= 0; i--) {
+            msg.put(text[i], ByteTransform.A);
+        }
+        send(ctx, 4, MessageType.VARIABLE, msg);
+    }
+
+    /**
+     * Clicks a random inventory slot.
+     */
+    private void clickItem(ChannelHandlerContext ctx) {
+        ByteMessage msg = ByteMessage.message();
+        msg.putShort(INVENTORY_INTERFACE, ByteTransform.A, ByteOrder.LITTLE);
+        msg.putShort(random.nextInt(28), ByteTransform.A);
+        msg.putShort(995, ByteOrder.LITTLE);
+        send(ctx, 122, MessageType.FIXED, msg);
+    }
+
+    /**
+     * Sends a message to the server.
+     */
+    private void send(ChannelHandlerContext ctx, int opcode, MessageType type, ByteMessage payload) {
+        ctx.writeAndFlush(new GameMessage(opcode, type, payload), ctx.voidPromise());
+        statistics.messagesOut.increment();
+    }
+
+    /**
+     * An enumerated type whose elements represent the states of a bot.
+     */
+    private enum State {
+        HANDSHAKE,
+        LOGIN_RESPONSE,
+        GAME,
+        REJECTED
+    }
+}
@@ -0,0 +1,108 @@
+package io.luna.loadgen;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of millisecond values with a resolution of one millisecond. Values larger than the amount of
+ * buckets are recorded into the last bucket.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class Histogram {
+
+    /**
+     * The amount of values recorded into each bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The amount of values recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of all values recorded.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The largest value recorded.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new {@link Histogram}.
+     *
+     * @param maxValue The largest value that can be recorded without being clamped.
+     */
+    public Histogram(int maxValue) {
+        buckets = new AtomicLongArray(maxValue + 1);
+    }
+
+    /**
+     * Records a single value.
+     *
+     * @param value The value, in milliseconds.
+     */
+    public void record(long value) {
+        int index = (int) Math.max(0, Math.min(value, buckets.length() - 1));
+        buckets.incrementAndGet(index);
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the smallest value that {@code percentile} percent of recorded values are less than or equal to.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The value at the percentile, or {@code 0} if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int index = 0; index < buckets.length(); index++) {
+            seen += buckets.get(index);
+            if (seen >= threshold) {
+                return index;
+            }
+        }
+        return buckets.length() - 1;
+    }
+
+    /**
+     * @return The amount of values recorded.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return The mean of all values recorded.
+     */
+    public double mean() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * @return The largest value recorded.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return A summary of the distribution of recorded values.
+     */
+    public String summary() {
+        return String.format("n=%d mean=%.1fms p50=%dms p90=%dms p99=%dms max=%dms", count(), mean(), percentile(50),
+            percentile(90), percentile(99), max());
+    }
+}
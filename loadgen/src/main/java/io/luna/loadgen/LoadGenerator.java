@@ -0,0 +1,268 @@
+package io.luna.loadgen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.LunaConstants;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless load generator that logs in large amounts of simulated 317 clients. Each bot logs in, walks, chats and
+ * clicks items for a random amount of ticks, logs out, and then logs back in until the test ends. Login throughput,
+ * bandwidth, disconnects and the tick length observed by the bots are reported periodically.
+ * <p>
+ * Usage: {@code LoadGenerator [bots] [seconds] [logins per second] [host] [port]}. This must be run from the root
+ * directory, as the RSA modulus and default port are read from {@code ./data/luna.toml}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class LoadGenerator {
+
+    /**
+     * The amount of seconds between reports.
+     */
+    private static final int REPORT_SECONDS = 5;
+
+    /**
+     * The minimum amount of ticks a bot stays logged in for.
+     */
+    private static final int MIN_SESSION_TICKS = 50;
+
+    /**
+     * The maximum amount of ticks a bot stays logged in for.
+     */
+    private static final int MAX_SESSION_TICKS = 200;
+
+    /**
+     * The maximum amount of seconds to wait for bots to log out once the test has ended.
+     */
+    private static final int LOGOUT_TIMEOUT_SECONDS = 30;
+
+    /**
+     * A program entry point that starts a new load test.
+     *
+     * @param args The program arguments.
+     * @throws Exception If any errors occur while running the load test.
+     */
+    public static void main(String[] args) throws Exception {
+        int bots = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int loginRate = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        String host = args.length > 3 ? args[3] : "127.0.0.1";
+        int port = args.length > 4 ? Integer.parseInt(args[4]) : LunaConstants.PORT;
+
+        new LoadGenerator(host, port, LunaConstants.RSA_MODULUS).run(bots, seconds, loginRate);
+    }
+
+    /**
+     * The statistics recorded by every bot.
+     */
+    private final LoadStatistics statistics = new LoadStatistics();
+
+    /**
+     * The event loop group that every bot runs on.
+     */
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup();
+
+    /**
+     * The executor that schedules connections and reports.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("LoadGeneratorThread").setDaemon(true).build());
+
+    /**
+     * The traffic counter shared by every bot.
+     */
+    private final TrafficCounter trafficCounter = new TrafficCounter(statistics);
+
+    /**
+     * The host to connect to.
+     */
+    private final String host;
+
+    /**
+     * The port to connect to.
+     */
+    private final int port;
+
+    /**
+     * The public RSA modulus of the server.
+     */
+    private final BigInteger modulus;
+
+    /**
+     * If the load test is still running. Bots log out and stop reconnecting once this is {@code false}.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * The time the load test was started, in nanoseconds.
+     */
+    private long startTime;
+
+    /**
+     * The amount of logins at the last report.
+     */
+    private long lastLogins;
+
+    /**
+     * The amount of bytes received at the last report.
+     */
+    private long lastBytesIn;
+
+    /**
+     * The amount of bytes sent at the last report.
+     */
+    private long lastBytesOut;
+
+    /**
+     * Creates a new {@link LoadGenerator}.
+     *
+     * @param host The host to connect to.
+     * @param port The port to connect to.
+     * @param modulus The public RSA modulus of the server.
+     */
+    public LoadGenerator(String host, int port, BigInteger modulus) {
+        this.host = host;
+        this.port = port;
+        this.modulus = modulus;
+    }
+
+    /**
+     * Runs a load test, blocking until it has finished.
+     *
+     * @param bots The amount of bots.
+     * @param seconds The duration of the test, in seconds.
+     * @param loginRate The amount of bots started per second.
+     * @throws InterruptedException If interrupted while waiting for the test to finish.
+     */
+    public void run(int bots, int seconds, int loginRate) throws InterruptedException {
+        System.out.printf("Starting %d bots against %s:%d at %d logins/s for %d seconds.%n", bots, host, port, loginRate,
+            seconds);
+
+        startTime = System.nanoTime();
+        for (int index = 0; index < bots; index++) {
+            String username = "bot" + index;
+            scheduler.schedule(() -> connect(username), index * 1000L / loginRate, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleAtFixedRate(this::report, REPORT_SECONDS, REPORT_SECONDS, TimeUnit.SECONDS);
+
+        TimeUnit.SECONDS.sleep(seconds);
+        running = false;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LOGOUT_TIMEOUT_SECONDS);
+        while (statistics.online.sum() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        scheduler.shutdownNow();
+        eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+
+        report();
+        System.out.println("Login responses: " + statistics.rejectionSummary() + " rejected.");
+        System.out.println("Login latency:   " + statistics.loginLatency.summary());
+        System.out.println("Tick interval:   " + statistics.tickInterval.summary());
+        System.out.printf("Totals:          %d connects, %d connect failures, %d logins, %d logouts, %d disconnects, " +
+                "%d errors, %d KB in, %d KB out, %d messages in, %d messages out%n", statistics.connects.sum(),
+            statistics.connectFailures.sum(), statistics.logins.sum(), statistics.logouts.sum(),
+            statistics.disconnects.sum(), statistics.errors.sum(), statistics.bytesIn.sum() / 1024,
+            statistics.bytesOut.sum() / 1024, statistics.messagesIn.sum(), statistics.messagesOut.sum());
+    }
+
+    /**
+     * Starts a new connection for the bot with {@code username}.
+     */
+    private void connect(String username) {
+        if (!running) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sessionTicks = random.nextInt(MIN_SESSION_TICKS, MAX_SESSION_TICKS + 1);
+        BotClient bot = new BotClient(this, username, new Random(random.nextLong()), sessionTicks);
+
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(eventLoopGroup);
+        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.option(ChannelOption.TCP_NODELAY, true);
+        bootstrap.handler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel ch) throws Exception {
+                ch.pipeline().addLast("traffic-counter", trafficCounter);
+                ch.pipeline().addLast("bot", bot);
+            }
+        });
+
+        statistics.connects.increment();
+        ChannelFuture future = bootstrap.connect(host, port);
+        future.addListener(it -> {
+            if (!it.isSuccess()) {
+                statistics.connectFailures.increment();
+                reconnect(username);
+            }
+        });
+    }
+
+    /**
+     * Schedules a new connection for the bot with {@code username}, if the load test is still running.
+     *
+     * @param username The username of the bot.
+     */
+    void reconnect(String username) {
+        if (running) {
+            long delay = ThreadLocalRandom.current().nextLong(1000, 3000);
+            scheduler.schedule(() -> connect(username), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Prints the statistics gathered since the last report.
+     */
+    private synchronized void report() {
+        long logins = statistics.logins.sum();
+        long bytesIn = statistics.bytesIn.sum();
+        long bytesOut = statistics.bytesOut.sum();
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime);
+
+        System.out.printf("[%4ds] online=%d logins=%d (%.1f/s) disconnects=%d errors=%d in=%.1fKB/s out=%.1fKB/s " +
+                "tick p50=%dms p99=%dms%n", elapsed, statistics.online.sum(), logins,
+            (logins - lastLogins) / (double) REPORT_SECONDS, statistics.disconnects.sum(), statistics.errors.sum(),
+            (bytesIn - lastBytesIn) / 1024.0 / REPORT_SECONDS, (bytesOut - lastBytesOut) / 1024.0 / REPORT_SECONDS,
+            statistics.tickInterval.percentile(50), statistics.tickInterval.percentile(99));
+
+        lastLogins = logins;
+        lastBytesIn = bytesIn;
+        lastBytesOut = bytesOut;
+    }
+
+    /**
+     * @return The statistics recorded by every bot.
+     */
+    LoadStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The public RSA modulus of the server.
+     */
+    BigInteger getModulus() {
+        return modulus;
+    }
+
+    /**
+     * @return {@code true} if the load test is still running.
+     */
+    boolean isRunning() {
+        return running;
+    }
+}
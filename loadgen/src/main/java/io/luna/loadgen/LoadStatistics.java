@@ -0,0 +1,117 @@
+package io.luna.loadgen;
+
+import io.luna.net.codec.login.LoginResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics gathered by every bot during a load test.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class LoadStatistics {
+
+    /**
+     * The amount of connection attempts.
+     */
+    final LongAdder connects = new LongAdder();
+
+    /**
+     * The amount of connection attempts that failed before reaching the server.
+     */
+    final LongAdder connectFailures = new LongAdder();
+
+    /**
+     * The amount of successful logins.
+     */
+    final LongAdder logins = new LongAdder();
+
+    /**
+     * The amount of clean logouts, initiated by clicking the logout button.
+     */
+    final LongAdder logouts = new LongAdder();
+
+    /**
+     * The amount of connections closed without the bot logging out.
+     */
+    final LongAdder disconnects = new LongAdder();
+
+    /**
+     * The amount of protocol errors, such as unknown message opcodes.
+     */
+    final LongAdder errors = new LongAdder();
+
+    /**
+     * The amount of bots currently logged in.
+     */
+    final LongAdder online = new LongAdder();
+
+    /**
+     * The amount of bytes received from the server.
+     */
+    final LongAdder bytesIn = new LongAdder();
+
+    /**
+     * The amount of bytes sent to the server.
+     */
+    final LongAdder bytesOut = new LongAdder();
+
+    /**
+     * The amount of messages received from the server.
+     */
+    final LongAdder messagesIn = new LongAdder();
+
+    /**
+     * The amount of messages sent to the server.
+     */
+    final LongAdder messagesOut = new LongAdder();
+
+    /**
+     * The amount of rejected logins, by response.
+     */
+    private final Map<LoginResponse, LongAdder> rejections = new EnumMap<>(LoginResponse.class);
+
+    /**
+     * The time between the connection attempt and the login response.
+     */
+    final Histogram loginLatency = new Histogram(30_000);
+
+    /**
+     * The time between consecutive player updates, which is the tick length as observed by clients.
+     */
+    final Histogram tickInterval = new Histogram(10_000);
+
+    /**
+     * Creates a new {@link LoadStatistics}.
+     */
+    LoadStatistics() {
+        for (LoginResponse response : LoginResponse.values()) {
+            rejections.put(response, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a rejected login.
+     *
+     * @param response The response the server rejected the login with.
+     */
+    void rejected(LoginResponse response) {
+        rejections.get(response).increment();
+    }
+
+    /**
+     * @return A summary of every rejected login, by response.
+     */
+    String rejectionSummary() {
+        StringBuilder sb = new StringBuilder();
+        rejections.forEach((response, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                sb.append(sb.length() == 0 ? "" : ", ").append(response).append('=').append(value);
+            }
+        });
+        return sb.length() == 0 ? "none" : sb.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package io.luna.loadgen;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * A {@link ChannelDuplexHandler} implementation that counts the bytes sent and received by every bot.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+@Sharable final class TrafficCounter extends ChannelDuplexHandler {
+
+    /**
+     * The statistics to record to.
+     */
+    private final LoadStatistics statistics;
+
+    /**
+     * Creates a new {@link TrafficCounter}.
+     *
+     * @param statistics The statistics to record to.
+     */
+    TrafficCounter(LoadStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ByteBuf) {
+            statistics.bytesIn.add(((ByteBuf) msg).readableBytes());
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf) {
+            statistics.bytesOut.add(((ByteBuf) msg).readableBytes());
+        }
+        super.write(ctx, msg, promise);
+    }
+}
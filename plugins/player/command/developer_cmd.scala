@@ -92,9 +92,12 @@ on[CommandEvent]("set_skill", RIGHTS_DEV) { msg =>
   }
 }
 
-/* A command that spawns a non-player character. */
+/* A command that spawns a non-player character, which wanders within the optional radius. */
 on[CommandEvent]("npc", RIGHTS_DEV) { msg =>
-  world.addNpc(msg.args(0).toInt, msg.plr.position)
+  val npc = world.addNpc(msg.args(0).toInt, msg.plr.position)
+  if (msg.args.length == 2) {
+    npc.setWanderRadius(msg.args(1).toInt)
+  }
 }
 
 /* A command that will play music. */
@@ -72,10 +72,8 @@ def advanceLevel(plr: Player, id: Int, oldLevel: Int) = {
 }
 
 
-/* When a player's skills change, send the update to the client and check if they've advanced a level. */
+/* When a player's skills change, check if they've advanced a level. The skill set sends the update to the client. */
 intercept_@[SkillChangeEvent](TYPE_PLAYER) { (msg, plr) =>
-  plr.sendSkillUpdate(msg.getId)
-
   if (msg.getOldStaticLevel < 99) {
     advanceLevel(plr, msg.getId, msg.getOldStaticLevel)
   }
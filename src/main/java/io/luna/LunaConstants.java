@@ -1,5 +1,6 @@
 package io.luna;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.moandjiezana.toml.Toml;
 import io.luna.game.model.Position;
@@ -10,6 +11,7 @@ import io.netty.util.ResourceLeakDetector.Level;
 import java.io.File;
 import java.math.BigInteger;
 
+import static com.google.common.base.Preconditions.checkState;
 import static io.luna.util.GsonUtils.getAsType;
 
 /**
@@ -27,8 +29,27 @@ public final class LunaConstants {
             PORT = networkConstants.get("port").getAsInt();
             RSA_MODULUS = new BigInteger(networkConstants.get("rsa_modulus").getAsString());
             RSA_EXPONENT = new BigInteger(networkConstants.get("rsa_exponent").getAsString());
+            BigInteger p = getAsOptionalBigInteger(networkConstants, "rsa_p");
+            BigInteger q = getAsOptionalBigInteger(networkConstants, "rsa_q");
+            BigInteger dp = getAsOptionalBigInteger(networkConstants, "rsa_dp");
+            BigInteger dq = getAsOptionalBigInteger(networkConstants, "rsa_dq");
+            BigInteger qInv = getAsOptionalBigInteger(networkConstants, "rsa_qinv");
+            boolean crt = p != null && q != null && dp != null && dq != null && qInv != null;
+            if (crt) {
+                checkState(p.multiply(q).equals(LunaConstants.RSA_MODULUS), "rsa_p * rsa_q != rsa_modulus");
+            }
+            RSA_P = p;
+            RSA_Q = q;
+            RSA_DP = dp;
+            RSA_DQ = dq;
+            RSA_QINV = qInv;
+            RSA_CRT = crt;
             RESOURCE_LEAK_DETECTION = Level.valueOf(networkConstants.get("resource_leak_detection").getAsString());
             CONNECTION_LIMIT = networkConstants.get("connection_threshold").getAsInt();
+            CONNECTION_RATE_LIMIT = networkConstants.get("connection_rate_limit").getAsInt();
+            CONNECTION_RATE_INTERVAL = networkConstants.get("connection_rate_interval").getAsInt();
+            SLOW_MESSAGE_THRESHOLD = networkConstants.get("slow_message_threshold").getAsInt();
+            MESSAGE_METRICS_INTERVAL = networkConstants.get("message_metrics_interval").getAsInt();
 
             JsonObject gameConstants = tomlReader.getTable("game").to(JsonObject.class);
             STAGGERED_UPDATING = gameConstants.get("staggered_updating").getAsBoolean();
@@ -65,11 +86,65 @@ public final class LunaConstants {
      */
     public static final BigInteger RSA_EXPONENT;
 
+    /**
+     * The first prime factor of the RSA modulus, {@code null} if not present.
+     */
+    public static final BigInteger RSA_P;
+
+    /**
+     * The second prime factor of the RSA modulus, {@code null} if not present.
+     */
+    public static final BigInteger RSA_Q;
+
+    /**
+     * The private RSA exponent modulo {@code RSA_P - 1}, {@code null} if not present.
+     */
+    public static final BigInteger RSA_DP;
+
+    /**
+     * The private RSA exponent modulo {@code RSA_Q - 1}, {@code null} if not present.
+     */
+    public static final BigInteger RSA_DQ;
+
+    /**
+     * The inverse of {@code RSA_Q} modulo {@code RSA_P}, {@code null} if not present.
+     */
+    public static final BigInteger RSA_QINV;
+
+    /**
+     * If all of the CRT parameters are present, in which case the login block is decrypted using the Chinese Remainder
+     * Theorem. Otherwise, decryption falls back to using only the modulus and private exponent.
+     */
+    public static final boolean RSA_CRT;
+
     /**
      * The maximum amount of connections allowed per channel.
      */
     public static final int CONNECTION_LIMIT;
 
+    /**
+     * The maximum amount of connections a single address can make within {@code CONNECTION_RATE_INTERVAL} seconds.
+     * Connections beyond this are closed before any handlers are added to their pipelines.
+     */
+    public static final int CONNECTION_RATE_LIMIT;
+
+    /**
+     * The length of the sliding window used for connection rate limiting, in seconds.
+     */
+    public static final int CONNECTION_RATE_INTERVAL;
+
+    /**
+     * The time in milliseconds that handling an incoming message, including posting its event to plugins, may take
+     * before a warning is logged.
+     */
+    public static final int SLOW_MESSAGE_THRESHOLD;
+
+    /**
+     * The interval in minutes between logged reports of the incoming message metrics, or {@code 0} if they shouldn't be
+     * logged.
+     */
+    public static final int MESSAGE_METRICS_INTERVAL;
+
     /**
      * If staggered updating should be enabled.
      * <p>
@@ -98,4 +173,12 @@ public final class LunaConstants {
      * performance at the cost of more CPU usage.
      */
     public static final boolean ASYNCHRONOUS_LOGGING;
+
+    /**
+     * Retrieves the {@link BigInteger} value of {@code name}, or {@code null} if the setting is not present.
+     */
+    private static BigInteger getAsOptionalBigInteger(JsonObject table, String name) {
+        JsonElement element = table.get(name);
+        return element == null ? null : new BigInteger(element.getAsString());
+    }
 }
@@ -14,6 +14,7 @@ import io.luna.game.plugin.PluginBootstrap;
 import io.luna.game.plugin.PluginManager;
 import io.luna.net.LunaChannelInitializer;
 import io.luna.net.LunaNetworkConstants;
+import io.luna.net.msg.MessageMetrics;
 import io.luna.net.msg.MessageRepository;
 import io.luna.util.FutureUtils;
 import io.luna.util.StringUtils;
@@ -28,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static io.luna.util.ClassUtils.loadClass;
@@ -87,6 +89,7 @@ public final class Server {
         launchService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
 
         bind();
+        initMetrics();
         LOGGER.info("Luna is now online on port {}!", box(LunaConstants.PORT));
 
         PluginManager plugins = context.getPlugins();
@@ -115,6 +118,20 @@ public final class Server {
         }
     }
 
+    /**
+     * Schedules the incoming message metrics to be logged every {@link LunaConstants#MESSAGE_METRICS_INTERVAL} minutes.
+     */
+    private void initMetrics() {
+        int interval = LunaConstants.MESSAGE_METRICS_INTERVAL;
+        if (interval > 0) {
+            ScheduledExecutorService metricsService = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("LunaMetricsThread").setDaemon(true).build());
+
+            MessageMetrics metrics = messageRepository.getMetrics();
+            metricsService.scheduleAtFixedRate(metrics::logReport, interval, interval, TimeUnit.MINUTES);
+        }
+    }
+
     /**
      * Initializes the {@link GameService} asynchronously.
      *
@@ -70,7 +70,7 @@ public abstract class HarvestingSkillAction extends SkillAction {
             int newSlots = inventory.computeIndexCount(currentAdd);
             int oldSlots = inventory.computeIndexCount(currentRemove);
             if ((newSlots - oldSlots) > inventory.computeRemainingSize()) {
-                mob.queue(new GameChatboxMessageWriter("You do not have enough space in your inventory."));
+                mob.queue(new GameChatboxMessageWriter(Inventory.NO_SPACE_MESSAGE));
                 interrupt();
                 return;
             }
@@ -0,0 +1,104 @@
+package io.luna.game.event.impl;
+
+import io.luna.game.event.Event;
+import io.luna.game.model.Area;
+import io.luna.game.model.AreaIndex;
+import io.luna.game.model.Entity;
+
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * An event implementation sent when an {@link Entity} enters or exits an {@link Area} registered within the {@link
+ * AreaIndex}. Matches on the name of the area.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public class AreaEvent extends Event {
+
+    /**
+     * An event implementation sent when an entity enters an area.
+     *
+     * @author lare96 <http://github.org/lare96>
+     */
+    public static final class AreaEnterEvent extends AreaEvent {
+
+        /**
+         * Creates a new {@link AreaEnterEvent}.
+         */
+        public AreaEnterEvent(Entity entity, String name, Area area) {
+            super(entity, name, area);
+        }
+    }
+
+    /**
+     * An event implementation sent when an entity exits an area.
+     *
+     * @author lare96 <http://github.org/lare96>
+     */
+    public static final class AreaExitEvent extends AreaEvent {
+
+        /**
+         * Creates a new {@link AreaExitEvent}.
+         */
+        public AreaExitEvent(Entity entity, String name, Area area) {
+            super(entity, name, area);
+        }
+    }
+
+    /**
+     * The entity that entered or exited the area.
+     */
+    private final Entity entity;
+
+    /**
+     * The name of the area.
+     */
+    private final String name;
+
+    /**
+     * The area.
+     */
+    private final Area area;
+
+    /**
+     * Creates a new {@link AreaEvent}.
+     *
+     * @param entity The entity that entered or exited the area.
+     * @param name The name of the area.
+     * @param area The area.
+     */
+    private AreaEvent(Entity entity, String name, Area area) {
+        this.entity = entity;
+        this.name = name;
+        this.area = area;
+    }
+
+    @Override
+    public boolean matches(Object... args) {
+        checkState(args.length == 1, "args.length != 1");
+        return Objects.equals(args[0], name);
+    }
+
+    /**
+     * @return The entity that entered or exited the area.
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return The name of the area.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The area.
+     */
+    public Area getArea() {
+        return area;
+    }
+}
@@ -0,0 +1,33 @@
+package io.luna.game.event.impl;
+
+import io.luna.game.event.Event;
+import io.luna.game.model.mobile.Npc;
+
+/**
+ * An event implementation sent when an aggressive npc picks the player it is posted for as its target.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class NpcAggressionEvent extends Event {
+
+    /**
+     * The aggressive npc.
+     */
+    private final Npc npc;
+
+    /**
+     * Creates a new {@link NpcAggressionEvent}.
+     *
+     * @param npc The aggressive npc.
+     */
+    public NpcAggressionEvent(Npc npc) {
+        this.npc = npc;
+    }
+
+    /**
+     * @return The aggressive npc.
+     */
+    public Npc getNpc() {
+        return npc;
+    }
+}
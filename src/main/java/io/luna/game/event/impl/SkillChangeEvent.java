@@ -8,7 +8,8 @@ import java.util.Objects;
 import static com.google.common.base.Preconditions.checkState;
 
 /**
- * An event implementation sent whenever the skills of a {@link MobileEntity} change.
+ * An event implementation sent once per tick for every skill of a {@link MobileEntity} that changed. The old values are
+ * the ones the skill had before its first change within that tick.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -0,0 +1,195 @@
+package io.luna.game.model;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.game.event.impl.NpcAggressionEvent;
+import io.luna.game.model.def.NpcCombatDefinition;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.region.Region;
+import io.luna.game.model.region.RegionBucket;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+
+/**
+ * Finds targets for aggressive {@link Npc}s once per tick. Only awake {@link Region}s are scanned, in parallel on a
+ * dedicated pool of threads, and the aggressive npcs within each one are tested against the {@link Player}s within the
+ * nearby chunks of that region and its neighbours. Npcs ignore players whose combat level is more than double their own,
+ * as well as players further than {@code AGGRESSION_DISTANCE} tiles away.
+ * <p>
+ * Every npc is scanned by the task of the region it is in, so the closest valid player (with ties broken by the lowest
+ * index) is chosen regardless of how tasks are scheduled. Targets are then applied on the game thread in the order of
+ * the npc list, which keeps the outcome of every tick deterministic.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AggressionScanner {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The maximum distance in tiles an aggressive npc will pick a target from.
+     */
+    private static final int AGGRESSION_DISTANCE = 4;
+
+    /**
+     * The {@link World} instance.
+     */
+    private final World world;
+
+    /**
+     * The target picked for each npc during the current scan, indexed by npc index. Each slot is only written by the
+     * task scanning the region the npc is in.
+     */
+    private final Player[] targets;
+
+    /**
+     * A synchronization barrier that makes the game thread wait for every region to be scanned.
+     */
+    private final Phaser synchronizer = new Phaser(1);
+
+    /**
+     * An {@link ExecutorService} that scans regions in parallel.
+     */
+    private final ExecutorService scanExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+        new ThreadFactoryBuilder().setNameFormat("AggressionScannerThread").setDaemon(true).build());
+
+    /**
+     * Creates a new {@link AggressionScanner}.
+     *
+     * @param world The {@link World} instance.
+     */
+    public AggressionScanner(World world) {
+        this.world = world;
+        targets = new Player[world.getNpcs().capacity()];
+    }
+
+    /**
+     * Scans every awake region in parallel, and then makes each aggressive npc that found a target interact with it and
+     * posts an {@link NpcAggressionEvent} for the target. This should only be called from the game thread.
+     */
+    public void process() {
+        List<Region> awake = world.getRegions().getAwakeRegions();
+        synchronizer.bulkRegister(awake.size());
+        for (Region region : awake) {
+            scanExecutor.execute(() -> {
+                try {
+                    scan(region);
+                } catch (Exception e) {
+                    LOGGER.catching(e);
+                } finally {
+                    synchronizer.arriveAndDeregister();
+                }
+            });
+        }
+        synchronizer.arriveAndAwaitAdvance();
+
+        world.getNpcs().forEach(npc -> {
+            int index = npc.getIndex();
+            Player target = targets[index];
+            if (target != null) {
+                targets[index] = null;
+                npc.interact(target);
+                npc.getPlugins().post(new NpcAggressionEvent(npc), target);
+            }
+        });
+    }
+
+    /**
+     * Picks targets for the aggressive npcs within {@code region}.
+     *
+     * @param region The region to scan.
+     */
+    private void scan(Region region) {
+        RegionBucket<Npc> npcs = region.getNpcs();
+        if (npcs.isEmpty() || !hasSurroundingPlayers(region)) {
+            return;
+        }
+
+        for (int index = 0; index < npcs.size(); index++) {
+            Npc npc = npcs.get(index);
+            if (npc == null || npc.getState() != EntityState.ACTIVE || npc.getInteractingWith().isPresent()) {
+                continue;
+            }
+            NpcCombatDefinition definition = npc.getCombatDefinition();
+            if (definition.isAggressive()) {
+                targets[npc.getIndex()] = findTarget(region, npc, definition.getCombatLevel());
+            }
+        }
+    }
+
+    /**
+     * Finds the closest player that {@code npc} can be aggressive towards. Only the {@code 8x8} chunks within {@code
+     * AGGRESSION_DISTANCE} of the npc are searched, found through the neighbours of its region.
+     *
+     * @param region The region {@code npc} is in.
+     * @param npc The aggressive npc.
+     * @param combatLevel The combat level of {@code npc}.
+     * @return The target, or {@code null} if there is none.
+     */
+    private Player findTarget(Region region, Npc npc, int combatLevel) {
+        int position = npc.getPackedPosition();
+        int x = PackedPosition.getX(position);
+        int y = PackedPosition.getY(position);
+        int regionX = region.getCoordinates().getX();
+        int regionY = region.getCoordinates().getY();
+        int minChunkX = (x - AGGRESSION_DISTANCE) >> 3;
+        int maxChunkX = (x + AGGRESSION_DISTANCE) >> 3;
+        int minChunkY = (y - AGGRESSION_DISTANCE) >> 3;
+        int maxChunkY = (y + AGGRESSION_DISTANCE) >> 3;
+
+        Player target = null;
+        int targetDistance = Integer.MAX_VALUE;
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                Region neighbour = region.getNeighbour((chunkX >> 2) - regionX, (chunkY >> 2) - regionY);
+                if (neighbour == null) {
+                    continue;
+                }
+                RegionBucket<Player> players = neighbour.getChunkBucket(chunkX, chunkY, EntityType.PLAYER);
+                int size = players == null ? 0 : players.size();
+                for (int index = 0; index < size; index++) {
+                    Player player = players.get(index);
+                    if (player == null || player.getState() != EntityState.ACTIVE ||
+                        !PackedPosition.isWithinRadius(player.getPackedPosition(), position, AGGRESSION_DISTANCE) ||
+                        player.getCombatLevel() > combatLevel * 2) {
+                        continue;
+                    }
+
+                    int distance = PackedPosition.getDistance(player.getPackedPosition(), position);
+                    if (distance < targetDistance ||
+                        (distance == targetDistance && player.getIndex() < target.getIndex())) {
+                        target = player;
+                        targetDistance = distance;
+                    }
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Determines if there are any players within {@code region} or its neighbours.
+     *
+     * @param region The region.
+     * @return {@code true} if there is at least one player.
+     */
+    private boolean hasSurroundingPlayers(Region region) {
+        for (int deltaX = -1; deltaX <= 1; deltaX++) {
+            for (int deltaY = -1; deltaY <= 1; deltaY++) {
+                Region neighbour = region.getNeighbour(deltaX, deltaY);
+                if (neighbour != null && neighbour.getPlayerCount() > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -118,11 +118,23 @@ public final class Area {
      * @return {@code true} if contained in this Area, {@code false} otherwise.
      */
     public boolean contains(Position position) {
-        return position.getX() >= southWestX &&
-            position.getX() <= northEastX &&
-            position.getY() >= southWestY &&
-            position.getY() <= northEastY &&
-            position.getZ() == z;
+        return contains(position.getPacked());
+    }
+
+    /**
+     * Determines if this Area contains the packed {@code position}, in O(1) time.
+     *
+     * @param position The packed position to determine this for.
+     * @return {@code true} if contained in this Area, {@code false} otherwise.
+     */
+    public boolean contains(int position) {
+        int x = PackedPosition.getX(position);
+        int y = PackedPosition.getY(position);
+        return x >= southWestX &&
+            x <= northEastX &&
+            y >= southWestY &&
+            y <= northEastY &&
+            PackedPosition.getZ(position) == z;
     }
 
     /**
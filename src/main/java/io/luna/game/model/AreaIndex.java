@@ -0,0 +1,385 @@
+package io.luna.game.model;
+
+import io.luna.game.event.Event;
+import io.luna.game.event.impl.AreaEvent.AreaEnterEvent;
+import io.luna.game.event.impl.AreaEvent.AreaExitEvent;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.region.RegionManager;
+import io.luna.net.msg.out.MultiCombatMessageWriter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A spatial index of named {@link Area}s. Every area is bucketed into each {@code 8x8} chunk it overlaps, so determining
+ * the areas that contain a position only needs to test the handful of areas within a single chunk, regardless of how
+ * many areas are registered. The chunk buckets are grouped by region within a table laid out like the one in {@link
+ * RegionManager}, so finding a bucket only takes two array reads.
+ * <p>
+ * Whenever an active {@link Entity} moves, the index compares the areas containing its old and new positions and posts
+ * an {@link AreaExitEvent} or {@link AreaEnterEvent} for each area whose membership changed. Players additionally have
+ * the multi-combat sign displayed or removed when they move in or out of multi-combat areas. Areas should be registered
+ * on startup or on the game thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AreaIndex {
+
+    /**
+     * A named {@link Area} registered within this index.
+     */
+    private static final class Entry {
+
+        /**
+         * The name of the area.
+         */
+        private final String name;
+
+        /**
+         * The area.
+         */
+        private final Area area;
+
+        /**
+         * If the area is a multi-combat zone.
+         */
+        private final boolean multiCombat;
+
+        /**
+         * Creates a new {@link Entry}.
+         *
+         * @param name The name of the area.
+         * @param area The area.
+         * @param multiCombat If the area is a multi-combat zone.
+         */
+        private Entry(String name, Area area, boolean multiCombat) {
+            this.name = name;
+            this.area = area;
+            this.multiCombat = multiCombat;
+        }
+    }
+
+    /**
+     * An empty chunk bucket.
+     */
+    private static final Entry[] EMPTY = {};
+
+    /**
+     * The amount of chunks along each side of a region.
+     */
+    private static final int CHUNKS = 4;
+
+    /**
+     * The amount of planes.
+     */
+    private static final int PLANES = 4;
+
+    /**
+     * The registered areas, by name.
+     */
+    private final Map<String, Entry> areas = new HashMap<>();
+
+    /**
+     * The areas overlapping each chunk, indexed by region and then by chunk and plane within the region. Regions without
+     * any areas are {@code null}.
+     */
+    private final Entry[][][] chunks = new Entry[RegionManager.WIDTH * RegionManager.HEIGHT][][];
+
+    /**
+     * Registers {@code area} under {@code name}.
+     *
+     * @param name The name of the area.
+     * @param area The area.
+     * @param multiCombat If the area is a multi-combat zone.
+     * @throws IllegalArgumentException If an area is already registered under {@code name}.
+     */
+    public void register(String name, Area area, boolean multiCombat) {
+        requireNonNull(name, "name == null");
+        requireNonNull(area, "area == null");
+        checkArgument(!areas.containsKey(name), "area already registered with name " + name);
+        checkArgument(chunk(area.getNorthEastX()) / CHUNKS < RegionManager.WIDTH &&
+            chunk(area.getNorthEastY()) / CHUNKS < RegionManager.HEIGHT, "area out of range");
+
+        Entry entry = new Entry(name, area, multiCombat);
+        areas.put(name, entry);
+        for (int chunkX = chunk(area.getSouthWestX()); chunkX <= chunk(area.getNorthEastX()); chunkX++) {
+            for (int chunkY = chunk(area.getSouthWestY()); chunkY <= chunk(area.getNorthEastY()); chunkY++) {
+                Entry[] bucket = bucket(chunkX, chunkY, area.getZ());
+                Entry[] newBucket = Arrays.copyOf(bucket, bucket.length + 1);
+                newBucket[bucket.length] = entry;
+                setBucket(chunkX, chunkY, area.getZ(), newBucket);
+            }
+        }
+    }
+
+    /**
+     * Registers {@code area} under {@code name} as a non multi-combat area.
+     *
+     * @param name The name of the area.
+     * @param area The area.
+     */
+    public void register(String name, Area area) {
+        register(name, area, false);
+    }
+
+    /**
+     * Unregisters the area named {@code name}. Entities within the area do not receive an exit event.
+     *
+     * @param name The name of the area.
+     * @return {@code true} if an area was unregistered.
+     */
+    public boolean unregister(String name) {
+        Entry entry = areas.remove(name);
+        if (entry == null) {
+            return false;
+        }
+
+        Area area = entry.area;
+        for (int chunkX = chunk(area.getSouthWestX()); chunkX <= chunk(area.getNorthEastX()); chunkX++) {
+            for (int chunkY = chunk(area.getSouthWestY()); chunkY <= chunk(area.getNorthEastY()); chunkY++) {
+                Entry[] bucket = bucket(chunkX, chunkY, area.getZ());
+                if (bucket.length == 1) {
+                    setBucket(chunkX, chunkY, area.getZ(), null);
+                    continue;
+                }
+                Entry[] newBucket = new Entry[bucket.length - 1];
+                int index = 0;
+                for (Entry other : bucket) {
+                    if (other != entry) {
+                        newBucket[index++] = other;
+                    }
+                }
+                setBucket(chunkX, chunkY, area.getZ(), newBucket);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the area registered under {@code name}.
+     *
+     * @param name The name of the area.
+     * @return The area, or {@code null} if none is registered.
+     */
+    public Area get(String name) {
+        Entry entry = areas.get(name);
+        return entry == null ? null : entry.area;
+    }
+
+    /**
+     * Determines if the area named {@code name} contains {@code position}.
+     *
+     * @param name The name of the area.
+     * @param position The position.
+     * @return {@code true} if the area is registered and contains the position.
+     */
+    public boolean contains(String name, Position position) {
+        Entry entry = areas.get(name);
+        return entry != null && entry.area.contains(position);
+    }
+
+    /**
+     * Returns the names of every area that contains {@code position}.
+     *
+     * @param position The position.
+     * @return The names of the areas, in no particular order.
+     */
+    public List<String> getNames(Position position) {
+        Entry[] bucket = bucket(position);
+        List<String> names = new ArrayList<>(bucket.length);
+        for (Entry entry : bucket) {
+            if (entry.area.contains(position)) {
+                names.add(entry.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Determines if {@code position} is within a multi-combat area.
+     *
+     * @param position The position.
+     * @return {@code true} if within a multi-combat area.
+     */
+    public boolean isMultiCombat(Position position) {
+        for (Entry entry : bucket(position)) {
+            if (entry.multiCombat && entry.area.contains(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The amount of registered areas.
+     */
+    public int size() {
+        return areas.size();
+    }
+
+    /**
+     * Posts the area events for {@code entity} moving from {@code oldPosition} to {@code newPosition}, and updates the
+     * multi-combat sign for players. Exit events are posted before enter events.
+     *
+     * @param entity The entity that moved.
+     * @param oldPosition The packed old position, {@link PackedPosition#NONE} if the entity has just been added to the
+     * world.
+     * @param newPosition The packed new position.
+     */
+    void update(Entity entity, int oldPosition, int newPosition) {
+        Entry[] oldBucket = oldPosition == PackedPosition.NONE ? EMPTY : bucket(oldPosition);
+        Entry[] newBucket = bucket(newPosition);
+        if (oldBucket.length == 0 && newBucket.length == 0) {
+            return;
+        }
+
+        boolean wasMulti = false;
+        boolean isMulti = false;
+        for (Entry entry : oldBucket) {
+            boolean wasInside = entry.area.contains(oldPosition);
+            boolean isInside = entry.area.contains(newPosition);
+            if (entry.multiCombat) {
+                wasMulti |= wasInside;
+                isMulti |= isInside;
+            }
+            if (wasInside && !isInside) {
+                post(entity, new AreaExitEvent(entity, entry.name, entry.area));
+            }
+        }
+        for (Entry entry : oldBucket) {
+            if (!entry.area.contains(oldPosition) && entry.area.contains(newPosition)) {
+                post(entity, new AreaEnterEvent(entity, entry.name, entry.area));
+            }
+        }
+        if (newBucket != oldBucket) {
+            for (Entry entry : newBucket) {
+                // Areas missing from the old chunk cannot contain the old position.
+                if (indexOf(oldBucket, entry) == -1 && entry.area.contains(newPosition)) {
+                    isMulti |= entry.multiCombat;
+                    post(entity, new AreaEnterEvent(entity, entry.name, entry.area));
+                }
+            }
+        }
+
+        if (wasMulti != isMulti && entity.type() == EntityType.PLAYER) {
+            ((Player) entity).queue(new MultiCombatMessageWriter(isMulti));
+        }
+    }
+
+    /**
+     * Posts {@code evt} for {@code entity}, passing the player along if the entity is one.
+     *
+     * @param entity The entity.
+     * @param evt The event to post.
+     */
+    private void post(Entity entity, Event evt) {
+        Player player = entity.type() == EntityType.PLAYER ? (Player) entity : null;
+        entity.getPlugins().post(evt, player);
+    }
+
+    /**
+     * Returns the areas overlapping the chunk containing {@code position}.
+     *
+     * @param position The position.
+     * @return The areas, or an empty array if there are none.
+     */
+    private Entry[] bucket(Position position) {
+        return bucket(position.getPacked());
+    }
+
+    /**
+     * Returns the areas overlapping the chunk containing the packed {@code position}.
+     *
+     * @param position The packed position.
+     * @return The areas, or an empty array if there are none.
+     */
+    private Entry[] bucket(int position) {
+        return bucket(chunk(PackedPosition.getX(position)), chunk(PackedPosition.getY(position)),
+            PackedPosition.getZ(position));
+    }
+
+    /**
+     * Returns the areas overlapping a chunk.
+     *
+     * @param chunkX The absolute chunk {@code X} coordinate.
+     * @param chunkY The absolute chunk {@code Y} coordinate.
+     * @param z The plane.
+     * @return The areas, or an empty array if there are none.
+     */
+    private Entry[] bucket(int chunkX, int chunkY, int z) {
+        int regionX = chunkX / CHUNKS;
+        int regionY = chunkY / CHUNKS;
+        if (regionX >= RegionManager.WIDTH || regionY >= RegionManager.HEIGHT) {
+            return EMPTY;
+        }
+
+        Entry[][] region = chunks[regionX * RegionManager.HEIGHT + regionY];
+        if (region == null) {
+            return EMPTY;
+        }
+        Entry[] bucket = region[chunkIndex(chunkX, chunkY, z)];
+        return bucket == null ? EMPTY : bucket;
+    }
+
+    /**
+     * Replaces the areas overlapping a chunk.
+     *
+     * @param chunkX The absolute chunk {@code X} coordinate.
+     * @param chunkY The absolute chunk {@code Y} coordinate.
+     * @param z The plane.
+     * @param bucket The new areas, or {@code null} if there are none.
+     */
+    private void setBucket(int chunkX, int chunkY, int z, Entry[] bucket) {
+        int regionIndex = (chunkX / CHUNKS) * RegionManager.HEIGHT + chunkY / CHUNKS;
+        Entry[][] region = chunks[regionIndex];
+        if (region == null) {
+            region = new Entry[CHUNKS * CHUNKS * PLANES][];
+            chunks[regionIndex] = region;
+        }
+        region[chunkIndex(chunkX, chunkY, z)] = bucket;
+    }
+
+    /**
+     * Returns the index of a chunk bucket within its region.
+     *
+     * @param chunkX The absolute chunk {@code X} coordinate.
+     * @param chunkY The absolute chunk {@code Y} coordinate.
+     * @param z The plane.
+     * @return The index.
+     */
+    private static int chunkIndex(int chunkX, int chunkY, int z) {
+        return (z * CHUNKS + chunkY % CHUNKS) * CHUNKS + chunkX % CHUNKS;
+    }
+
+    /**
+     * Returns the index of {@code entry} within {@code bucket}.
+     *
+     * @param bucket The bucket.
+     * @param entry The entry.
+     * @return The index, or {@code -1} if not found.
+     */
+    private static int indexOf(Entry[] bucket, Entry entry) {
+        for (int index = 0; index < bucket.length; index++) {
+            if (bucket[index] == entry) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts an absolute coordinate to a chunk coordinate.
+     *
+     * @param coordinate The coordinate.
+     * @return The chunk coordinate.
+     */
+    private static int chunk(int coordinate) {
+        return coordinate >> 3;
+    }
+}
@@ -4,7 +4,7 @@ import io.luna.LunaContext;
 import io.luna.game.GameService;
 import io.luna.game.event.impl.PositionChangeEvent;
 import io.luna.game.model.region.Region;
-import io.luna.game.model.region.RegionCoordinates;
+import io.luna.game.model.region.RegionManager;
 import io.luna.game.plugin.PluginManager;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -43,9 +43,14 @@ public abstract class Entity {
     protected EntityState state = EntityState.IDLE;
 
     /**
-     * The position of this {@code Entity}.
+     * The packed position of this {@code Entity}, or {@link PackedPosition#NONE} if it has not been positioned yet.
      */
-    protected Position position;
+    private int packedPosition = PackedPosition.NONE;
+
+    /**
+     * A {@link Position} view of {@code packedPosition}, created when it's first requested after a move.
+     */
+    private Position position;
 
     /**
      * The current {@link Region} this {@code Entity} is in.
@@ -96,14 +101,14 @@ public abstract class Entity {
      * @return If {@code other} is viewable from the position of this {@code Entity}.
      */
     public boolean isViewable(Entity other) {
-        return position.isViewable(other.getPosition());
+        return PackedPosition.isWithinRadius(packedPosition, other.packedPosition, EntityConstants.VIEWING_DISTANCE);
     }
 
     /**
      * @return The distance in tiles from {@code other}.
      */
     public int distanceFrom(Entity other) {
-        return position.getDistance(other.getPosition());
+        return PackedPosition.getDistance(packedPosition, other.packedPosition);
     }
 
     /**
@@ -134,7 +139,8 @@ public abstract class Entity {
     /**
      * Sets the value for {@link #state}. When a state is set, a corresponding listener of either {@code onIdle()}, {@code
      * onActive()}, or {@code onInactive()} will be fired. If the value being set is equal to the current value, an exception
-     * will be thrown.
+     * will be thrown. Entities are removed from their {@link Region} when set to {@code INACTIVE}, and placed back into it
+     * when set to {@code ACTIVE} again.
      *
      * @param state The state to set, cannot be {@code null} or {@code IDLE}.
      * @throws IllegalArgumentException If the value being set is equal to the current value.
@@ -148,45 +154,122 @@ public abstract class Entity {
         switch (state) {
         case ACTIVE:
             onActive();
+
+            if (packedPosition != PackedPosition.NONE) {
+                if (currentRegion == null) {
+                    currentRegion = regionOf(packedPosition);
+                    currentRegion.addEntity(this, packedPosition);
+                }
+                world.getAreas().update(this, PackedPosition.NONE, packedPosition);
+            }
             break;
         case INACTIVE:
             onInactive();
 
             if (currentRegion != null) {
-                currentRegion.removeEntity(this);
+                currentRegion.removeEntity(this, packedPosition);
+                currentRegion = null;
             }
             break;
         }
     }
 
     /**
-     * @return The position of this {@code Entity}.
+     * @return The position of this {@code Entity}, {@code null} if it has not been positioned yet.
      */
     public final Position getPosition() {
+        if (position == null && packedPosition != PackedPosition.NONE) {
+            position = Position.unpack(packedPosition);
+        }
         return position;
     }
 
     /**
-     * Sets the value for {@link #position}, cannot be {@code null}.
+     * @return The packed position of this {@code Entity}, {@link PackedPosition#NONE} if it has not been positioned yet.
+     */
+    public final int getPackedPosition() {
+        return packedPosition;
+    }
+
+    /**
+     * Sets the value for {@link #position}, cannot be {@code null}. Inactive entities are not placed back into a {@link
+     * Region}, and only active entities are checked against the {@link AreaIndex}.
      */
     public final void setPosition(Position newPosition) {
         requireNonNull(newPosition, "newPosition == null");
+        move(newPosition.getPacked(), newPosition);
+    }
 
-        RegionCoordinates next = RegionCoordinates.create(newPosition);
-        if (position != null) {
-            if (currentRegion.getCoordinates().equals(next)) {
-                plugins.post(new PositionChangeEvent(position, newPosition, this));
-                position = newPosition;
-                return;
+    /**
+     * Sets the position of this {@code Entity} to the packed {@code newPosition}, without creating a {@link Position} view
+     * unless one is needed for an event. This is otherwise the same as {@link #setPosition(Position)}.
+     */
+    public final void setPackedPosition(int newPosition) {
+        checkArgument(newPosition != PackedPosition.NONE, "newPosition == NONE");
+        move(newPosition, null);
+    }
+
+    /**
+     * Moves this {@code Entity} to the packed {@code newPosition}, updating its {@link Region} and posting a {@link
+     * PositionChangeEvent} if anything listens for one. Positions outside of the {@link RegionManager} table are rejected
+     * before anything is changed.
+     *
+     * @param newPosition The packed new position.
+     * @param newView The {@link Position} view of {@code newPosition}, or {@code null} if there is none yet.
+     * @throws IllegalArgumentException If {@code newPosition} is outside of the region table.
+     */
+    private void move(int newPosition, Position newView) {
+        checkArgument(RegionManager.isInRange(newPosition), "newPosition is outside of the region table");
+
+        int oldPosition = packedPosition;
+        if (state != EntityState.INACTIVE) {
+            if (oldPosition != PackedPosition.NONE && currentRegion.getCoordinates().contains(newPosition)) {
+                currentRegion.moveEntity(this, oldPosition, newPosition);
+            } else {
+                if (oldPosition != PackedPosition.NONE) {
+                    currentRegion.removeEntity(this, oldPosition);
+                }
+                currentRegion = regionOf(newPosition);
+                currentRegion.addEntity(this, newPosition);
             }
-            currentRegion.removeEntity(this);
         }
-        Region toRegion = world.getRegions().getRegion(next);
-        toRegion.addEntity(this);
 
-        plugins.post(new PositionChangeEvent(position, newPosition, this));
-        position = newPosition;
-        currentRegion = toRegion;
+        if (plugins.hasListeners(PositionChangeEvent.class)) {
+            if (newView == null) {
+                newView = Position.unpack(newPosition);
+            }
+            plugins.post(new PositionChangeEvent(getPosition(), newView, this));
+        }
+        packedPosition = newPosition;
+        position = newView;
+
+        if (state == EntityState.ACTIVE) {
+            world.getAreas().update(this, oldPosition, newPosition);
+        }
+    }
+
+    /**
+     * Returns the {@link Region} containing the packed {@code position}.
+     *
+     * @param position The packed position.
+     * @return The region.
+     */
+    private Region regionOf(int position) {
+        return world.getRegions().getRegion(PackedPosition.getX(position) >> 5, PackedPosition.getY(position) >> 5);
+    }
+
+    /**
+     * @return The {@link Region} this {@code Entity} is in, {@code null} if it has not been positioned yet.
+     */
+    public final Region getCurrentRegion() {
+        return currentRegion;
+    }
+
+    /**
+     * @return {@code true} if this {@code Entity} is within a sleeping {@link Region}, {@code false} otherwise.
+     */
+    public final boolean isSleeping() {
+        return currentRegion != null && currentRegion.isSleeping();
     }
 
     /**
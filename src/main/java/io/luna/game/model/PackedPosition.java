@@ -0,0 +1,125 @@
+package io.luna.game.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A static-utility class that packs an {@code X}, {@code Y} and {@code Z} coordinate into a single {@code int}, for code
+ * that handles positions often enough that allocating a {@link Position} for each one matters. {@code X} occupies the low
+ * {@code 15} bits, {@code Y} the next {@code 15} bits and {@code Z} the top {@code 2} bits.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PackedPosition {
+
+    /**
+     * The largest {@code X} or {@code Y} coordinate that can be packed.
+     */
+    public static final int MAX_COORDINATE = 0x7FFF;
+
+    /**
+     * A value used in place of a packed position that doesn't exist. It would unpack to coordinates far outside of the
+     * world, so it is never the position of anything within it.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The amount of bits a {@code Y} coordinate is shifted by.
+     */
+    private static final int Y_SHIFT = 15;
+
+    /**
+     * The amount of bits a {@code Z} coordinate is shifted by.
+     */
+    private static final int Z_SHIFT = 30;
+
+    /**
+     * Packs the given coordinates.
+     *
+     * @param x The absolute {@code X} coordinate.
+     * @param y The absolute {@code Y} coordinate.
+     * @param z The absolute {@code Z} coordinate.
+     * @return The packed position.
+     * @throws IllegalArgumentException If any of the coordinates are out of range.
+     */
+    public static int pack(int x, int y, int z) {
+        checkArgument(x >= 0 && x <= MAX_COORDINATE, "x out of range");
+        checkArgument(y >= 0 && y <= MAX_COORDINATE, "y out of range");
+        checkArgument(z >= 0 && z <= 3, "z < 0 || z > 3");
+        return x | (y << Y_SHIFT) | (z << Z_SHIFT);
+    }
+
+    /**
+     * Returns the {@code X} coordinate of {@code packed}.
+     *
+     * @param packed The packed position.
+     * @return The absolute {@code X} coordinate.
+     */
+    public static int getX(int packed) {
+        return packed & MAX_COORDINATE;
+    }
+
+    /**
+     * Returns the {@code Y} coordinate of {@code packed}.
+     *
+     * @param packed The packed position.
+     * @return The absolute {@code Y} coordinate.
+     */
+    public static int getY(int packed) {
+        return (packed >>> Y_SHIFT) & MAX_COORDINATE;
+    }
+
+    /**
+     * Returns the {@code Z} coordinate of {@code packed}.
+     *
+     * @param packed The packed position.
+     * @return The absolute {@code Z} coordinate.
+     */
+    public static int getZ(int packed) {
+        return packed >>> Z_SHIFT;
+    }
+
+    /**
+     * Returns {@code packed} moved by the specified coordinates.
+     *
+     * @param packed The packed position.
+     * @param amountX The {@code X} amount to move.
+     * @param amountY The {@code Y} amount to move.
+     * @param amountZ The {@code Z} amount to move.
+     * @return The moved packed position.
+     */
+    public static int move(int packed, int amountX, int amountY, int amountZ) {
+        return pack(getX(packed) + amountX, getY(packed) + amountY, getZ(packed) + amountZ);
+    }
+
+    /**
+     * Determines if {@code packed} is on the same plane as and within {@code radius} tiles of {@code center}.
+     *
+     * @param packed The packed position.
+     * @param center The packed center position.
+     * @param radius The distance to the center position.
+     * @return {@code true} if within the radius, {@code false} otherwise.
+     */
+    public static boolean isWithinRadius(int packed, int center, int radius) {
+        if (getZ(packed) != getZ(center)) {
+            return false;
+        }
+        return Math.abs(getX(center) - getX(packed)) <= radius && Math.abs(getY(center) - getY(packed)) <= radius;
+    }
+
+    /**
+     * Determines the distance in tiles between {@code packed} and {@code to}, ignoring their planes.
+     *
+     * @param packed The packed position.
+     * @param to The packed position to calculate the distance to.
+     * @return The distance.
+     */
+    public static int getDistance(int packed, int to) {
+        return Math.max(Math.abs(getX(to) - getX(packed)), Math.abs(getY(to) - getY(packed)));
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private PackedPosition() {
+    }
+}
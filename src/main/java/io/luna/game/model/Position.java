@@ -2,31 +2,28 @@ package io.luna.game.model;
 
 import com.google.common.base.MoreObjects;
 
-import java.util.Objects;
-
-import static com.google.common.base.Preconditions.checkArgument;
-
 /**
- * A single absolute point on the Runescape map.
+ * A single absolute point on the Runescape map. This is an immutable view over a {@link PackedPosition}, which internal
+ * code can use directly to avoid allocating.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class Position {
 
     /**
-     * The absolute {@code X} coordinate.
-     */
-    private final int x;
-
-    /**
-     * The absolute {@code Y} coordinate.
+     * Returns a {@link Position} view of {@code packed}.
+     *
+     * @param packed The packed position.
+     * @return The position.
      */
-    private final int y;
+    public static Position unpack(int packed) {
+        return new Position(packed);
+    }
 
     /**
-     * The absolute {@code Z} coordinate.
+     * The packed coordinates.
      */
-    private final int z;
+    private final int packed;
 
     /**
      * Creates a new {@link Position}.
@@ -36,13 +33,7 @@ public final class Position {
      * @param z The absolute {@code Z} coordinate.
      */
     public Position(int x, int y, int z) {
-        checkArgument(x >= 0, "x < 0");
-        checkArgument(y >= 0, "y < 0");
-        checkArgument(z >= 0 && z <= 3, "z < 0 || z > 3");
-
-        this.x = x;
-        this.y = y;
-        this.z = z;
+        packed = PackedPosition.pack(x, y, z);
     }
 
     /**
@@ -55,14 +46,23 @@ public final class Position {
         this(x, y, 0);
     }
 
+    /**
+     * Creates a new {@link Position} from already packed coordinates.
+     *
+     * @param packed The packed coordinates.
+     */
+    private Position(int packed) {
+        this.packed = packed;
+    }
+
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this).add("x", x).add("y", y).add("z", z).toString();
+        return MoreObjects.toStringHelper(this).add("x", getX()).add("y", getY()).add("z", getZ()).toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y, z);
+        return packed;
     }
 
     @Override
@@ -72,7 +72,7 @@ public final class Position {
         }
         if (obj instanceof Position) {
             Position other = (Position) obj;
-            return x == other.x && y == other.y && z == other.z;
+            return packed == other.packed;
         }
         return false;
     }
@@ -85,12 +85,7 @@ public final class Position {
      * @return {@code true} if within the radius, {@code false} otherwise.
      */
     public boolean isWithinRadius(Position center, int radius) {
-        if (z != center.z) {
-            return false;
-        }
-        int deltaX = center.x - x;
-        int deltaY = center.y - y;
-        return Math.abs(deltaX) <= radius && Math.abs(deltaY) <= radius;
+        return PackedPosition.isWithinRadius(packed, center.packed, radius);
     }
 
     /**
@@ -110,46 +105,47 @@ public final class Position {
      * @return The distance between this {@code Position} and {@code to}.
      */
     public int getDistance(Position to) {
-        int deltaX = Math.abs(to.x - x);
-        int deltaY = Math.abs(to.y - y);
-        return Math.max(deltaX, deltaY);
+        return PackedPosition.getDistance(packed, to.packed);
     }
 
     /**
-     * Returns a new {@link Position} moved by the specified coordinates.
+     * Returns a {@link Position} moved by the specified coordinates, or this instance if all amounts are {@code 0}.
      *
      * @param amountX The {@code X} amount to move.
      * @param amountY The {@code Y} amount to move.
      * @param amountZ The {@code Z} amount to move.
-     * @return The new moved instance of {@code Position}.
+     * @return The moved instance of {@code Position}.
      */
     public Position move(int amountX, int amountY, int amountZ) {
-        return new Position(x + amountX, y + amountY, z + amountZ);
+        if (amountX == 0 && amountY == 0 && amountZ == 0) {
+            return this;
+        }
+        return new Position(PackedPosition.move(packed, amountX, amountY, amountZ));
     }
 
     /**
-     * Returns a new {@link Position} moved by the specified coordinates. The {@code Z} value remains unmodified.
+     * Returns a {@link Position} moved by the specified coordinates. The {@code Z} value remains unmodified.
      *
      * @param amountX The {@code X} amount to move.
      * @param amountY The {@code Y} amount to move.
-     * @return The new moved instance of {@code Position}.
+     * @return The moved instance of {@code Position}.
      */
     public Position move(int amountX, int amountY) {
-        return move(amountX, amountY, z);
+        return move(amountX, amountY, 0);
     }
 
     /**
      * @return The {@code X} region coordinate.
      */
     public int getRegionX() {
-        return (x >> 3) - 6;
+        return (getX() >> 3) - 6;
     }
 
     /**
      * @return The {@code Y} region coordinate.
      */
     public int getRegionY() {
-        return (y >> 3) - 6;
+        return (getY() >> 3) - 6;
     }
 
     /**
@@ -159,7 +155,7 @@ public final class Position {
      * @return The local {@code X} coordinate.
      */
     public int getLocalX(Position base) {
-        return x - (base.getRegionX() << 3);
+        return getX() - (base.getRegionX() << 3);
     }
 
     /**
@@ -169,7 +165,7 @@ public final class Position {
      * @return The local {@code Y} coordinate.
      */
     public int getLocalY(Position base) {
-        return y - (base.getRegionY() << 3);
+        return getY() - (base.getRegionY() << 3);
     }
 
     /**
@@ -190,14 +186,14 @@ public final class Position {
      * @return The {@code X} coordinate region chunk.
      */
     public int getChunkX() {
-        return (x >> 6);
+        return (getX() >> 6);
     }
 
     /**
      * @return The {@code Y} coordinate region chunk.
      */
     public int getChunkY() {
-        return (y >> 6);
+        return (getY() >> 6);
     }
 
     /**
@@ -211,20 +207,27 @@ public final class Position {
      * @return The absolute {@code X} coordinate.
      */
     public int getX() {
-        return x;
+        return PackedPosition.getX(packed);
     }
 
     /**
      * @return The absolute {@code Y} coordinate.
      */
     public int getY() {
-        return y;
+        return PackedPosition.getY(packed);
     }
 
     /**
      * @return The absolute {@code Z} coordinate.
      */
     public int getZ() {
-        return z;
+        return PackedPosition.getZ(packed);
+    }
+
+    /**
+     * @return The packed coordinates, see {@link PackedPosition}.
+     */
+    public int getPacked() {
+        return packed;
     }
 }
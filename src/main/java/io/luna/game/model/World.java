@@ -5,6 +5,8 @@ import io.luna.game.model.mobile.MobileEntity;
 import io.luna.game.model.mobile.MobileEntityList;
 import io.luna.game.model.mobile.Npc;
 import io.luna.game.model.mobile.Player;
+import io.luna.game.model.path.PathfindingService;
+import io.luna.game.model.region.ClippingMap;
 import io.luna.game.model.region.RegionManager;
 import io.luna.game.task.Task;
 import io.luna.game.task.TaskManager;
@@ -56,6 +58,26 @@ public final class World {
      */
     private final RegionManager regions = new RegionManager();
 
+    /**
+     * The {@link AreaIndex} that tracks named areas.
+     */
+    private final AreaIndex areas = new AreaIndex();
+
+    /**
+     * The {@link ClippingMap} that determines which tiles can be walked on.
+     */
+    private final ClippingMap clipping = ClippingMap.load(ClippingMap.DEFAULT_PATH);
+
+    /**
+     * The {@link PathfindingService} that finds paths over the {@link ClippingMap}.
+     */
+    private final PathfindingService pathfinding = new PathfindingService(this);
+
+    /**
+     * The {@link AggressionScanner} that finds targets for aggressive {@link Npc}s.
+     */
+    private final AggressionScanner aggression = new AggressionScanner(this);
+
     /**
      * The {@link TaskManager} that manages cycle based tasks.
      */
@@ -112,7 +134,9 @@ public final class World {
      * Runs one iteration of the main game loop which includes processing {@link Task}s and synchronization.
      */
     public void runGameLoop() {
+        regions.process();
         tasks.runTaskIteration();
+        aggression.process();
 
         synchronizer.preSynchronize();
         synchronizer.synchronize();
@@ -180,6 +204,27 @@ public final class World {
         return regions;
     }
 
+    /**
+     * @return The {@link AreaIndex} instance.
+     */
+    public AreaIndex getAreas() {
+        return areas;
+    }
+
+    /**
+     * @return The {@link ClippingMap} instance.
+     */
+    public ClippingMap getClipping() {
+        return clipping;
+    }
+
+    /**
+     * @return The {@link PathfindingService} instance.
+     */
+    public PathfindingService getPathfinding() {
+        return pathfinding;
+    }
+
     /**
      * @return The {@link TaskManager} instance.
      */
@@ -82,6 +82,16 @@ public final class WorldSynchronizer {
      */
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * The {@link NpcUpdateMessageWriter} shared by every {@link Player}, as it holds no per-player state.
+     */
+    private static final NpcUpdateMessageWriter NPC_UPDATE = new NpcUpdateMessageWriter();
+
+    /**
+     * The {@link PlayerUpdateMessageWriter} shared by every {@link Player}, as it holds no per-player state.
+     */
+    private static final PlayerUpdateMessageWriter PLAYER_UPDATE = new PlayerUpdateMessageWriter();
+
     /**
      * The {@link World} instance.
      */
@@ -109,14 +119,17 @@ public final class WorldSynchronizer {
     }
 
     /**
-     * Pre-synchronization, update the walking queue and perform miscellaneous processing that requires cyclic execution.
-     * This is <strong>generally</strong> not safe to do in parallel.
+     * Pre-synchronization, update the walking queues of players and npcs and perform miscellaneous processing that requires
+     * cyclic execution, such as wandering and flushing skill and weight changes. This is <strong>generally</strong> not safe
+     * to do in parallel. {@link Npc}s within sleeping regions are skipped.
      */
     public void preSynchronize() {
         world.getPlayers().forEach(it -> {
             try {
                 it.getWalkingQueue().process();
                 it.getSession().dequeue();
+                it.getSkills().flush();
+                it.flushWeight();
 
                 if (it.getLastRegion() == null || it.needsRegionUpdate()) {
                     it.setRegionChanged(true);
@@ -129,6 +142,18 @@ public final class WorldSynchronizer {
                 LOGGER.catching(e);
             }
         });
+        world.getNpcs().forEach(it -> {
+            if (it.isSleeping()) {
+                return;
+            }
+            try {
+                it.wander();
+                it.getWalkingQueue().process();
+                it.getSkills().flush();
+            } catch (Exception e) {
+                LOGGER.catching(e);
+            }
+        });
     }
 
     /**
@@ -140,15 +165,16 @@ public final class WorldSynchronizer {
         world.getPlayers().forEach(it -> updateExecutor.execute(new SynchronizationTask(it) {
             @Override
             public void execute() {
-                it.queue(new NpcUpdateMessageWriter());
-                it.queue(new PlayerUpdateMessageWriter());
+                it.queue(NPC_UPDATE);
+                it.queue(PLAYER_UPDATE);
             }
         }));
         synchronizer.arriveAndAwaitAdvance();
     }
 
     /**
-     * Post-synchronization, clear various flags. This can be done safely in parallel.
+     * Post-synchronization, clear various flags. This can be done safely in parallel. {@link Npc}s within sleeping regions
+     * are skipped, their flags are cleared when the region wakes up instead.
      */
     public void postSynchronize() {
         synchronizer.bulkRegister(world.getPlayers().size());
@@ -162,13 +188,18 @@ public final class WorldSynchronizer {
         }));
         synchronizer.arriveAndAwaitAdvance();
 
-        synchronizer.bulkRegister(world.getNpcs().size());
-        world.getNpcs().forEach(it -> updateExecutor.execute(new SynchronizationTask(it) {
-            @Override
-            public void execute() {
-                it.clearFlags();
+        world.getNpcs().forEach(it -> {
+            if (it.isSleeping()) {
+                return;
             }
-        }));
+            synchronizer.register();
+            updateExecutor.execute(new SynchronizationTask(it) {
+                @Override
+                public void execute() {
+                    it.clearFlags();
+                }
+            });
+        });
         synchronizer.arriveAndAwaitAdvance();
     }
 }
@@ -2,6 +2,7 @@ package io.luna.game.model.item;
 
 import io.luna.game.model.def.ItemDefinition;
 import io.luna.game.model.mobile.Player;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.msg.out.GameChatboxMessageWriter;
 import io.luna.net.msg.out.InventoryOverlayMessageWriter;
 
@@ -32,8 +33,8 @@ public final class Bank extends ItemContainer {
         }
 
         @Override
-        public String getCapacityExceededMsg() {
-            return "You do not have enough bank space to deposit that.";
+        public EncodedString getCapacityExceededMsg() {
+            return NO_SPACE_MESSAGE;
         }
     }
 
@@ -42,6 +43,12 @@ public final class Bank extends ItemContainer {
      */
     public static final int SIZE = 352;
 
+    /**
+     * The message sent when there is not enough space in the bank.
+     */
+    private static final EncodedString NO_SPACE_MESSAGE =
+        new EncodedString("You do not have enough bank space to deposit that.");
+
     /**
      * The main interface identifier for banks.
      */
@@ -8,6 +8,7 @@ import io.luna.game.model.mobile.Player;
 import io.luna.game.model.mobile.Skill;
 import io.luna.game.model.mobile.SkillSet;
 import io.luna.game.model.mobile.update.UpdateFlagHolder.UpdateFlag;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.msg.out.GameChatboxMessageWriter;
 import io.luna.net.msg.out.WidgetTextMessageWriter;
 import io.luna.util.StringUtils;
@@ -43,7 +44,7 @@ public final class Equipment extends ItemContainer {
         }
 
         @Override
-        public String getCapacityExceededMsg() {
+        public EncodedString getCapacityExceededMsg() {
             throw new IllegalStateException(EXCEPTION_MESSAGE);
         }
 
@@ -183,6 +184,23 @@ public final class Equipment extends ItemContainer {
     public static final ImmutableList<String> BONUS_NAMES = ImmutableList
         .of("Stab", "Slash", "Crush", "Magic", "Range", "Stab", "Slash", "Crush", "Magic", "Range", "Strength", "Prayer");
 
+    /**
+     * The lowest bonus value whose text is cached in {@code BONUS_TEXT}.
+     */
+    private static final int MIN_CACHED_BONUS = -512;
+
+    /**
+     * The highest bonus value whose text is cached in {@code BONUS_TEXT}.
+     */
+    private static final int MAX_CACHED_BONUS = 511;
+
+    /**
+     * The encoded text of bonus lines on the equipment interface, indexed by bonus and then by value. Lines are encoded
+     * the first time they are shown.
+     */
+    private static final EncodedString[][] BONUS_TEXT =
+        new EncodedString[BONUS_NAMES.size()][MAX_CACHED_BONUS - MIN_CACHED_BONUS + 1];
+
     /**
      * The size of all equipment instances.
      */
@@ -270,7 +288,7 @@ public final class Equipment extends ItemContainer {
         if (unequipIndex.isPresent()) { // Do we have enough inventory space for potential unequipping?
             int remaining = inventory.computeRemainingSize();
             if (remaining == 0 && allIndexesOccupied(unequipIndex.getAsInt(), toIndex)) {
-                player.queue(new GameChatboxMessageWriter("You do not have enough space in your inventory."));
+                player.queue(new GameChatboxMessageWriter(Inventory.NO_SPACE_MESSAGE));
                 return false;
             }
         }
@@ -303,7 +321,7 @@ public final class Equipment extends ItemContainer {
             appearanceForIndex(equipmentIndex);
             return true;
         }
-        player.queue(new GameChatboxMessageWriter("You do not have enough space in your inventory."));
+        player.queue(new GameChatboxMessageWriter(Inventory.NO_SPACE_MESSAGE));
         return false;
     }
 
@@ -380,18 +398,42 @@ public final class Equipment extends ItemContainer {
      * Writes a specific the bonus value on the equipment interface.
      */
     private void writeBonuses() {
-        StringBuilder sb = new StringBuilder();
-
         for (int index = 0; index < bonuses.length; index++) {
-            String text = sb.append(BONUS_NAMES.get(index)).
-                append(": ").
-                append(bonuses[index] >= 0 ? "+" : "").
-                append(bonuses[index]).toString();
             int line = 1675 + index + (index == 10 || index == 11 ? 1 : 0);
+            player.queue(WidgetTextMessageWriter.pooled(bonusText(index, bonuses[index]), line));
+        }
+    }
+
+    /**
+     * Retrieves the encoded text of a bonus line, encoding and caching it if this is the first time it's been shown.
+     *
+     * @param index The bonus index.
+     * @param value The bonus value.
+     * @return The encoded text.
+     */
+    private EncodedString bonusText(int index, int value) {
+        if (value < MIN_CACHED_BONUS || value > MAX_CACHED_BONUS) {
+            return encodeBonusText(index, value);
+        }
 
-            player.queue(new WidgetTextMessageWriter(text, line));
-            sb.setLength(0);
+        EncodedString[] values = BONUS_TEXT[index];
+        EncodedString text = values[value - MIN_CACHED_BONUS];
+        if (text == null) {
+            text = encodeBonusText(index, value);
+            values[value - MIN_CACHED_BONUS] = text;
         }
+        return text;
+    }
+
+    /**
+     * Encodes the text of a bonus line.
+     *
+     * @param index The bonus index.
+     * @param value The bonus value.
+     * @return The encoded text.
+     */
+    private EncodedString encodeBonusText(int index, int value) {
+        return new EncodedString(BONUS_NAMES.get(index) + ": " + (value >= 0 ? "+" : "") + value);
     }
 
     /**
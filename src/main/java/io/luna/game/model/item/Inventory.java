@@ -1,6 +1,7 @@
 package io.luna.game.model.item;
 
 import io.luna.game.model.mobile.Player;
+import io.luna.net.codec.EncodedString;
 
 /**
  * An {@link ItemContainer} implementation that manages the inventory for a {@link Player}.
@@ -27,8 +28,8 @@ public final class Inventory extends ItemContainer {
         }
 
         @Override
-        public String getCapacityExceededMsg() {
-            return "You do not have enough space in your inventory.";
+        public EncodedString getCapacityExceededMsg() {
+            return NO_SPACE_MESSAGE;
         }
     }
 
@@ -37,6 +38,12 @@ public final class Inventory extends ItemContainer {
      */
     public static final int INVENTORY_DISPLAY_ID = 3214;
 
+    /**
+     * The message sent when there is not enough space in the inventory.
+     */
+    public static final EncodedString NO_SPACE_MESSAGE =
+        new EncodedString("You do not have enough space in your inventory.");
+
     /**
      * The {@link Player} this instance is dedicated to.
      */
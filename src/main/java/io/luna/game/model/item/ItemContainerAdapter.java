@@ -1,6 +1,7 @@
 package io.luna.game.model.item;
 
 import io.luna.game.model.mobile.Player;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.msg.out.GameChatboxMessageWriter;
 
 import java.util.Optional;
@@ -57,5 +58,5 @@ public abstract class ItemContainerAdapter implements ItemContainerListener {
     /**
      * @return The message sent when the {@link ItemContainer} exceeds its capacity.
      */
-    public abstract String getCapacityExceededMsg();
+    public abstract EncodedString getCapacityExceededMsg();
 }
@@ -1,14 +1,13 @@
 package io.luna.game.model.item;
 
-import io.luna.game.model.def.ItemDefinition;
 import io.luna.game.model.mobile.Player;
-import io.luna.net.msg.out.UpdateWeightMessageWriter;
 
-import java.util.Objects;
 import java.util.Optional;
 
 /**
- * An {@link ItemContainerListener} implementation that will update the weight value of a {@link Player}.
+ * An {@link ItemContainerListener} implementation that will update the weight value of a {@link Player}. The weight of
+ * the container is tracked in grams, so that single item changes are applied without rounding errors and without
+ * having to recompute the weight of every item. The {@code Player} sends the new weight once at the end of the tick.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -19,6 +18,11 @@ public final class ItemWeightListener implements ItemContainerListener {
      */
     private final Player player;
 
+    /**
+     * The weight of the items within the container listened to, in grams.
+     */
+    private int weight;
+
     /**
      * Creates a new {@link ItemWeightListener}.
      *
@@ -30,57 +34,34 @@ public final class ItemWeightListener implements ItemContainerListener {
 
     @Override
     public void itemUpdated(ItemContainer container, Optional<Item> oldItem, Optional<Item> newItem, int index) {
-        updateWeight(oldItem, newItem);
-        queueWeight();
+        int delta = computeWeight(newItem.orElse(null)) - computeWeight(oldItem.orElse(null));
+        if (delta != 0) {
+            weight += delta;
+            player.addWeight(delta);
+        }
     }
 
     @Override
     public void bulkItemsUpdated(ItemContainer container) {
-        updateAllWeight();
-        queueWeight();
-    }
-
-    /**
-     * Updates the weight value for a single set of items.
-     */
-    private void updateWeight(Optional<Item> oldItem, Optional<Item> newItem) {
-        double subtract = applyWeight(oldItem);
-        double add = applyWeight(newItem);
-
-        double currentWeight = player.getWeight();
-        currentWeight -= subtract;
-        currentWeight += add;
-
-        player.setWeight(currentWeight, false);
-    }
+        int newWeight = 0;
+        for (Item item : container) {
+            newWeight += computeWeight(item);
+        }
 
-    /**
-     * Updates the weight value for all items in {@code container}.
-     */
-    private void updateAllWeight() {
-        player.setWeight(0.0, false);
-
-        player.getInventory().stream().
-            filter(Objects::nonNull).
-            forEach(it -> updateWeight(Optional.empty(), Optional.of(it)));
-        player.getEquipment().stream().
-            filter(Objects::nonNull).
-            forEach(it -> updateWeight(Optional.empty(), Optional.of(it)));
+        int delta = newWeight - weight;
+        if (delta != 0) {
+            weight = newWeight;
+            player.addWeight(delta);
+        }
     }
 
     /**
-     * Converts an {@link Optional} into a {@code double} describing its weight value.
-     */
-    private double applyWeight(Optional<Item> item) {
-        return item.map(Item::getItemDef).
-            map(ItemDefinition::getWeight).
-            orElse(0.0);
-    }
-
-    /**
-     * Queues an {@link UpdateWeightMessageWriter} message.
+     * Computes the weight of {@code item} in grams.
+     *
+     * @param item The item, possibly {@code null}.
+     * @return The weight, or {@code 0} if there is no item.
      */
-    private void queueWeight() {
-        player.queue(new UpdateWeightMessageWriter((int) player.getWeight()));
+    private int computeWeight(Item item) {
+        return item == null ? 0 : (int) Math.round(item.getItemDef().getWeight() * 1000);
     }
 }
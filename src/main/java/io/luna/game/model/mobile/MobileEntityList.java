@@ -2,29 +2,35 @@ package io.luna.game.model.mobile;
 
 import io.luna.game.model.EntityState;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkPositionIndex;
+import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkState;
 
 /**
  * An {@link Iterable} implementation acting as a repository that holds instances of {@link MobileEntity}s. Indexes are
- * cached to avoid expensive lookups whenever a new mob is added.
+ * cached to avoid expensive lookups whenever a new mob is added, and are reused in the order they were freed.
+ * <p>
+ * Mobs are kept in two arrays: one indexed by their stable index, for lookups, and a dense one that is iterated over, so
+ * iteration costs are proportional to {@code size()} rather than {@code capacity()}. Outside of iteration, removing a mob
+ * moves the last mob of the dense array into its place, so the iteration order is not the index order.
+ * <p>
+ * Mobs can be added and removed freely from within {@code forEach()}, the {@code find} functions and {@code clear()}.
+ * Mobs removed during them leave a gap in the dense array instead, which is closed (and their indexes freed) once the
+ * outermost of them returns, so every mob present when the iteration started is visited exactly once unless it is
+ * removed first. Mobs added during iteration are not visited. An {@link Iterator} only supports removing the mob it last
+ * returned, removing any other mob while it is in use may cause mobs to be skipped.
  *
  * @param <E> The specific type of {@code MobileEntity} being managed within this list.
  * @author lare96 <http://github.org/lare96>
@@ -45,15 +51,20 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
         private final MobileEntityList<E> list;
 
         /**
-         * The current index.
+         * The current position within the dense array.
          */
         private int curr;
 
         /**
-         * The previous index.
+         * The previous position within the dense array.
          */
         private int prev = -1;
 
+        /**
+         * The mob returned by the last call to {@code next()}.
+         */
+        private E last;
+
         /**
          * Creates a new {@link MobileEntityListIterator}.
          *
@@ -65,52 +76,105 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
 
         @Override
         public boolean hasNext() {
-            return curr < list.capacity() && skipNullIndexes();
+            revisitSwapped();
+            skipGaps();
+            return curr < list.end;
         }
 
         @Override
         public E next() {
-            skipNullIndexes();
+            revisitSwapped();
+            skipGaps();
 
-            checkPositionIndex(curr, list.capacity(), "No elements left");
+            checkElementIndex(curr, list.end, "No elements left");
 
-            E mob = list.element(curr);
+            last = list.active[curr];
             prev = curr++;
-            return mob;
+            return last;
         }
 
         @Override
         public void remove() {
             checkState(prev != -1, "remove() can only be called once after each call to next()");
 
-            list.remove(list.get(prev));
+            list.remove(last);
+            curr = prev;
             prev = -1;
         }
 
         /**
-         * Forwards the {@code curr} marker until a {@code non-null} element is found.
-         *
-         * @return {@code true} if a non-null element is found, {@code false} otherwise.
+         * Steps the {@code curr} marker back if the last returned mob was removed from outside of this iterator, as the
+         * mob swapped into its position has not been visited yet.
          */
-        private boolean skipNullIndexes() {
-            while (list.get(curr) == null) {
-                if (++curr >= list.capacity()) {
-                    return false;
-                }
+        private void revisitSwapped() {
+            if (prev != -1 && list.active[prev] != last) {
+                curr = prev;
+                prev = -1;
+            }
+        }
+
+        /**
+         * Forwards the {@code curr} marker past the gaps left by mobs removed during iteration.
+         */
+        private void skipGaps() {
+            while (curr < list.end && list.active[curr] == null) {
+                curr++;
             }
-            return true;
         }
     }
 
     /**
-     * The mobs contained within this list.
+     * The mobs contained within this list, indexed by their index.
      */
     private final E[] mobs;
 
     /**
-     * A queue that acts as a cache for indexes.
+     * The mobs contained within this list, in positions {@code 0} to {@code end - 1}. Positions of mobs removed during
+     * iteration are {@code null} until it ends.
      */
-    private final Queue<Integer> indexes;
+    private final E[] active;
+
+    /**
+     * The position of each mob within {@code active}, indexed by its index.
+     */
+    private final int[] positions;
+
+    /**
+     * A ring buffer of the free indexes, in the order they were freed.
+     */
+    private final int[] indexes;
+
+    /**
+     * The position of the next free index within {@code indexes}.
+     */
+    private int head;
+
+    /**
+     * The amount of free indexes within {@code indexes}.
+     */
+    private int freeIndexes;
+
+    /**
+     * The indexes of the mobs removed during iteration, freed once it ends.
+     */
+    private final int[] removedIndexes;
+
+    /**
+     * The amount of indexes within {@code removedIndexes}.
+     */
+    private int removedCount;
+
+    /**
+     * The amount of iterations over this list in progress, through {@code forEach()}, the {@code find} functions or {@code
+     * clear()}.
+     */
+    private int iterating;
+
+    /**
+     * The end of the used positions within {@code active}, equal to {@code size} unless mobs were removed during
+     * iteration.
+     */
+    private int end;
 
     /**
      * The internal size of this list.
@@ -124,10 +188,15 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      */
     @SuppressWarnings("unchecked")
     public MobileEntityList(int capacity) {
-        mobs = (E[]) new MobileEntity[++capacity];
-
-        Stream<Integer> indexStream = IntStream.rangeClosed(1, mobs.length).boxed();
-        indexes = new ArrayDeque<>(indexStream.collect(Collectors.toList()));
+        mobs = (E[]) new MobileEntity[capacity + 1];
+        active = (E[]) new MobileEntity[capacity];
+        positions = new int[capacity + 1];
+        indexes = new int[capacity];
+        removedIndexes = new int[capacity];
+
+        for (int index = 1; index <= capacity; index++) {
+            indexes[freeIndexes++] = index;
+        }
     }
 
     @Override
@@ -135,6 +204,27 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
         return new MobileEntityListIterator<>(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Mobs can be added and removed by {@code action}, see the class documentation.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        iterating++;
+        try {
+            int last = end;
+            for (int position = 0; position < last; position++) {
+                E mob = active[position];
+                if (mob != null) {
+                    action.accept(mob);
+                }
+            }
+        } finally {
+            endIteration();
+        }
+    }
+
     /**
      * Finds the first element that matches {@code filter}.
      *
@@ -142,12 +232,19 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      * @return An {@link Optional} containing the element, or an empty {@code Optional} if no element was found.
      */
     public Optional<E> findFirst(Predicate<? super E> filter) {
-        for (E e : this) {
-            if (filter.test(e)) {
-                return Optional.of(e);
+        iterating++;
+        try {
+            int last = end;
+            for (int position = 0; position < last; position++) {
+                E mob = active[position];
+                if (mob != null && filter.test(mob)) {
+                    return Optional.of(mob);
+                }
             }
+            return Optional.empty();
+        } finally {
+            endIteration();
         }
-        return Optional.empty();
     }
 
     /**
@@ -157,16 +254,18 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      * @return An {@link Optional} containing the element, or an empty {@code Optional} if no element was found.
      */
     public Optional<E> findLast(Predicate<? super E> filter) {
-        for (int index = capacity(); index > 1; index--) {
-            E mob = mobs[index];
-            if (mob == null) {
-                continue;
-            }
-            if (filter.test(mob)) {
-                return Optional.of(mob);
+        iterating++;
+        try {
+            for (int position = end - 1; position >= 0; position--) {
+                E mob = active[position];
+                if (mob != null && filter.test(mob)) {
+                    return Optional.of(mob);
+                }
             }
+            return Optional.empty();
+        } finally {
+            endIteration();
         }
-        return Optional.empty();
     }
 
     /**
@@ -177,11 +276,11 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      */
     public List<E> findAll(Predicate<? super E> filter) {
         List<E> list = new ArrayList<>();
-        for (E e : this) {
-            if (filter.test(e)) {
-                list.add(e);
+        forEach(mob -> {
+            if (filter.test(mob)) {
+                list.add(mob);
             }
-        }
+        });
         return list;
     }
 
@@ -190,10 +289,26 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      * <p>
      * As a rule of thumb, {@code stream()} and {@code parallelStream()} should always be used instead unless absolutely
      * needed.
+     * <p>
+     * The returned {@code Spliterator} traverses a copy of the mobs in this list when it is created, so mobs can be added
+     * and removed while it is being traversed without it returning {@code null} or the same mob twice. It knows its exact
+     * size and splits into equal halves.
      */
     @Override
     public Spliterator<E> spliterator() {
-        return Spliterators.spliterator(mobs, Spliterator.ORDERED | Spliterator.DISTINCT);
+        E[] snapshot = Arrays.copyOf(active, size);
+        if (end != size) {
+
+            // Mobs were removed during iteration, so the gaps they left are skipped.
+            int write = 0;
+            for (int read = 0; read < end; read++) {
+                E mob = active[read];
+                if (mob != null) {
+                    snapshot[write++] = mob;
+                }
+            }
+        }
+        return Spliterators.spliterator(snapshot, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
     }
 
     /**
@@ -206,11 +321,16 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
         checkArgument(mob.getState() != EntityState.ACTIVE, "state == ACTIVE");
         checkState(!isFull(), "isFull() == true");
 
-        int index = indexes.remove();
+        int index = indexes[head];
+        head = (head + 1) % indexes.length;
+        freeIndexes--;
+
         mobs[index] = mob;
+        active[end] = mob;
+        positions[index] = end++;
+        size++;
         mob.setIndex(index);
         mob.setState(EntityState.ACTIVE);
-        size++;
     }
 
     /**
@@ -223,11 +343,23 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
         checkArgument(mob.getState() == EntityState.ACTIVE, "state != ACTIVE");
         checkArgument(mob.getIndex() != -1, "index == -1");
 
-        indexes.add(mob.getIndex());
+        int index = mob.getIndex();
+        int position = positions[index];
+        if (iterating > 0) {
+            active[position] = null;
+            removedIndexes[removedCount++] = index;
+        } else {
+            E moved = active[--end];
+            active[position] = moved;
+            positions[moved.getIndex()] = position;
+            active[end] = null;
+            freeIndex(index);
+        }
+        size--;
+
         mob.setState(EntityState.INACTIVE);
-        mobs[mob.getIndex()] = null;
+        mobs[index] = null;
         mob.setIndex(-1);
-        size--;
     }
 
     /**
@@ -277,7 +409,7 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      * @return {@code true} if this list is full, {@code false} otherwise.
      */
     public boolean isFull() {
-        return size() == capacity();
+        return freeIndexes == 0;
     }
 
     /**
@@ -298,7 +430,7 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
      * @return The amount of free spaces remaining in this list.
      */
     public int remaining() {
-        return capacity() - size();
+        return freeIndexes;
     }
 
     /**
@@ -326,17 +458,51 @@ public final class MobileEntityList<E extends MobileEntity> implements Iterable<
     }
 
     /**
-     * @return The {@link Stream} that will traverse over this list. Automatically excludes {@code null} values.
+     * Ends an iteration over this list. If it was the outermost one, the gaps left by mobs removed during it are closed
+     * without changing the order of the remaining mobs, and their indexes are freed.
+     */
+    private void endIteration() {
+        if (--iterating > 0 || removedCount == 0) {
+            return;
+        }
+
+        int write = 0;
+        for (int read = 0; read < end; read++) {
+            E mob = active[read];
+            if (mob != null) {
+                active[write] = mob;
+                positions[mob.getIndex()] = write++;
+            }
+        }
+        Arrays.fill(active, write, end, null);
+        end = write;
+
+        for (int index = 0; index < removedCount; index++) {
+            freeIndex(removedIndexes[index]);
+        }
+        removedCount = 0;
+    }
+
+    /**
+     * Adds {@code index} to the back of the free index ring buffer.
+     *
+     * @param index The index to free.
+     */
+    private void freeIndex(int index) {
+        indexes[(head + freeIndexes++) % indexes.length] = index;
+    }
+
+    /**
+     * @return The {@link Stream} that will traverse over this list.
      */
     public Stream<E> stream() {
-        return StreamSupport.stream(spliterator(), false).filter(Objects::nonNull);
+        return StreamSupport.stream(spliterator(), false);
     }
 
     /**
-     * @return The {@link Stream} that will traverse over this list in parallel. Automatically excludes {@code null} values.
+     * @return The {@link Stream} that will traverse over this list in parallel.
      */
     public Stream<E> parallelStream() {
-        Spliterator<E> split = Spliterators.spliterator(mobs, spliterator().characteristics() | Spliterator.IMMUTABLE);
-        return StreamSupport.stream(split, true).filter(Objects::nonNull);
+        return StreamSupport.stream(spliterator(), true);
     }
 }
@@ -8,9 +8,14 @@ import io.luna.game.model.Position;
 import io.luna.game.model.def.NpcCombatDefinition;
 import io.luna.game.model.def.NpcDefinition;
 import io.luna.game.model.mobile.update.UpdateFlagHolder.UpdateFlag;
+import io.luna.game.model.path.PathfindingService;
+import io.luna.game.model.region.Region;
+import io.luna.util.RandomUtils;
 
 import java.util.Objects;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * A mobile entity that is controlled by the server.
  *
@@ -18,11 +23,26 @@ import java.util.Objects;
  */
 public final class Npc extends MobileEntity {
 
+    /**
+     * The chance, as {@code 1} in this value, that an idle wandering {@code Npc} starts walking on a given tick.
+     */
+    private static final int WANDER_CHANCE = 8;
+
     /**
      * The identifier for this {@code Npc}.
      */
     private final int id;
 
+    /**
+     * The position this {@code Npc} was spawned on, which it wanders around.
+     */
+    private final Position spawnPosition;
+
+    /**
+     * The maximum distance in tiles this {@code Npc} wanders from its spawn position, {@code 0} if it stays still.
+     */
+    private int wanderRadius;
+
     /**
      * The definition instance for this {@code Npc}.
      */
@@ -53,6 +73,7 @@ public final class Npc extends MobileEntity {
     public Npc(LunaContext context, int id, Position position) {
         super(context);
         this.id = id;
+        spawnPosition = position;
 
         definition = NpcDefinition.DEFINITIONS.get(id);
         combatDefinition = NpcCombatDefinition.getDefinition(id);
@@ -127,6 +148,25 @@ public final class Npc extends MobileEntity {
         updateFlags.flag(UpdateFlag.TRANSFORM);
     }
 
+    /**
+     * Walks this {@code Npc} to a random tile within {@code wanderRadius} of its spawn position every so often, using the
+     * {@link PathfindingService}. Npcs that are walking, interacting or within a sleeping {@link Region} stay where they
+     * are. This should be called once per tick on the game thread.
+     */
+    public void wander() {
+        if (wanderRadius == 0 || !walkingQueue.empty() || getInteractingWith().isPresent()) {
+            return;
+        }
+        Region region = getCurrentRegion();
+        if (region == null || region.isSleeping() || RandomUtils.inclusive(WANDER_CHANCE - 1) != 0) {
+            return;
+        }
+
+        int deltaX = RandomUtils.inclusive(-wanderRadius, wanderRadius);
+        int deltaY = RandomUtils.inclusive(-wanderRadius, wanderRadius);
+        world.getPathfinding().walk(this, spawnPosition.move(deltaX, deltaY));
+    }
+
     /**
      * @return The definition instance for this {@code Npc}.
      */
@@ -168,4 +208,27 @@ public final class Npc extends MobileEntity {
     public void setCurrentHp(int currentHp) {
         this.currentHp = currentHp;
     }
+
+    /**
+     * @return The position this {@code Npc} was spawned on.
+     */
+    public Position getSpawnPosition() {
+        return spawnPosition;
+    }
+
+    /**
+     * @return The maximum distance in tiles this {@code Npc} wanders from its spawn position.
+     */
+    public int getWanderRadius() {
+        return wanderRadius;
+    }
+
+    /**
+     * Sets the maximum distance in tiles this {@code Npc} wanders from its spawn position, {@code 0} if it should stay
+     * still.
+     */
+    public void setWanderRadius(int wanderRadius) {
+        checkArgument(wanderRadius >= 0, "wanderRadius < 0");
+        this.wanderRadius = wanderRadius;
+    }
 }
@@ -7,14 +7,16 @@ import io.luna.game.event.impl.LoginEvent;
 import io.luna.game.event.impl.LogoutEvent;
 import io.luna.game.model.Direction;
 import io.luna.game.model.EntityType;
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.Position;
 import io.luna.game.model.item.Bank;
 import io.luna.game.model.item.Equipment;
 import io.luna.game.model.item.Inventory;
 import io.luna.game.model.item.ItemContainer;
-import io.luna.game.model.mobile.attr.AttributeValue;
+import io.luna.game.model.mobile.attr.AttributeKey;
 import io.luna.game.model.mobile.update.UpdateFlagHolder.UpdateFlag;
 import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.msg.MessageWriter;
 import io.luna.net.msg.out.AssignmentMessageWriter;
 import io.luna.net.msg.out.GameChatboxMessageWriter;
@@ -50,6 +52,11 @@ public final class Player extends MobileEntity {
      */
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * The message sent to every {@code Player} on login.
+     */
+    private static final EncodedString WELCOME_MESSAGE = new EncodedString("Welcome to Luna!");
+
     /**
      * The {@link Set} of local {@code Player}s.
      */
@@ -130,6 +137,26 @@ public final class Player extends MobileEntity {
      */
     private int transformId = -1;
 
+    /**
+     * The whole run energy percentage last sent to the client, or {@code -1} if none has been sent.
+     */
+    private int runEnergyPercentage = -1;
+
+    /**
+     * The weight of the carried and equipped items, in grams.
+     */
+    private int weight;
+
+    /**
+     * If the weight changed since it was last flushed.
+     */
+    private boolean weightChanged = true;
+
+    /**
+     * The whole weight in kilograms last sent to the client, or {@code Integer.MIN_VALUE} if none has been sent.
+     */
+    private int weightKilograms = Integer.MIN_VALUE;
+
     /**
      * Creates a new {@link Player}.
      *
@@ -193,13 +220,14 @@ public final class Player extends MobileEntity {
             queue(new SkillUpdateMessageWriter(index));
         }
 
-        queue(new UpdateRunEnergyMessageWriter((int) getRunEnergy()));
+        runEnergyPercentage = (int) getRunEnergy();
+        queue(UpdateRunEnergyMessageWriter.pooled(runEnergyPercentage));
 
         inventory.fireBulkItemsUpdatedEvent();
         equipment.fireBulkItemsUpdatedEvent();
         bank.fireBulkItemsUpdatedEvent();
 
-        queue(new GameChatboxMessageWriter("Welcome to Luna!"));
+        queue(new GameChatboxMessageWriter(WELCOME_MESSAGE));
 
         plugins.post(LoginEvent.INSTANCE, this);
 
@@ -275,8 +303,9 @@ public final class Player extends MobileEntity {
      * RegionChangeMessageWriter} message needs to be queued, {@code false} otherwise.
      */
     public boolean needsRegionUpdate() {
-        int deltaX = position.getLocalX(lastRegion);
-        int deltaY = position.getLocalY(lastRegion);
+        int position = getPackedPosition();
+        int deltaX = PackedPosition.getX(position) - (lastRegion.getRegionX() << 3);
+        int deltaY = PackedPosition.getY(position) - (lastRegion.getRegionY() << 3);
 
         return deltaX < 16 || deltaX >= 88 || deltaY < 16 || deltaY > 88;
     }
@@ -285,95 +314,98 @@ public final class Player extends MobileEntity {
      * Sets the "withdraw_as_note" attribute and sends the state.
      */
     public void setWithdrawAsNote(boolean withdrawAsNote) {
-        AttributeValue<Boolean> attr = attributes.get("withdraw_as_note");
-        attr.set(withdrawAsNote);
+        attributes.setObject(AttributeKey.WITHDRAW_AS_NOTE, withdrawAsNote);
 
-        queue(new StateMessageWriter(Bank.WITHDRAW_MODE_STATE_ID, withdrawAsNote ? 1 : 0));
+        queue(StateMessageWriter.pooled(Bank.WITHDRAW_MODE_STATE_ID, withdrawAsNote ? 1 : 0));
     }
 
     /**
      * Gets the "withdraw_as_note" attribute.
      */
     public boolean isWithdrawAsNote() {
-        AttributeValue<Boolean> attr = attributes.get("withdraw_as_note");
-        return attr.get();
+        return attributes.getObject(AttributeKey.WITHDRAW_AS_NOTE);
     }
 
     /**
-     * Sets the "run_energy" attribute and sends the value.
+     * Sets the "run_energy" attribute, and sends the value if the whole percentage shown by the client changed.
      */
     public void setRunEnergy(double runEnergy) {
-        AttributeValue<Double> attr = attributes.get("run_energy");
-        attr.set(runEnergy);
+        attributes.setDouble(AttributeKey.RUN_ENERGY, runEnergy);
 
-        queue(new UpdateRunEnergyMessageWriter((int) runEnergy));
+        int percentage = (int) runEnergy;
+        if (percentage != runEnergyPercentage) {
+            runEnergyPercentage = percentage;
+            queue(UpdateRunEnergyMessageWriter.pooled(percentage));
+        }
     }
 
     /**
      * Gets the "run_energy" attribute.
      */
     public double getRunEnergy() {
-        AttributeValue<Double> attr = attributes.get("run_energy");
-        return attr.get();
+        return attributes.getDouble(AttributeKey.RUN_ENERGY);
     }
 
     /**
      * Sets the "unmute_date" attribute.
      */
     public void setUnmuteDate(String unmuteDate) {
-        AttributeValue<String> attr = attributes.get("unmute_date");
-        attr.set(unmuteDate);
+        attributes.setObject(AttributeKey.UNMUTE_DATE, unmuteDate);
     }
 
     /**
      * Gets the "unmute_date" attribute.
      */
     public String getUnmuteDate() {
-        AttributeValue<String> attr = attributes.get("unmute_date");
-        return attr.get();
+        return attributes.getObject(AttributeKey.UNMUTE_DATE);
     }
 
     /**
      * Sets the "unban_date" attribute.
      */
     public void setUnbanDate(String unbanDate) {
-        AttributeValue<String> attr = attributes.get("unban_date");
-        attr.set(unbanDate);
+        attributes.setObject(AttributeKey.UNBAN_DATE, unbanDate);
     }
 
     /**
      * Gets the "unban_date" attribute.
      */
     public String getUnbanDate() {
-        AttributeValue<String> attr = attributes.get("unban_date");
-        return attr.get();
+        return attributes.getObject(AttributeKey.UNBAN_DATE);
     }
 
     /**
-     * Sets the "weight" attribute.
+     * Adds {@code grams} to the weight, which will be sent at the end of the tick.
+     *
+     * @param grams The weight to add in grams, negative to subtract.
      */
-    public void setWeight(double weight, boolean queue) {
-        AttributeValue<Double> attr = attributes.get("weight");
-        attr.set(weight);
-
-        if (queue) {
-            queue(new UpdateWeightMessageWriter((int) weight));
-        }
+    public void addWeight(int grams) {
+        weight += grams;
+        weightChanged = true;
     }
 
     /**
-     * Sets the "weight" attribute, queues a {@link UpdateWeightMessageWriter} message.
+     * Queues an {@link UpdateWeightMessageWriter} message if the weight changed since the last call, and the whole
+     * weight shown by the client is different. This should be called once per tick on the game thread.
      */
-    public void setWeight(double weight) {
-        setWeight(weight, true);
+    public void flushWeight() {
+        if (!weightChanged) {
+            return;
+        }
+        weightChanged = false;
+
+        int kilograms = (int) getWeight();
+        if (kilograms != weightKilograms) {
+            weightKilograms = kilograms;
+            queue(UpdateWeightMessageWriter.pooled(kilograms));
+        }
     }
 
     /**
-     * Gets the "weight" attribute.
+     * @return The weight of the carried and equipped items, in kilograms.
      */
     public double getWeight() {
-        AttributeValue<Double> attr = attributes.get("weight");
-        return attr.get();
+        return weight / 1000.0;
     }
 
     /**
@@ -2,9 +2,6 @@ package io.luna.game.model.mobile;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import io.luna.game.event.impl.SkillChangeEvent;
-import io.luna.game.model.EntityType;
-import io.luna.game.plugin.PluginManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -232,25 +229,15 @@ public final class Skill {
     }
 
     /**
-     * Notifies plugins of any level or experience changes.
+     * Records a level or experience change, so that plugins are notified of it when the {@link SkillSet} is flushed.
      *
      * @param oldExperience The old experience value.
      * @param oldStaticLevel The old static level value.
      * @param oldLevel The old dynamic level value.
      */
     private void notifyListeners(double oldExperience, int oldStaticLevel, int oldLevel) {
-        if (!skills.isFiringEvents()) {
-            return;
-        }
-
-        MobileEntity mob = skills.getMob();
-        PluginManager plugins = mob.getPlugins();
-
-        SkillChangeEvent evt = new SkillChangeEvent(mob, oldExperience, oldStaticLevel, oldLevel, id);
-        if (mob.type() == EntityType.PLAYER) {
-            plugins.post(evt, (Player) mob);
-        } else {
-            plugins.post(evt);
+        if (skills.isFiringEvents()) {
+            skills.markChanged(id, oldExperience, oldStaticLevel, oldLevel);
         }
     }
 
@@ -1,9 +1,11 @@
 package io.luna.game.model.mobile;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Range;
-import com.google.common.primitives.Ints;
+import io.luna.game.event.impl.SkillChangeEvent;
+import io.luna.game.model.EntityType;
+import io.luna.game.plugin.PluginManager;
+import io.luna.net.msg.out.SkillUpdateMessageWriter;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -18,15 +20,21 @@ import static com.google.common.base.Preconditions.checkState;
 
 /**
  * A collection of {@link Skill}s for a {@link MobileEntity}.
+ * <p>
+ * Changes to skills are not announced right away. Instead, the skills that changed are marked within a bitmask and
+ * {@link #flush()} is called once per tick, which posts one {@link SkillChangeEvent} for every skill that changed, no
+ * matter how many times it changed within that tick. Changes made by plugins while handling those events are posted
+ * within the same flush, and once all events are handled one {@link SkillUpdateMessageWriter} is queued for every skill
+ * that changed.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class SkillSet implements Iterable<Skill> {
 
     /**
-     * An {@link ImmutableList} containing the experience needed for each level.
+     * The experience needed for each level, indexed by level.
      */
-    public static final ImmutableList<Integer> EXPERIENCE_TABLE;
+    private static final int[] EXPERIENCE_TABLE = new int[100];
 
     /**
      * A {@link Range} containing all valid skill identifier values.
@@ -43,6 +51,12 @@ public final class SkillSet implements Iterable<Skill> {
      */
     public static final double EXPERIENCE_MULTIPLIER = 1;
 
+    /**
+     * The maximum amount of times events are posted within a single flush. Changes made by plugins after the last pass
+     * are posted on the next flush instead.
+     */
+    private static final int MAX_FLUSH_PASSES = 4;
+
     /**
      * Retrieves the experience amount for {@code level}. Runs in O(1) time.
      *
@@ -51,7 +65,7 @@ public final class SkillSet implements Iterable<Skill> {
      */
     public static int experienceForLevel(int level) {
         checkArgument(level >= 1 && level <= 99, "level < 1 || level > 99");
-        return EXPERIENCE_TABLE.get(level);
+        return EXPERIENCE_TABLE[level];
     }
 
     /**
@@ -62,8 +76,7 @@ public final class SkillSet implements Iterable<Skill> {
     }
 
     /**
-     * Retrieves the level for {@code experience}. Runs in O(n) time, but should still return blazingly fast assuming the
-     * {@code experience} value is high.
+     * Retrieves the level for {@code experience}. Runs in O(log n) time.
      *
      * @param experience The experience to retrieve the level for.
      * @return The level for the experience.
@@ -72,31 +85,20 @@ public final class SkillSet implements Iterable<Skill> {
         checkArgument(experience >= 0 && experience <= MAXIMUM_EXPERIENCE,
             "experience < 0 || experience > MAXIMUM_EXPERIENCE");
 
-        if (experience == 0) {
-            return 1;
-        }
-
-        for (int index = 99; index > 0; index--) {
-            if (EXPERIENCE_TABLE.get(index) > experience) {
-                continue;
-            }
-            return index;
-        }
-        throw new IllegalStateException("unable to compute level for experience amount, " + experience);
+        int index = Arrays.binarySearch(EXPERIENCE_TABLE, 1, EXPERIENCE_TABLE.length, experience);
+        return index >= 0 ? index : -index - 2;
     }
 
     /**
      * Computes the values for the experience table.
      */
     static {
-        int[] experienceTable = new int[100];
         int points = 0, output = 0;
         for (int lvl = 1; lvl <= 99; lvl++) {
-            experienceTable[lvl] = output;
+            EXPERIENCE_TABLE[lvl] = output;
             points += Math.floor(lvl + 300.0 * Math.pow(2.0, lvl / 7.0));
             output = (int) Math.floor(points / 4);
         }
-        EXPERIENCE_TABLE = ImmutableList.copyOf(Ints.asList(experienceTable));
     }
 
     /**
@@ -120,6 +122,26 @@ public final class SkillSet implements Iterable<Skill> {
      */
     private boolean firingEvents = true;
 
+    /**
+     * A bitmask of the skills that changed since the last flush, indexed by skill identifier.
+     */
+    private int changed;
+
+    /**
+     * The experience of each changed skill before its first change since the last flush.
+     */
+    private final double[] oldExperience = new double[size()];
+
+    /**
+     * The static level of each changed skill before its first change since the last flush.
+     */
+    private final int[] oldStaticLevels = new int[size()];
+
+    /**
+     * The level of each changed skill before its first change since the last flush.
+     */
+    private final int[] oldLevels = new int[size()];
+
     /**
      * Creates a new {@link SkillSet}.
      *
@@ -148,6 +170,80 @@ public final class SkillSet implements Iterable<Skill> {
         combatLevel = -1;
     }
 
+    /**
+     * Posts a {@link SkillChangeEvent} for every skill that changed since the last flush, with the values the skill had
+     * before its first change. Events are posted again for skills that plugins change while handling them. If this is the
+     * skill set of a {@link Player}, every changed skill is then sent to the client once. This should be called once per
+     * tick on the game thread.
+     */
+    public void flush() {
+        int flushed = 0;
+        for (int pass = 0; pass < MAX_FLUSH_PASSES && changed != 0; pass++) {
+            int flushing = changed;
+            changed = 0;
+            flushed |= flushing;
+            postEvents(flushing);
+        }
+
+        if (mob.type() == EntityType.PLAYER) {
+            Player player = (Player) mob;
+            for (int id = 0; flushed >>> id != 0; id++) {
+                if ((flushed & (1 << id)) != 0) {
+                    player.queue(new SkillUpdateMessageWriter(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Posts a {@link SkillChangeEvent} for every skill within {@code flushing}.
+     *
+     * @param flushing The bitmask of the skills to post events for.
+     */
+    private void postEvents(int flushing) {
+
+        // Events are created up front, as plugins may change skills again while handling them.
+        SkillChangeEvent[] events = new SkillChangeEvent[Integer.bitCount(flushing)];
+        int count = 0;
+        for (int id = 0; flushing >>> id != 0; id++) {
+            if ((flushing & (1 << id)) != 0) {
+                events[count++] = new SkillChangeEvent(mob, oldExperience[id], oldStaticLevels[id], oldLevels[id], id);
+            }
+        }
+
+        PluginManager plugins = mob.getPlugins();
+        for (SkillChangeEvent evt : events) {
+            if (mob.type() == EntityType.PLAYER) {
+                plugins.post(evt, (Player) mob);
+            } else {
+                plugins.post(evt);
+            }
+        }
+    }
+
+    /**
+     * Marks the skill with {@code id} as changed. The old values are only recorded for the first change since the last
+     * flush, but the cached combat level is reset right away if the static level of a combat skill changed.
+     *
+     * @param id The identifier of the skill.
+     * @param experience The experience before the change.
+     * @param staticLevel The static level before the change.
+     * @param level The level before the change.
+     */
+    void markChanged(int id, double experience, int staticLevel, int level) {
+        if (Skill.isCombatSkill(id) && skills[id].getStaticLevel() != staticLevel) {
+            combatLevel = -1;
+        }
+
+        int bit = 1 << id;
+        if ((changed & bit) == 0) {
+            changed |= bit;
+            oldExperience[id] = experience;
+            oldStaticLevels[id] = staticLevel;
+            oldLevels[id] = level;
+        }
+    }
+
     /**
      * Retrieve the {@link Skill} instance that corresponds to {@code id}.
      *
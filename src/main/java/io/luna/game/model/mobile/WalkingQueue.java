@@ -2,19 +2,22 @@ package io.luna.game.model.mobile;
 
 import io.luna.game.model.Direction;
 import io.luna.game.model.EntityType;
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.Position;
 import io.luna.game.model.WorldSynchronizer;
+import io.luna.game.model.path.Path;
+import io.luna.game.model.region.ClippingMap;
 import io.luna.net.msg.out.StateMessageWriter;
+import io.luna.util.IntDeque;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Objects;
-import java.util.Queue;
 
 import static com.google.common.base.Preconditions.checkState;
 
 /**
- * An implementation of the walking queue, assigned to all {@link MobileEntity}s.
+ * An implementation of the walking queue, assigned to all {@link MobileEntity}s. Steps are held as {@link PackedPosition}s
+ * with a {@code Z} of {@code 0} in primitive ring buffers, and the mob is moved by its packed position, so queueing and
+ * taking steps does not allocate.
  *
  * @author lare96 <http://github.org/lare96>
  * @author Graham
@@ -104,14 +107,48 @@ public final class WalkingQueue {
     private static final double RESTORE_PER_TICK = 0.096;
 
     /**
-     * A {@link Deque} of the current {@link Step}s.
+     * The lowest weight within {@code DRAIN_TABLE}. Lighter players drain run energy at the same rate.
      */
-    private final Deque<Step> steps = new ArrayDeque<>();
+    private static final int MIN_WEIGHT = -64;
 
     /**
-     * A {@link Deque} of the previous {@link Step}s.
+     * The highest weight within {@code DRAIN_TABLE}. Heavier players drain run energy at the same rate.
      */
-    private final Deque<Step> previousSteps = new ArrayDeque<>();
+    private static final int MAX_WEIGHT = 512;
+
+    /**
+     * The run energy drained per tile, indexed by whole weight minus {@code MIN_WEIGHT}.
+     */
+    private static final double[] DRAIN_TABLE = new double[MAX_WEIGHT - MIN_WEIGHT + 1];
+
+    /**
+     * The run energy restored per tick, indexed by agility level.
+     */
+    private static final double[] RESTORE_TABLE = new double[256];
+
+    /**
+     * Computes the values for the drain and restore tables.
+     */
+    static {
+        for (int weight = MIN_WEIGHT; weight <= MAX_WEIGHT; weight++) {
+            DRAIN_TABLE[weight - MIN_WEIGHT] = DRAIN_PER_TILE * 2 * Math
+                .pow(Math.E, 0.0027725887222397812376689284858327062723020005374410 * weight);
+        }
+        for (int level = 0; level < RESTORE_TABLE.length; level++) {
+            RESTORE_TABLE[level] = RESTORE_PER_TICK * Math
+                .pow(Math.E, 0.0162569486104454583293005993255170468638949631744294 * level);
+        }
+    }
+
+    /**
+     * The current steps, packed.
+     */
+    private final IntDeque steps = new IntDeque();
+
+    /**
+     * The previous steps, packed.
+     */
+    private final IntDeque previousSteps = new IntDeque();
 
     /**
      * The {@link MobileEntity} assigned to this walking queue.
@@ -128,6 +165,17 @@ public final class WalkingQueue {
      */
     private boolean runningPath;
 
+    /**
+     * If the current path reached a step that cannot be walked onto. Further steps are ignored until a new path is
+     * started.
+     */
+    private boolean blocked;
+
+    /**
+     * A counter incremented whenever the current path is replaced or cleared.
+     */
+    private int pathVersion;
+
     /**
      * Create a new {@link WalkingQueue}.
      *
@@ -142,31 +190,36 @@ public final class WalkingQueue {
      * well as your new position after taking one step (or two steps, if running).
      */
     public void process() {
-        Step current = new Step(mob.getPosition());
+        int position = mob.getPackedPosition();
+        int currentX = PackedPosition.getX(position);
+        int currentY = PackedPosition.getY(position);
 
         Direction walkingDirection = Direction.NONE;
         Direction runningDirection = Direction.NONE;
 
-        boolean restoreEnergy = true;
+        boolean player = mob.type() == EntityType.PLAYER;
+        boolean restoreEnergy = player;
 
         if (running) {
             runningPath = true;
         }
 
-        Step next = steps.poll();
-        if (next != null) {
-            previousSteps.add(next);
-            walkingDirection = Direction.between(current, next);
-            current = next;
+        if (!steps.isEmpty()) {
+            int next = steps.pollFirst();
+            previousSteps.addLast(next);
+            walkingDirection = Direction.between(currentX, currentY, PackedPosition.getX(next), PackedPosition.getY(next));
+            currentX = PackedPosition.getX(next);
+            currentY = PackedPosition.getY(next);
 
             if (runningPath) {
-                next = decrementRunEnergy() ? steps.poll() : null;
-
-                if (next != null) {
+                if (player && decrementRunEnergy() && !steps.isEmpty()) {
+                    next = steps.pollFirst();
                     restoreEnergy = false;
-                    previousSteps.add(next);
-                    runningDirection = Direction.between(current, next);
-                    current = next;
+                    previousSteps.addLast(next);
+                    runningDirection = Direction.between(currentX, currentY, PackedPosition.getX(next),
+                        PackedPosition.getY(next));
+                    currentX = PackedPosition.getX(next);
+                    currentY = PackedPosition.getY(next);
                 } else {
                     runningPath = false;
                 }
@@ -180,8 +233,9 @@ public final class WalkingQueue {
         mob.setWalkingDirection(walkingDirection);
         mob.setRunningDirection(runningDirection);
 
-        Position newPosition = new Position(current.getX(), current.getY(), mob.getPosition().getZ());
-        mob.setPosition(newPosition);
+        if (walkingDirection != Direction.NONE) {
+            mob.setPackedPosition(PackedPosition.pack(currentX, currentY, PackedPosition.getZ(position)));
+        }
     }
 
     /**
@@ -190,23 +244,35 @@ public final class WalkingQueue {
      * @param step The {@code Step} to add.
      */
     public void addFirst(Step step) {
+        addFirst(step.getX(), step.getY());
+    }
+
+    /**
+     * Adds a first step to this walking queue. If the step was recently walked over, the path is backtracked to it instead.
+     *
+     * @param x The {@code x} coordinate of the step.
+     * @param y The {@code y} coordinate of the step.
+     */
+    public void addFirst(int x, int y) {
         steps.clear();
         runningPath = false;
-
-        Queue<Step> backtrack = new ArrayDeque<>();
-        while (!previousSteps.isEmpty()) {
-            Step prev = previousSteps.pollLast();
-            backtrack.add(prev);
-
-            if (prev.equals(step)) {
-                backtrack.forEach(this::add);
+        blocked = false;
+        pathVersion++;
+
+        int step = PackedPosition.pack(x, y, 0);
+        for (int index = previousSteps.size() - 1; index >= 0; index--) {
+            if (previousSteps.get(index) == step) {
+                for (int backtrack = previousSteps.size() - 1; backtrack >= index; backtrack--) {
+                    int prev = previousSteps.get(backtrack);
+                    add(PackedPosition.getX(prev), PackedPosition.getY(prev));
+                }
                 previousSteps.clear();
                 return;
             }
         }
         previousSteps.clear();
 
-        add(step);
+        add(x, y);
     }
 
     /**
@@ -215,46 +281,84 @@ public final class WalkingQueue {
      * @param next The next {@code Step} to add.
      */
     public void add(Step next) {
-        Step last = steps.peekLast();
-        if (last == null) {
-            last = new Step(mob.getPosition());
-        }
-
-        int nextX = next.getX();
-        int nextY = next.getY();
-        int deltaX = nextX - last.getX();
-        int deltaY = nextY - last.getY();
+        add(next.getX(), next.getY());
+    }
 
-        int max = Math.max(Math.abs(deltaX), Math.abs(deltaY));
+    /**
+     * Adds a step that isn't the first step to this walking queue, filling in every tile in between. The path is cut
+     * short at the first tile that the {@link ClippingMap} does not allow to be walked onto.
+     *
+     * @param nextX The {@code x} coordinate of the step.
+     * @param nextY The {@code y} coordinate of the step.
+     */
+    public void add(int nextX, int nextY) {
+        if (blocked) {
+            return;
+        }
 
-        for (int count = 0; count < max; count++) {
-            if (deltaX < 0) {
-                deltaX++;
-            } else if (deltaX > 0) {
-                deltaX--;
-            }
+        int position = mob.getPackedPosition();
+        int lastX;
+        int lastY;
+        if (steps.isEmpty()) {
+            lastX = PackedPosition.getX(position);
+            lastY = PackedPosition.getY(position);
+        } else {
+            int last = steps.peekLast();
+            lastX = PackedPosition.getX(last);
+            lastY = PackedPosition.getY(last);
+        }
 
-            if (deltaY < 0) {
-                deltaY++;
-            } else if (deltaY > 0) {
-                deltaY--;
+        ClippingMap clipping = mob.getWorld().getClipping();
+        int z = PackedPosition.getZ(position);
+        while (lastX != nextX || lastY != nextY) {
+            int stepX = lastX + Integer.signum(nextX - lastX);
+            int stepY = lastY + Integer.signum(nextY - lastY);
+            if (!clipping.isTraversable(lastX, lastY, z, Direction.between(lastX, lastY, stepX, stepY))) {
+                blocked = true;
+                return;
             }
-            steps.add(new Step(nextX - deltaX, nextY - deltaY));
+            steps.addLast(PackedPosition.pack(stepX, stepY, 0));
+            lastX = stepX;
+            lastY = stepY;
         }
     }
 
     /**
-     * Clears the backing {@link Deque}s in this walking queue, effectively stopping the movement of the assigned {@link
+     * Clears the backing buffers in this walking queue, effectively stopping the movement of the assigned {@link
      * MobileEntity}.
      */
     public void clear() {
         steps.clear();
         previousSteps.clear();
+        blocked = false;
+        pathVersion++;
+    }
+
+    /**
+     * Replaces the current path with {@code path}.
+     *
+     * @param path The {@link Path} to walk.
+     */
+    public void addPath(Path path) {
+        clear();
+        runningPath = false;
+
+        for (int index = 0; index < path.size(); index++) {
+            add(path.getX(index), path.getY(index));
+        }
+    }
+
+    /**
+     * @return A counter incremented whenever the current path is replaced or cleared, used to discard paths that were
+     * found for an outdated request.
+     */
+    public int getPathVersion() {
+        return pathVersion;
     }
 
     /**
      * Implements an algorithm that will deplete run energy. Will return {@code false} if no run energy is available to
-     * deplete, and {@code true} otherwise.
+     * deplete, and {@code true} otherwise. Only called for {@link Player}s.
      */
     private boolean decrementRunEnergy() {
         Player player = (Player) mob;
@@ -263,13 +367,12 @@ public final class WalkingQueue {
         if (runEnergy <= 0) {
             running = false;
             runningPath = false;
-            player.queue(new StateMessageWriter(173, 0));
+            player.queue(StateMessageWriter.pooled(173, 0));
             return false;
         }
 
-        double totalWeight = player.getWeight();
-        double energyReduction = DRAIN_PER_TILE * 2 * Math
-            .pow(Math.E, 0.0027725887222397812376689284858327062723020005374410 * totalWeight);
+        int totalWeight = Math.max(MIN_WEIGHT, Math.min(MAX_WEIGHT, (int) player.getWeight()));
+        double energyReduction = DRAIN_TABLE[totalWeight - MIN_WEIGHT];
         double newValue = runEnergy - energyReduction;
         newValue = newValue < 0.0 ? 0.0 : newValue;
 
@@ -278,8 +381,7 @@ public final class WalkingQueue {
     }
 
     /**
-     * Implements an algorithm that will restore run energy. Will return {@code false} if no run energy is available to
-     * deplete, and {@code true} otherwise.
+     * Implements an algorithm that will restore run energy. Only called for {@link Player}s.
      */
     private void incrementRunEnergy() {
         Player player = (Player) mob;
@@ -289,9 +391,8 @@ public final class WalkingQueue {
             return;
         }
 
-        double agilityLevel = player.skill(Skill.AGILITY).getLevel();
-        double energyRestoration = RESTORE_PER_TICK * Math
-            .pow(Math.E, 0.0162569486104454583293005993255170468638949631744294 * agilityLevel);
+        int agilityLevel = Math.min(player.skill(Skill.AGILITY).getLevel(), RESTORE_TABLE.length - 1);
+        double energyRestoration = RESTORE_TABLE[agilityLevel];
         double newValue = runEnergy + energyRestoration;
         newValue = newValue > 100.0 ? 100.0 : newValue;
 
@@ -299,7 +400,7 @@ public final class WalkingQueue {
     }
 
     /**
-     * @return The amount of {@link Step}s remaining in this walking queue.
+     * @return The amount of steps remaining in this walking queue.
      */
     public int remaining() {
         return steps.size();
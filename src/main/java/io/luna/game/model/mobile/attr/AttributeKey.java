@@ -3,7 +3,10 @@ package io.luna.game.model.mobile.attr;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.MoreObjects;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -14,6 +17,10 @@ import static com.google.common.base.Preconditions.checkState;
  * keys are forcibly interned and aliased on startup into an {@link IdentityHashMap} to be easily accessible as well as high
  * performing.
  * <p>
+ * Every alias is assigned a dense slot within the storage of its type when it is created, so {@link AttributeMap}s can
+ * store {@code double}, {@code long} and {@code int} values in primitive arrays without boxing them. All other types are
+ * stored as objects.
+ * <p>
  * The naming convention for all {@code String} keys is {@code lower_underscore}. Spaces and uppercase letters are not
  * allowed. For simplicity, attributes can only be represented as primitives or the String type.
  *
@@ -26,17 +33,73 @@ public final class AttributeKey<T> {
      * An {@link IdentityHashMap} of {@link String} keys mapped to their {@code AttributeKey} aliases. All {@code String}s
      * added to this map are forcibly interned so we can compare them by their identity for faster performance.
      */
-    public static final Map<String, AttributeKey> ALIASES = new IdentityHashMap<>();
+    public static final Map<String, AttributeKey<?>> ALIASES = new IdentityHashMap<>();
+
+    /**
+     * The amount of slots assigned within each {@link Storage} type, indexed by ordinal.
+     */
+    private static final int[] SLOT_COUNTS = new int[Storage.values().length];
+
+    /**
+     * Every alias created, indexed by identifier. Unlike {@code ALIASES}, aliases are never removed from this list.
+     */
+    private static final List<AttributeKey<?>> KEYS = new ArrayList<>();
+
+    /**
+     * The "run_energy" alias.
+     */
+    public static final AttributeKey<Double> RUN_ENERGY = forPersistent("run_energy", 100.0);
+
+    /**
+     * The "first_login" alias.
+     */
+    public static final AttributeKey<Boolean> FIRST_LOGIN = forPersistent("first_login", true);
+
+    /**
+     * The "unban_date" alias.
+     */
+    public static final AttributeKey<String> UNBAN_DATE = forPersistent("unban_date", "n/a");
 
-    static {
-        forPersistent("run_energy", 100.0);
-        forPersistent("first_login", true);
-        forPersistent("unban_date", "n/a");
-        forPersistent("unmute_date", "n/a");
+    /**
+     * The "unmute_date" alias.
+     */
+    public static final AttributeKey<String> UNMUTE_DATE = forPersistent("unmute_date", "n/a");
+
+    /**
+     * The "last_bone_bury" alias.
+     */
+    public static final AttributeKey<Long> LAST_BONE_BURY = forTransient("last_bone_bury", 0L);
+
+    /**
+     * The "withdraw_as_note" alias.
+     */
+    public static final AttributeKey<Boolean> WITHDRAW_AS_NOTE = forTransient("withdraw_as_note", false);
 
-        forTransient("last_bone_bury", 0L);
-        forTransient("withdraw_as_note", false);
-        forTransient("weight", 0.0);
+    /**
+     * An enumerated type whose elements represent the ways attribute values can be stored.
+     */
+    enum Storage {
+        DOUBLE,
+        LONG,
+        INT,
+        OBJECT;
+
+        /**
+         * Retrieves the storage for values of the same type as {@code value}.
+         *
+         * @param value The value.
+         * @return The storage type.
+         */
+        static Storage forValue(Object value) {
+            if (value instanceof Double) {
+                return DOUBLE;
+            } else if (value instanceof Long) {
+                return LONG;
+            } else if (value instanceof Integer) {
+                return INT;
+            }
+            return OBJECT;
+        }
     }
 
     /**
@@ -45,9 +108,12 @@ public final class AttributeKey<T> {
      *
      * @param name The name of this key.
      * @param initialValue The initial value of this key.
+     * @return The new alias.
      */
-    public static <T> void forPersistent(String name, T initialValue) {
-        ALIASES.put(name, new AttributeKey<>(name, initialValue, true));
+    public static <T> AttributeKey<T> forPersistent(String name, T initialValue) {
+        AttributeKey<T> alias = new AttributeKey<>(name, initialValue, true);
+        ALIASES.put(alias.name, alias);
+        return alias;
     }
 
     /**
@@ -55,9 +121,29 @@ public final class AttributeKey<T> {
      *
      * @param name The name of this key.
      * @param initialValue The initial value of this key.
+     * @return The new alias.
+     */
+    public static <T> AttributeKey<T> forTransient(String name, T initialValue) {
+        AttributeKey<T> alias = new AttributeKey<>(name, initialValue, false);
+        ALIASES.put(alias.name, alias);
+        return alias;
+    }
+
+    /**
+     * Returns the amount of slots assigned within {@code storage}.
+     *
+     * @param storage The storage type.
+     * @return The amount of slots.
      */
-    public static <T> void forTransient(String name, T initialValue) {
-        ALIASES.put(name, new AttributeKey<>(name, initialValue, false));
+    static int slotCount(Storage storage) {
+        return SLOT_COUNTS[storage.ordinal()];
+    }
+
+    /**
+     * @return Every alias created, indexed by identifier.
+     */
+    static List<AttributeKey<?>> keys() {
+        return Collections.unmodifiableList(KEYS);
     }
 
     /**
@@ -80,6 +166,26 @@ public final class AttributeKey<T> {
      */
     private final String typeName;
 
+    /**
+     * The class of this attribute type.
+     */
+    private final Class<?> type;
+
+    /**
+     * The way values of this alias are stored.
+     */
+    private final Storage storage;
+
+    /**
+     * The slot of this alias within its storage.
+     */
+    private final int slot;
+
+    /**
+     * The unique identifier of this alias.
+     */
+    private final int id;
+
     /**
      * Creates a new {@link AttributeKey}.
      *
@@ -101,7 +207,12 @@ public final class AttributeKey<T> {
         this.name = name.intern();
         this.initialValue = initialValue;
         this.isPersistent = isPersistent;
-        typeName = initialValue.getClass().getName();
+        type = initialValue.getClass();
+        typeName = type.getName();
+        storage = Storage.forValue(initialValue);
+        slot = SLOT_COUNTS[storage.ordinal()]++;
+        id = KEYS.size();
+        KEYS.add(this);
     }
 
     @Override
@@ -139,4 +250,32 @@ public final class AttributeKey<T> {
     public String getTypeName() {
         return typeName;
     }
+
+    /**
+     * @return The class of this attribute type.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return The way values of this alias are stored.
+     */
+    Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * @return The slot of this alias within its storage.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @return The unique identifier of this alias.
+     */
+    int getId() {
+        return id;
+    }
 }
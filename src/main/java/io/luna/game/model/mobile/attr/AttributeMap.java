@@ -1,10 +1,11 @@
 package io.luna.game.model.mobile.attr;
 
 import com.google.common.collect.Iterators;
+import io.luna.game.model.mobile.attr.AttributeKey.Storage;
 
-import java.util.IdentityHashMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
@@ -12,17 +13,41 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 /**
- * A wrapper for a {@link Map} that contains a function to retrieve an {@link AttributeValue} by its {@code String} key. The
- * retrieval of attributes is very high performing because it utilizes string interning and its own method of caching.
+ * A collection of attribute values, stored within arrays indexed by the slots of their {@link AttributeKey}s. Values of
+ * {@code double}, {@code long} and {@code int} attributes are kept in primitive arrays, and can be accessed without boxing
+ * through the typed functions of this class.
+ * <p>
+ * Attributes can also be retrieved as an {@link AttributeValue} by their {@code String} key. The retrieval of attributes
+ * this way is very high performing because it utilizes string interning and its own method of caching.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class AttributeMap implements Iterable<Entry<String, AttributeValue<?>>> {
 
     /**
-     * An {@link IdentityHashMap} that holds our {@link AttributeKey} and {@link AttributeValue} pair.
+     * The values of {@code double} attributes.
      */
-    private final Map<String, AttributeValue<?>> attributes = new IdentityHashMap<>(AttributeKey.ALIASES.size());
+    private double[] doubles = new double[0];
+
+    /**
+     * The values of {@code long} attributes.
+     */
+    private long[] longs = new long[0];
+
+    /**
+     * The values of {@code int} attributes.
+     */
+    private int[] ints = new int[0];
+
+    /**
+     * The values of all other attributes.
+     */
+    private Object[] objects = new Object[0];
+
+    /**
+     * The {@link AttributeValue}s created for this map, indexed by the identifiers of their keys.
+     */
+    private AttributeValue<?>[] values = new AttributeValue<?>[0];
 
     /**
      * The last retrieved key.
@@ -32,7 +57,16 @@ public final class AttributeMap implements Iterable<Entry<String, AttributeValue
     /**
      * The last retrieved value.
      */
-    private AttributeValue lastValue;
+    private AttributeValue<?> lastValue;
+
+    /**
+     * Creates a new {@link AttributeMap}.
+     */
+    public AttributeMap() {
+        for (Storage storage : Storage.values()) {
+            grow(storage);
+        }
+    }
 
     /**
      * Retrieves an {@link AttributeValue} by its {@code key}. Unfortunately this function is not type safe, so it may throw
@@ -46,26 +80,253 @@ public final class AttributeMap implements Iterable<Entry<String, AttributeValue
 
         //noinspection StringEquality
         if (lastKey == requireNonNull(key)) {
-            return lastValue;
+            return (AttributeValue<T>) lastValue;
         }
 
-        AttributeKey<?> alias = Optional.ofNullable(AttributeKey.ALIASES.get(key)).
+        AttributeKey<?> alias = Optional.<AttributeKey<?>>ofNullable(AttributeKey.ALIASES.get(key)).
             orElse(AttributeKey.ALIASES.get(key.intern()));
 
         checkState(alias != null, "attributes need to be aliased in the AttributeKey class");
 
-        try {
-            lastKey = alias.getName();
-            lastValue = attributes.computeIfAbsent(alias.getName(), it -> new AttributeValue<>(alias.getInitialValue()));
+        lastKey = alias.getName();
+        lastValue = value(alias);
+        return (AttributeValue<T>) lastValue;
+    }
 
-            return lastValue;
-        } catch (ClassCastException e) {
-            throw new AttributeTypeException(alias);
-        }
+    /**
+     * Retrieves the value of a {@code double} attribute.
+     *
+     * @param key The key of the attribute.
+     * @return The value.
+     */
+    public double getDouble(AttributeKey<Double> key) {
+        int slot = slot(key, Storage.DOUBLE);
+        return doubles[slot];
+    }
+
+    /**
+     * Sets the value of a {@code double} attribute.
+     *
+     * @param key The key of the attribute.
+     * @param value The new value.
+     */
+    public void setDouble(AttributeKey<Double> key, double value) {
+        int slot = slot(key, Storage.DOUBLE);
+        doubles[slot] = value;
+    }
+
+    /**
+     * Retrieves the value of a {@code long} attribute.
+     *
+     * @param key The key of the attribute.
+     * @return The value.
+     */
+    public long getLong(AttributeKey<Long> key) {
+        int slot = slot(key, Storage.LONG);
+        return longs[slot];
+    }
+
+    /**
+     * Sets the value of a {@code long} attribute.
+     *
+     * @param key The key of the attribute.
+     * @param value The new value.
+     */
+    public void setLong(AttributeKey<Long> key, long value) {
+        int slot = slot(key, Storage.LONG);
+        longs[slot] = value;
+    }
+
+    /**
+     * Retrieves the value of an {@code int} attribute.
+     *
+     * @param key The key of the attribute.
+     * @return The value.
+     */
+    public int getInt(AttributeKey<Integer> key) {
+        int slot = slot(key, Storage.INT);
+        return ints[slot];
+    }
+
+    /**
+     * Sets the value of an {@code int} attribute.
+     *
+     * @param key The key of the attribute.
+     * @param value The new value.
+     */
+    public void setInt(AttributeKey<Integer> key, int value) {
+        int slot = slot(key, Storage.INT);
+        ints[slot] = value;
+    }
+
+    /**
+     * Retrieves the value of an attribute that is not a {@code double}, {@code long} or {@code int}.
+     *
+     * @param key The key of the attribute.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getObject(AttributeKey<T> key) {
+        int slot = slot(key, Storage.OBJECT);
+        return (T) objects[slot];
+    }
+
+    /**
+     * Sets the value of an attribute that is not a {@code double}, {@code long} or {@code int}.
+     *
+     * @param key The key of the attribute.
+     * @param value The new value.
+     */
+    public <T> void setObject(AttributeKey<T> key, T value) {
+        int slot = slot(key, Storage.OBJECT);
+        objects[slot] = value;
     }
 
     @Override
     public Iterator<Entry<String, AttributeValue<?>>> iterator() {
-        return Iterators.unmodifiableIterator(attributes.entrySet().iterator());
+        Iterator<AttributeKey<?>> aliases = AttributeKey.ALIASES.values().iterator();
+        return Iterators.transform(aliases, it -> new SimpleImmutableEntry<>(it.getName(), value(it)));
+    }
+
+    /**
+     * Retrieves the value of an attribute, boxing it if needed.
+     *
+     * @param key The key of the attribute.
+     * @return The boxed value.
+     */
+    Object getBoxed(AttributeKey<?> key) {
+        int slot = slot(key, key.getStorage());
+        switch (key.getStorage()) {
+        case DOUBLE:
+            return doubles[slot];
+        case LONG:
+            return longs[slot];
+        case INT:
+            return ints[slot];
+        default:
+            return objects[slot];
+        }
+    }
+
+    /**
+     * Sets the value of an attribute, unboxing it if needed. Will throw an {@link AttributeTypeException} if {@code value}
+     * is not of the type of the attribute.
+     *
+     * @param key The key of the attribute.
+     * @param value The new boxed value.
+     */
+    void setBoxed(AttributeKey<?> key, Object value) {
+        Storage storage = key.getStorage();
+        if (storage == Storage.OBJECT ? value != null && !key.getType().isInstance(value) :
+            Storage.forValue(value) != storage) {
+            throw new AttributeTypeException(key);
+        }
+
+        int slot = slot(key, storage);
+        switch (storage) {
+        case DOUBLE:
+            doubles[slot] = (Double) value;
+            break;
+        case LONG:
+            longs[slot] = (Long) value;
+            break;
+        case INT:
+            ints[slot] = (Integer) value;
+            break;
+        default:
+            objects[slot] = value;
+            break;
+        }
+    }
+
+    /**
+     * Retrieves the {@link AttributeValue} for {@code key}, creating it if this is the first time it's been retrieved.
+     *
+     * @param key The key of the attribute.
+     * @return The {@code AttributeValue}.
+     */
+    private AttributeValue<?> value(AttributeKey<?> key) {
+        int id = key.getId();
+        if (id >= values.length) {
+            values = Arrays.copyOf(values, AttributeKey.keys().size());
+        }
+
+        AttributeValue<?> value = values[id];
+        if (value == null) {
+            value = new AttributeValue<>(this, key);
+            values[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the slot of {@code key}, growing its storage if the key was aliased after this map was created. Will throw
+     * an {@link AttributeTypeException} if the key is not stored within {@code storage}. As the storage may be replaced,
+     * the slot must be retrieved before the array is read.
+     *
+     * @param key The key of the attribute.
+     * @param storage The expected storage type.
+     * @return The slot.
+     */
+    private int slot(AttributeKey<?> key, Storage storage) {
+        if (key.getStorage() != storage) {
+            throw new AttributeTypeException(key);
+        }
+
+        int slot = key.getSlot();
+        if (slot >= length(storage)) {
+            grow(storage);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the length of the array backing {@code storage}.
+     *
+     * @param storage The storage type.
+     * @return The length.
+     */
+    private int length(Storage storage) {
+        switch (storage) {
+        case DOUBLE:
+            return doubles.length;
+        case LONG:
+            return longs.length;
+        case INT:
+            return ints.length;
+        default:
+            return objects.length;
+        }
+    }
+
+    /**
+     * Grows the array backing {@code storage} to fit every slot assigned so far, and sets the new slots to the initial
+     * values of their aliases.
+     *
+     * @param storage The storage type.
+     */
+    private void grow(Storage storage) {
+        int oldLength = length(storage);
+        int newLength = AttributeKey.slotCount(storage);
+        switch (storage) {
+        case DOUBLE:
+            doubles = Arrays.copyOf(doubles, newLength);
+            break;
+        case LONG:
+            longs = Arrays.copyOf(longs, newLength);
+            break;
+        case INT:
+            ints = Arrays.copyOf(ints, newLength);
+            break;
+        default:
+            objects = Arrays.copyOf(objects, newLength);
+            break;
+        }
+
+        for (AttributeKey<?> alias : AttributeKey.keys()) {
+            if (alias.getStorage() == storage && alias.getSlot() >= oldLength) {
+                setBoxed(alias, alias.getInitialValue());
+            }
+        }
     }
 }
@@ -3,7 +3,8 @@ package io.luna.game.model.mobile.attr;
 import java.util.Objects;
 
 /**
- * A wrapper that contains simple functions to retrieve and modify the value mapped with an {@link AttributeKey}.
+ * A wrapper that contains simple functions to retrieve and modify the value mapped with an {@link AttributeKey}. Values
+ * are read from and written to the backing {@link AttributeMap}, boxing and unboxing primitives as needed.
  *
  * @param <T> The {@link Object} type represented by this value.
  * @author lare96 <http://github.org/lare96>
@@ -11,17 +12,24 @@ import java.util.Objects;
 public final class AttributeValue<T> {
 
     /**
-     * The value within this wrapper.
+     * The map that holds the value.
      */
-    private T value;
+    private final AttributeMap map;
+
+    /**
+     * The key of the value.
+     */
+    private final AttributeKey<?> key;
 
     /**
      * Creates a new {@link AttributeValue}.
      *
-     * @param value The value within this wrapper.
+     * @param map The map that holds the value.
+     * @param key The key of the value.
      */
-    public AttributeValue(T value) {
-        this.value = value;
+    AttributeValue(AttributeMap map, AttributeKey<?> key) {
+        this.map = map;
+        this.key = key;
     }
 
     @Override
@@ -31,27 +39,29 @@ public final class AttributeValue<T> {
         }
         if (obj instanceof AttributeValue<?>) {
             AttributeValue<?> other = (AttributeValue<?>) obj;
-            return Objects.equals(value, other.value);
+            return Objects.equals(get(), other.get());
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Objects.hash(get());
     }
 
     /**
      * @return The value within this wrapper.
      */
+    @SuppressWarnings("unchecked")
     public T get() {
-        return value;
+        return (T) map.getBoxed(key);
     }
 
     /**
-     * Sets the value for {@link #value}.
+     * Sets the value within this wrapper. Will throw an {@link AttributeTypeException} if {@code value} is not of the type
+     * of the attribute.
      */
     public void set(T value) {
-        this.value = value;
+        map.setBoxed(key, value);
     }
 }
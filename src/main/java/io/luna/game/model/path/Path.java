@@ -0,0 +1,93 @@
+package io.luna.game.model.path;
+
+import io.luna.game.model.PackedPosition;
+import io.luna.game.model.Position;
+
+/**
+ * An immutable sequence of steps found by a {@link PathFinder}. Every step is adjacent to the one before it, and the
+ * position the path was found from is not included.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class Path {
+
+    /**
+     * The steps, as {@link PackedPosition}s.
+     */
+    private final int[] steps;
+
+    /**
+     * If the last step is the target that was searched for.
+     */
+    private final boolean complete;
+
+    /**
+     * Creates a new {@link Path}.
+     *
+     * @param steps The steps, as {@link PackedPosition}s.
+     * @param complete If the last step is the target that was searched for.
+     */
+    Path(int[] steps, boolean complete) {
+        this.steps = steps;
+        this.complete = complete;
+    }
+
+    /**
+     * Returns the {@code x} coordinate of a step.
+     *
+     * @param index The index of the step.
+     * @return The {@code x} coordinate.
+     */
+    public int getX(int index) {
+        return PackedPosition.getX(steps[index]);
+    }
+
+    /**
+     * Returns the {@code y} coordinate of a step.
+     *
+     * @param index The index of the step.
+     * @return The {@code y} coordinate.
+     */
+    public int getY(int index) {
+        return PackedPosition.getY(steps[index]);
+    }
+
+    /**
+     * Returns a step as a {@link Position}.
+     *
+     * @param index The index of the step.
+     * @return The step.
+     */
+    public Position getStep(int index) {
+        return Position.unpack(steps[index]);
+    }
+
+    /**
+     * @return The last step, or {@code null} if this path has no steps.
+     */
+    public Position getDestination() {
+        return steps.length == 0 ? null : getStep(steps.length - 1);
+    }
+
+    /**
+     * @return The amount of steps.
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    /**
+     * @return {@code true} if this path has no steps.
+     */
+    public boolean isEmpty() {
+        return steps.length == 0;
+    }
+
+    /**
+     * @return {@code true} if the last step is the target that was searched for, {@code false} if the target could not
+     * be reached and the path leads as close to it as possible instead.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
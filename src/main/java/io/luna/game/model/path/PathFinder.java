@@ -0,0 +1,282 @@
+package io.luna.game.model.path;
+
+import io.luna.game.model.Direction;
+import io.luna.game.model.PackedPosition;
+import io.luna.game.model.Position;
+import io.luna.game.model.region.ClippingMap;
+
+import java.util.Arrays;
+
+/**
+ * An A* path finder bounded to the {@code 104x104} scene around the starting position, the same area the client is able
+ * to path within. Every step, including diagonal ones, costs the same, so the Chebyshev distance to the target is used
+ * as the heuristic. When the target cannot be reached, the path leads to the reachable tile closest to it.
+ * <p>
+ * Search buffers are allocated once and reused, so a path finder must only be used by one thread at a time.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PathFinder {
+
+    /**
+     * The size of the scene along either axis.
+     */
+    public static final int SCENE_SIZE = 104;
+
+    /**
+     * The amount of tiles in the scene.
+     */
+    private static final int SCENE_TILES = SCENE_SIZE * SCENE_SIZE;
+
+    /**
+     * The distance from the edge of the scene to the starting position.
+     */
+    private static final int SCENE_OFFSET = SCENE_SIZE / 2;
+
+    /**
+     * The amount of bits a scene tile takes up within an open set entry.
+     */
+    private static final int TILE_BITS = 14;
+
+    /**
+     * The amount of bits the heuristic takes up within an open set entry.
+     */
+    private static final int HEURISTIC_BITS = 8;
+
+    /**
+     * The directions searched from every tile, in the same order as the client.
+     */
+    private static final Direction[] DIRECTIONS = { Direction.WEST, Direction.EAST, Direction.SOUTH, Direction.NORTH,
+        Direction.SOUTH_WEST, Direction.SOUTH_EAST, Direction.NORTH_WEST, Direction.NORTH_EAST };
+
+    /**
+     * The {@code x} deltas of {@code DIRECTIONS}.
+     */
+    private static final int[] DELTA_X = { -1, 1, 0, 0, -1, 1, -1, 1 };
+
+    /**
+     * The {@code y} deltas of {@code DIRECTIONS}.
+     */
+    private static final int[] DELTA_Y = { 0, 0, -1, 1, -1, -1, 1, 1 };
+
+    /**
+     * An empty path that does not reach its target.
+     */
+    private static final Path UNREACHABLE = new Path(new int[0], false);
+
+    /**
+     * The clipping map searched over.
+     */
+    private final ClippingMap clipping;
+
+    /**
+     * The open set, a binary heap of entries ordered by estimated total cost, then by heuristic. Tiles can be added more
+     * than once when a cheaper route to them is found, so the heap has room for every edge in the scene.
+     */
+    private final long[] open = new long[SCENE_TILES * DIRECTIONS.length];
+
+    /**
+     * The cost of the cheapest known route to each scene tile.
+     */
+    private final int[] costs = new int[SCENE_TILES];
+
+    /**
+     * The scene tile each scene tile was reached from.
+     */
+    private final int[] parents = new int[SCENE_TILES];
+
+    /**
+     * The search each scene tile was last reached in, so the buffers never need to be cleared.
+     */
+    private final int[] reached = new int[SCENE_TILES];
+
+    /**
+     * The search each scene tile was last expanded in.
+     */
+    private final int[] closed = new int[SCENE_TILES];
+
+    /**
+     * The current search.
+     */
+    private int search;
+
+    /**
+     * The amount of entries in the open set.
+     */
+    private int openSize;
+
+    /**
+     * Creates a new {@link PathFinder}.
+     *
+     * @param clipping The clipping map searched over.
+     */
+    public PathFinder(ClippingMap clipping) {
+        this.clipping = clipping;
+    }
+
+    /**
+     * Finds the shortest path from {@code start} to {@code target}.
+     *
+     * @param start The starting position.
+     * @param target The target position.
+     * @return The path, leading as close as possible to the target if it cannot be reached.
+     */
+    public Path find(Position start, Position target) {
+        if (start.getZ() != target.getZ()) {
+            return UNREACHABLE;
+        }
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(closed, 0);
+            search = 1;
+        }
+
+        int baseX = start.getX() - SCENE_OFFSET;
+        int baseY = start.getY() - SCENE_OFFSET;
+        int z = start.getZ();
+        int targetX = target.getX() - baseX;
+        int targetY = target.getY() - baseY;
+
+        int startIndex = SCENE_OFFSET * SCENE_SIZE + SCENE_OFFSET;
+        reached[startIndex] = search;
+        costs[startIndex] = 0;
+        openSize = 0;
+        push(startIndex, 0, heuristic(SCENE_OFFSET, SCENE_OFFSET, targetX, targetY));
+
+        int closest = startIndex;
+        int closestDistance = Integer.MAX_VALUE;
+        while (openSize > 0) {
+            int index = (int) (pop() & ((1 << TILE_BITS) - 1));
+            if (closed[index] == search) {
+                continue;
+            }
+            closed[index] = search;
+
+            int localX = index % SCENE_SIZE;
+            int localY = index / SCENE_SIZE;
+            int distance = square(targetX - localX) + square(targetY - localY);
+            if (distance < closestDistance) {
+                closest = index;
+                closestDistance = distance;
+                if (distance == 0) {
+                    break;
+                }
+            }
+
+            int nextCost = costs[index] + 1;
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                int nextX = localX + DELTA_X[direction];
+                int nextY = localY + DELTA_Y[direction];
+                if (nextX < 0 || nextY < 0 || nextX >= SCENE_SIZE || nextY >= SCENE_SIZE) {
+                    continue;
+                }
+                int next = nextY * SCENE_SIZE + nextX;
+                if (closed[next] == search || (reached[next] == search && costs[next] <= nextCost) ||
+                    !clipping.isTraversable(baseX + localX, baseY + localY, z, DIRECTIONS[direction])) {
+                    continue;
+                }
+                reached[next] = search;
+                costs[next] = nextCost;
+                parents[next] = index;
+                push(next, nextCost, heuristic(nextX, nextY, targetX, targetY));
+            }
+        }
+        return build(closest, startIndex, baseX, baseY, z, closestDistance == 0);
+    }
+
+    /**
+     * Adds a scene tile to the open set.
+     *
+     * @param index The scene tile.
+     * @param cost The cost of the route to the tile.
+     * @param heuristic The estimated remaining cost from the tile.
+     */
+    private void push(int index, int cost, int heuristic) {
+        long entry = ((long) (cost + heuristic) << (HEURISTIC_BITS + TILE_BITS)) |
+            ((long) Math.min(heuristic, (1 << HEURISTIC_BITS) - 1) << TILE_BITS) | index;
+
+        int child = openSize++;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (open[parent] <= entry) {
+                break;
+            }
+            open[child] = open[parent];
+            child = parent;
+        }
+        open[child] = entry;
+    }
+
+    /**
+     * Removes the entry with the lowest estimated total cost from the open set.
+     *
+     * @return The entry.
+     */
+    private long pop() {
+        long first = open[0];
+        long last = open[--openSize];
+
+        int parent = 0;
+        int half = openSize >>> 1;
+        while (parent < half) {
+            int child = (parent << 1) + 1;
+            if (child + 1 < openSize && open[child + 1] < open[child]) {
+                child++;
+            }
+            if (last <= open[child]) {
+                break;
+            }
+            open[parent] = open[child];
+            parent = child;
+        }
+        open[parent] = last;
+        return first;
+    }
+
+    /**
+     * Builds a path by following the parents of {@code end} back to {@code startIndex}.
+     *
+     * @param end The scene tile the path ends on.
+     * @param startIndex The scene tile the path starts from.
+     * @param baseX The {@code x} coordinate of the south-west corner of the scene.
+     * @param baseY The {@code y} coordinate of the south-west corner of the scene.
+     * @param z The {@code z} coordinate of the scene.
+     * @param complete If {@code end} is the target.
+     * @return The path.
+     */
+    private Path build(int end, int startIndex, int baseX, int baseY, int z, boolean complete) {
+        int length = 0;
+        for (int index = end; index != startIndex; index = parents[index]) {
+            length++;
+        }
+
+        int[] steps = new int[length];
+        for (int index = end, step = length - 1; index != startIndex; index = parents[index], step--) {
+            steps[step] = PackedPosition.pack(baseX + index % SCENE_SIZE, baseY + index / SCENE_SIZE, z);
+        }
+        return new Path(steps, complete);
+    }
+
+    /**
+     * Returns the Chebyshev distance between two scene tiles, the least amount of steps between them.
+     *
+     * @param x The {@code x} coordinate of the first tile.
+     * @param y The {@code y} coordinate of the first tile.
+     * @param targetX The {@code x} coordinate of the second tile.
+     * @param targetY The {@code y} coordinate of the second tile.
+     * @return The distance.
+     */
+    private static int heuristic(int x, int y, int targetX, int targetY) {
+        return Math.max(Math.abs(targetX - x), Math.abs(targetY - y));
+    }
+
+    /**
+     * Squares {@code value}.
+     *
+     * @param value The value.
+     * @return The square of the value.
+     */
+    private static int square(int value) {
+        return value * value;
+    }
+}
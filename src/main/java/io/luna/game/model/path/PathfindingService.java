@@ -0,0 +1,132 @@
+package io.luna.game.model.path;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.game.model.EntityState;
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.mobile.MobileEntity;
+import io.luna.game.model.mobile.WalkingQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Finds {@link Path}s on a pool of worker threads, so that searches never stall the game thread. Every worker has its own
+ * {@link PathFinder}, and found paths are cached by their start and target positions so that frequently travelled routes
+ * (such as between a bank and an altar) are only searched for once.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PathfindingService {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The maximum amount of cached paths.
+     */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * The {@link World} paths are found in.
+     */
+    private final World world;
+
+    /**
+     * The worker threads that paths are found on.
+     */
+    private final ListeningExecutorService workers = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), new ThreadFactoryBuilder().setNameFormat("PathfindingThread")
+            .setDaemon(true).build()));
+
+    /**
+     * The {@link PathFinder} of each thread.
+     */
+    private final ThreadLocal<PathFinder> finders;
+
+    /**
+     * The cached paths, keyed by their packed start and target positions.
+     */
+    private final Cache<Long, Path> cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).recordStats().build();
+
+    /**
+     * Creates a new {@link PathfindingService}.
+     *
+     * @param world The {@link World} paths are found in.
+     */
+    public PathfindingService(World world) {
+        this.world = world;
+        finders = ThreadLocal.withInitial(() -> new PathFinder(world.getClipping()));
+    }
+
+    /**
+     * Finds a path from {@code start} to {@code target} on a worker thread.
+     *
+     * @param start The starting position.
+     * @param target The target position.
+     * @return A future holding the path.
+     */
+    public ListenableFuture<Path> find(Position start, Position target) {
+        return workers.submit(() -> findNow(start, target));
+    }
+
+    /**
+     * Finds a path from {@code start} to {@code target} on the calling thread, or returns the cached path if there is
+     * one.
+     *
+     * @param start The starting position.
+     * @param target The target position.
+     * @return The path.
+     */
+    public Path findNow(Position start, Position target) {
+        Long key = ((long) start.getPacked() << 32) | (target.getPacked() & 0xFFFFFFFFL);
+        Path path = cache.getIfPresent(key);
+        if (path == null) {
+            path = finders.get().find(start, target);
+            cache.put(key, path);
+        }
+        return path;
+    }
+
+    /**
+     * Finds a path from the position of {@code mob} to {@code target} on a worker thread, and then walks it on the game
+     * thread. The path is discarded if {@code mob} has become inactive or has been given a new path in the meantime.
+     *
+     * @param mob The mob to walk.
+     * @param target The target position.
+     */
+    public void walk(MobileEntity mob, Position target) {
+        WalkingQueue walkingQueue = mob.getWalkingQueue();
+        int version = walkingQueue.getPathVersion();
+        Position start = mob.getPosition();
+
+        workers.execute(() -> {
+            try {
+                Path path = findNow(start, target);
+                world.getContext().getService().sync(() -> {
+                    if (mob.getState() == EntityState.ACTIVE && walkingQueue.getPathVersion() == version) {
+                        walkingQueue.addPath(path);
+                    }
+                });
+            } catch (Exception e) {
+                LOGGER.catching(e);
+            }
+        });
+    }
+
+    /**
+     * @return The statistics of the path cache.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+}
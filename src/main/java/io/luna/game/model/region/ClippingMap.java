@@ -0,0 +1,280 @@
+package io.luna.game.model.region;
+
+import io.luna.game.model.Direction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A read-only map of clipping flags for every tile in the world, used to determine if a tile can be walked onto.
+ * <p>
+ * Flags are stored as one {@code short} word per tile, in blocks of {@code 64x64} tiles for every map square (the regions
+ * of the client's map files, not the smaller {@link Region}s) and height level that has any flags set. The file
+ * containing the blocks is memory-mapped rather than read, so the blocks of a map square are only paged in once a tile
+ * within it is first looked up. Map squares and height levels without a block have no clipping, which means that an
+ * empty map considers every tile traversable.
+ * <p>
+ * The file begins with a header of {@code MAGIC} and the amount of map square entries. Each entry is the map square index
+ * ({@code (regionX * HEIGHT) + regionY}), a bitmask of the height levels present, and the file offset of the first
+ * block. The blocks of a map square follow each other in order of height level, with tiles ordered by {@code y} and
+ * then {@code x}. {@link ClippingMapConverter} builds the file from a map dump.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ClippingMap {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The default path to the clipping file.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("./data/map/clipping.bin");
+
+    /**
+     * The value identifying a clipping file.
+     */
+    static final int MAGIC = 0x4C434C50;
+
+    /**
+     * The size of a map square along either axis, in tiles.
+     */
+    static final int REGION_SIZE = 64;
+
+    /**
+     * The amount of map squares along the {@code X} axis, covering the same coordinates as the {@link RegionManager}.
+     */
+    static final int WIDTH = 128;
+
+    /**
+     * The amount of map squares along the {@code Y} axis, covering the same coordinates as the {@link RegionManager}.
+     */
+    static final int HEIGHT = 256;
+
+    /**
+     * The size of the block of a single region and height level, in bytes.
+     */
+    static final int BLOCK_SIZE = REGION_SIZE * REGION_SIZE * 2;
+
+    /**
+     * The flag for a wall on the north-west corner of a tile.
+     */
+    public static final int WALL_NORTH_WEST = 0x1;
+
+    /**
+     * The flag for a wall on the north side of a tile.
+     */
+    public static final int WALL_NORTH = 0x2;
+
+    /**
+     * The flag for a wall on the north-east corner of a tile.
+     */
+    public static final int WALL_NORTH_EAST = 0x4;
+
+    /**
+     * The flag for a wall on the east side of a tile.
+     */
+    public static final int WALL_EAST = 0x8;
+
+    /**
+     * The flag for a wall on the south-east corner of a tile.
+     */
+    public static final int WALL_SOUTH_EAST = 0x10;
+
+    /**
+     * The flag for a wall on the south side of a tile.
+     */
+    public static final int WALL_SOUTH = 0x20;
+
+    /**
+     * The flag for a wall on the south-west corner of a tile.
+     */
+    public static final int WALL_SOUTH_WEST = 0x40;
+
+    /**
+     * The flag for a wall on the west side of a tile.
+     */
+    public static final int WALL_WEST = 0x80;
+
+    /**
+     * The flag for a tile occupied by a solid object.
+     */
+    public static final int OCCUPIED = 0x100;
+
+    /**
+     * The flag for a tile that cannot be walked on at all, such as water.
+     */
+    public static final int BLOCKED = 0x200;
+
+    /**
+     * The flags that prevent a tile from being entered from any direction.
+     */
+    private static final int SOLID = OCCUPIED | BLOCKED;
+
+    /**
+     * An empty map, in which every tile is traversable.
+     */
+    private static final ClippingMap EMPTY = new ClippingMap(ByteBuffer.allocate(8).putInt(MAGIC).putInt(0));
+
+    /**
+     * Loads the clipping map at {@code path}. If the file does not exist or cannot be read, an empty map is returned.
+     *
+     * @param path The path to the clipping file.
+     * @return The clipping map.
+     */
+    public static ClippingMap load(Path path) {
+        if (!Files.exists(path)) {
+            LOGGER.warn("No clipping data found at " + path + ", all tiles will be traversable.");
+            return EMPTY;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ClippingMap map = new ClippingMap(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+            LOGGER.info("Loaded clipping data for " + map.regionCount + " regions.");
+            return map;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.catching(e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * The buffer containing the clipping file.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The file offset of the first block of each map square, indexed by {@code (regionX * HEIGHT) + regionY}.
+     */
+    private final int[] offsets = new int[WIDTH * HEIGHT];
+
+    /**
+     * The bitmask of the height levels present for each map square, indexed by {@code (regionX * HEIGHT) + regionY}.
+     */
+    private final byte[] levels = new byte[WIDTH * HEIGHT];
+
+    /**
+     * The amount of regions with clipping data.
+     */
+    private final int regionCount;
+
+    /**
+     * Creates a new {@link ClippingMap} by reading the header of {@code buffer}.
+     *
+     * @param buffer The buffer containing the clipping file.
+     * @throws IllegalArgumentException If the buffer does not contain a valid clipping file.
+     */
+    ClippingMap(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        checkArgument(buffer.capacity() >= 8 && buffer.getInt(0) == MAGIC, "not a clipping file");
+        regionCount = buffer.getInt(4);
+        for (int entry = 0; entry < regionCount; entry++) {
+            int position = 8 + entry * 12;
+            int region = buffer.getInt(position);
+            int mask = buffer.getInt(position + 4);
+            int offset = buffer.getInt(position + 8);
+
+            checkArgument(region >= 0 && region < offsets.length, "invalid region index %s", region);
+            checkArgument(mask > 0 && mask < 16, "invalid height level mask %s", mask);
+            checkArgument(offset + Integer.bitCount(mask) * BLOCK_SIZE <= buffer.capacity(), "truncated clipping file");
+            offsets[region] = offset;
+            levels[region] = (byte) mask;
+        }
+    }
+
+    /**
+     * Returns the clipping flags of a tile.
+     *
+     * @param x The {@code x} coordinate of the tile.
+     * @param y The {@code y} coordinate of the tile.
+     * @param z The {@code z} coordinate of the tile.
+     * @return The flags, or {@link #BLOCKED} if the tile is outside of the map.
+     */
+    public int getFlags(int x, int y, int z) {
+        int regionX = x >> 6;
+        int regionY = y >> 6;
+        if (x < 0 || y < 0 || regionX >= WIDTH || regionY >= HEIGHT || z < 0 || z > 3) {
+            return BLOCKED;
+        }
+
+        int region = regionX * HEIGHT + regionY;
+        int mask = levels[region];
+        if ((mask & (1 << z)) == 0) {
+            return 0;
+        }
+        int level = Integer.bitCount(mask & ((1 << z) - 1));
+        int tile = (y & (REGION_SIZE - 1)) * REGION_SIZE + (x & (REGION_SIZE - 1));
+        return buffer.getShort(offsets[region] + level * BLOCK_SIZE + tile * 2) & 0xFFFF;
+    }
+
+    /**
+     * Determines if a single step can be taken from a tile in {@code direction}. Diagonal steps also require both of the
+     * adjacent orthogonal steps to be open, the same as the client.
+     *
+     * @param x The {@code x} coordinate of the tile being stepped from.
+     * @param y The {@code y} coordinate of the tile being stepped from.
+     * @param z The {@code z} coordinate of the tile being stepped from.
+     * @param direction The direction of the step.
+     * @return {@code true} if the step can be taken.
+     */
+    public boolean isTraversable(int x, int y, int z, Direction direction) {
+        switch (direction) {
+        case NONE:
+            return true;
+        case NORTH:
+            return open(x, y + 1, z, WALL_SOUTH);
+        case SOUTH:
+            return open(x, y - 1, z, WALL_NORTH);
+        case EAST:
+            return open(x + 1, y, z, WALL_WEST);
+        case WEST:
+            return open(x - 1, y, z, WALL_EAST);
+        case NORTH_EAST:
+            return open(x + 1, y + 1, z, WALL_SOUTH | WALL_WEST | WALL_SOUTH_WEST) &&
+                open(x + 1, y, z, WALL_WEST) && open(x, y + 1, z, WALL_SOUTH);
+        case NORTH_WEST:
+            return open(x - 1, y + 1, z, WALL_SOUTH | WALL_EAST | WALL_SOUTH_EAST) &&
+                open(x - 1, y, z, WALL_EAST) && open(x, y + 1, z, WALL_SOUTH);
+        case SOUTH_EAST:
+            return open(x + 1, y - 1, z, WALL_NORTH | WALL_WEST | WALL_NORTH_WEST) &&
+                open(x + 1, y, z, WALL_WEST) && open(x, y - 1, z, WALL_NORTH);
+        case SOUTH_WEST:
+            return open(x - 1, y - 1, z, WALL_NORTH | WALL_EAST | WALL_NORTH_EAST) &&
+                open(x - 1, y, z, WALL_EAST) && open(x, y - 1, z, WALL_NORTH);
+        default:
+            throw new IllegalArgumentException("unknown direction " + direction);
+        }
+    }
+
+    /**
+     * @return The amount of regions with clipping data.
+     */
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Determines if a tile can be entered, given the walls that would block the step onto it.
+     *
+     * @param x The {@code x} coordinate of the tile.
+     * @param y The {@code y} coordinate of the tile.
+     * @param z The {@code z} coordinate of the tile.
+     * @param walls The wall flags that block the step.
+     * @return {@code true} if none of the blocking flags are set.
+     */
+    private boolean open(int x, int y, int z, int walls) {
+        return (getFlags(x, y, z) & (walls | SOLID)) == 0;
+    }
+}
@@ -0,0 +1,183 @@
+package io.luna.game.model.region;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.luna.game.model.region.ClippingMap.BLOCK_SIZE;
+import static io.luna.game.model.region.ClippingMap.REGION_SIZE;
+
+/**
+ * A command-line utility that converts a map dump into the binary file read by {@link ClippingMap}.
+ * <p>
+ * The dump is a text file with one tile per line, in the form {@code x y z flags}. The flags are the collision flags of
+ * the {@code 317} client, in decimal or {@code 0x} prefixed hexadecimal. Tiles without flags can be omitted, and blank
+ * lines or lines starting with {@code #} are ignored. The input and output paths can be given as the first and second
+ * arguments, otherwise {@code ./data/map/clipping.txt} and {@link ClippingMap#DEFAULT_PATH} are used.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ClippingMapConverter {
+
+    /**
+     * The client flags for a tile occupied by a solid object.
+     */
+    private static final int CLIENT_OCCUPIED = 0x100;
+
+    /**
+     * The client flags for a tile that cannot be walked on.
+     */
+    private static final int CLIENT_BLOCKED = 0x1000000 | 0x200000 | 0x80000;
+
+    /**
+     * Converts a map dump.
+     *
+     * @param args The runtime arguments, the optional input and output paths.
+     * @throws IOException If the dump cannot be read or the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path input = Paths.get(args.length > 0 ? args[0] : "./data/map/clipping.txt");
+        Path output = args.length > 1 ? Paths.get(args[1]) : ClippingMap.DEFAULT_PATH;
+
+        int regions = convert(input, output);
+        System.out.println("Wrote clipping data for " + regions + " regions to " + output + ".");
+    }
+
+    /**
+     * Converts the map dump at {@code input}, writing the result to {@code output}.
+     *
+     * @param input The path to the map dump.
+     * @param output The path to write the clipping file to.
+     * @return The amount of regions written.
+     * @throws IOException If the dump cannot be read or the file cannot be written.
+     */
+    public static int convert(Path input, Path output) throws IOException {
+        Map<Integer, short[][]> regions = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(input)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    parse(line, regions);
+                } catch (RuntimeException e) {
+                    throw new IOException("invalid tile on line " + lineNumber + ": " + line, e);
+                }
+            }
+        }
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            write(regions, out);
+        }
+        return regions.size();
+    }
+
+    /**
+     * Parses a single tile from the map dump.
+     *
+     * @param line The line containing the tile.
+     * @param regions The blocks of each region, by region index.
+     */
+    private static void parse(String line, Map<Integer, short[][]> regions) {
+        String[] tokens = line.split("\\s+");
+        if (tokens.length != 4) {
+            throw new IllegalArgumentException("expected 4 values");
+        }
+        int x = Integer.parseInt(tokens[0]);
+        int y = Integer.parseInt(tokens[1]);
+        int z = Integer.parseInt(tokens[2]);
+        int flags = Integer.decode(tokens[3]);
+        if (x < 0 || y < 0 || x >= ClippingMap.WIDTH * REGION_SIZE || y >= ClippingMap.HEIGHT * REGION_SIZE ||
+            z < 0 || z > 3) {
+            throw new IllegalArgumentException("coordinates out of range");
+        }
+
+        int converted = convertFlags(flags);
+        if (converted == 0) {
+            return;
+        }
+        int region = (x / REGION_SIZE) * ClippingMap.HEIGHT + (y / REGION_SIZE);
+        short[][] levels = regions.computeIfAbsent(region, key -> new short[4][]);
+        if (levels[z] == null) {
+            levels[z] = new short[REGION_SIZE * REGION_SIZE];
+        }
+        levels[z][(y % REGION_SIZE) * REGION_SIZE + (x % REGION_SIZE)] |= converted;
+    }
+
+    /**
+     * Converts client collision flags to {@link ClippingMap} flags. Wall flags are the same, solid object and blocked
+     * tile flags are remapped, and projectile flags are dropped.
+     *
+     * @param flags The client flags.
+     * @return The converted flags.
+     */
+    static int convertFlags(int flags) {
+        int converted = flags & 0xFF;
+        if ((flags & CLIENT_OCCUPIED) != 0) {
+            converted |= ClippingMap.OCCUPIED;
+        }
+        if ((flags & CLIENT_BLOCKED) != 0) {
+            converted |= ClippingMap.BLOCKED;
+        }
+        return converted;
+    }
+
+    /**
+     * Writes the header and blocks of a clipping file.
+     *
+     * @param regions The blocks of each region, by region index in ascending order.
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void write(Map<Integer, short[][]> regions, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(ClippingMap.MAGIC);
+        data.writeInt(regions.size());
+
+        int offset = 8 + regions.size() * 12;
+        for (Map.Entry<Integer, short[][]> entry : regions.entrySet()) {
+            short[][] levels = entry.getValue();
+            int mask = 0;
+            for (int z = 0; z < levels.length; z++) {
+                if (levels[z] != null) {
+                    mask |= 1 << z;
+                }
+            }
+            data.writeInt(entry.getKey());
+            data.writeInt(mask);
+            data.writeInt(offset);
+            offset += Integer.bitCount(mask) * BLOCK_SIZE;
+        }
+
+        for (short[][] levels : regions.values()) {
+            for (short[] level : levels) {
+                if (level != null) {
+                    for (short flags : level) {
+                        data.writeShort(flags);
+                    }
+                }
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private ClippingMapConverter() {
+    }
+}
@@ -1,34 +1,69 @@
 package io.luna.game.model.region;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
+import io.luna.game.model.PackedPosition;
+import io.luna.game.model.Position;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A location in the world that is {@code 32x32} in size. Used primarily for caching various types of {@link Entity}s.
+ * Entities are additionally bucketed by the {@code 8x8} chunk they are in, so that viewing distance queries only need to
+ * look at the chunks that overlap the viewport.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class Region {
 
+    /**
+     * The amount of chunks along each axis of a region.
+     */
+    private static final int CHUNKS = 4;
+
+    /**
+     * The amount of entity types.
+     */
+    private static final int TYPES = EntityType.values().length;
+
     /**
      * The {@link RegionCoordinates} this class was constructed with.
      */
     private final RegionCoordinates coordinates;
 
     /**
-     * A {@link Set} of active {@link Entity}s in this {@code Region}.
+     * The active {@link Entity}s in this {@code Region}, one {@link RegionBucket} per {@link EntityType} ordinal.
+     */
+    private final RegionBucket<?>[] buckets = new RegionBucket<?>[TYPES];
+
+    /**
+     * The active {@link Entity}s in each chunk of this {@code Region}, indexed by {@code (chunk * TYPES) + type}. Buckets
+     * are created the first time an entity of their type enters their chunk.
+     */
+    private final AtomicReferenceArray<RegionBucket<?>> chunkBuckets =
+        new AtomicReferenceArray<>(CHUNKS * CHUNKS * TYPES);
+
+    /**
+     * This {@code Region} and its loaded neighbours, indexed by {@code (deltaY + 1) * 3 + (deltaX + 1)}. Neighbours that
+     * have not been loaded yet are {@code null}, and are linked by the {@link RegionManager} once they are.
+     */
+    private final AtomicReferenceArray<Region> neighbours = new AtomicReferenceArray<>(9);
+
+    /**
+     * The last tick that a {@link Player} was within this region or one of its neighbours.
+     */
+    private long lastActiveTick;
+
+    /**
+     * If no {@link Player} is within this region or any of its neighbours.
      */
-    private final Set<Entity> entities = Sets.newConcurrentHashSet();
+    private boolean sleeping;
 
     /**
      * Creates a new {@link Region}.
@@ -37,6 +72,10 @@ public final class Region {
      */
     Region(RegionCoordinates coordinates) {
         this.coordinates = coordinates;
+        neighbours.set(4, this);
+        for (int index = 0; index < buckets.length; index++) {
+            buckets[index] = new RegionBucket<>();
+        }
     }
 
     @Override
@@ -57,36 +96,206 @@ public final class Region {
     }
 
     /**
-     * Adds an {@link Entity} to the backing queue.
+     * Adds an {@link Entity} to the buckets for its type, using its current position.
      *
      * @param e The entity to add.
      */
     public void addEntity(Entity e) {
-        entities.add(e);
+        addEntity(e, e.getPackedPosition());
     }
 
     /**
-     * Removes an {@link Entity} from the backing queue.
+     * Adds an {@link Entity} to the buckets for its type, as if it were at {@code position}.
+     *
+     * @param e The entity to add.
+     * @param position The position of the entity within this region.
+     */
+    public void addEntity(Entity e, Position position) {
+        addEntity(e, position.getPacked());
+    }
+
+    /**
+     * Adds an {@link Entity} to the buckets for its type, as if it were at the packed {@code position}.
+     *
+     * @param e The entity to add.
+     * @param position The packed position of the entity within this region.
+     */
+    public void addEntity(Entity e, int position) {
+        getBucket(e.type()).add(e);
+        getOrCreateChunkBucket(position, e.type()).add(e);
+    }
+
+    /**
+     * Removes an {@link Entity} from the buckets for its type, using its current position.
      *
      * @param e The entity to remove.
      */
     public void removeEntity(Entity e) {
-        entities.remove(e);
+        removeEntity(e, e.getPackedPosition());
+    }
+
+    /**
+     * Removes an {@link Entity} from the buckets for its type, as if it were at {@code position}.
+     *
+     * @param e The entity to remove.
+     * @param position The position of the entity within this region.
+     */
+    public void removeEntity(Entity e, Position position) {
+        removeEntity(e, position.getPacked());
+    }
+
+    /**
+     * Removes an {@link Entity} from the buckets for its type, as if it were at the packed {@code position}.
+     *
+     * @param e The entity to remove.
+     * @param position The packed position of the entity within this region.
+     */
+    public void removeEntity(Entity e, int position) {
+        getBucket(e.type()).remove(e);
+
+        RegionBucket<Entity> chunk = getChunkBucket(chunkX(position), chunkY(position), e.type());
+        if (chunk != null) {
+            chunk.remove(e);
+        }
+    }
+
+    /**
+     * Moves an {@link Entity} between positions within this region, changing its chunk bucket if required.
+     *
+     * @param e The entity to move.
+     * @param from The old position.
+     * @param to The new position.
+     */
+    public void moveEntity(Entity e, Position from, Position to) {
+        moveEntity(e, from.getPacked(), to.getPacked());
+    }
+
+    /**
+     * Moves an {@link Entity} between packed positions within this region, changing its chunk bucket if required.
+     *
+     * @param e The entity to move.
+     * @param from The old packed position.
+     * @param to The new packed position.
+     */
+    public void moveEntity(Entity e, int from, int to) {
+        int fromChunkX = chunkX(from);
+        int fromChunkY = chunkY(from);
+        if (fromChunkX == chunkX(to) && fromChunkY == chunkY(to)) {
+            return;
+        }
+
+        RegionBucket<Entity> chunk = getChunkBucket(fromChunkX, fromChunkY, e.type());
+        if (chunk != null) {
+            chunk.remove(e);
+        }
+        getOrCreateChunkBucket(to, e.type()).add(e);
+    }
+
+    /**
+     * Returns the {@link RegionBucket} holding the {@link Entity}s of {@code type} within a chunk of this region.
+     *
+     * @param chunkX The absolute chunk {@code X} coordinate, equal to a tile {@code X} coordinate divided by {@code 8}.
+     * @param chunkY The absolute chunk {@code Y} coordinate, equal to a tile {@code Y} coordinate divided by {@code 8}.
+     * @param type The type of entity.
+     * @return The bucket, or {@code null} if no entity of {@code type} has entered the chunk yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Entity> RegionBucket<E> getChunkBucket(int chunkX, int chunkY, EntityType type) {
+        return (RegionBucket<E>) chunkBuckets.get(chunkIndex(chunkX, chunkY, type));
+    }
+
+    /**
+     * Returns the chunk {@link RegionBucket} for the packed {@code position}, creating it if required.
+     *
+     * @param position The packed position.
+     * @param type The type of entity.
+     * @return The bucket.
+     */
+    @SuppressWarnings("unchecked")
+    private RegionBucket<Entity> getOrCreateChunkBucket(int position, EntityType type) {
+        int index = chunkIndex(chunkX(position), chunkY(position), type);
+        RegionBucket<Entity> bucket = (RegionBucket<Entity>) chunkBuckets.get(index);
+        if (bucket == null) {
+            bucket = new RegionBucket<>();
+            chunkBuckets.set(index, bucket);
+        }
+        return bucket;
+    }
+
+    /**
+     * Returns the absolute chunk {@code X} coordinate of the packed {@code position}.
+     *
+     * @param position The packed position.
+     * @return The chunk {@code X} coordinate.
+     */
+    private static int chunkX(int position) {
+        return PackedPosition.getX(position) >> 3;
+    }
+
+    /**
+     * Returns the absolute chunk {@code Y} coordinate of the packed {@code position}.
+     *
+     * @param position The packed position.
+     * @return The chunk {@code Y} coordinate.
+     */
+    private static int chunkY(int position) {
+        return PackedPosition.getY(position) >> 3;
+    }
+
+    /**
+     * Returns the index of a chunk bucket within {@code chunkBuckets}.
+     *
+     * @param chunkX The absolute chunk {@code X} coordinate.
+     * @param chunkY The absolute chunk {@code Y} coordinate.
+     * @param type The type of entity.
+     * @return The index.
+     */
+    private int chunkIndex(int chunkX, int chunkY, EntityType type) {
+        int chunk = (chunkY & (CHUNKS - 1)) * CHUNKS + (chunkX & (CHUNKS - 1));
+        return chunk * TYPES + type.ordinal();
+    }
+
+    /**
+     * Returns the {@link RegionBucket} holding the {@link Entity}s of {@code type}. The bucket is live and can be iterated
+     * without allocating. The type of the bucket must be in accordance with {@code type} or a {@link ClassCastException}
+     * will be thrown.
+     *
+     * @param type The type of entity.
+     * @return The bucket for that type.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Entity> RegionBucket<E> getBucket(EntityType type) {
+        return (RegionBucket<E>) buckets[type.ordinal()];
+    }
+
+    /**
+     * @return The {@link RegionBucket} holding the {@link Player}s in this region.
+     */
+    public RegionBucket<Player> getPlayers() {
+        return getBucket(EntityType.PLAYER);
+    }
+
+    /**
+     * @return The {@link RegionBucket} holding the {@link Npc}s in this region.
+     */
+    public RegionBucket<Npc> getNpcs() {
+        return getBucket(EntityType.NPC);
     }
 
     /**
      * Retrieves and returns an {@link ArrayList} of {@link Entity}s that correspond to the given {@code types}. The {@link
      * EntityType}s given must be in accordance with the type of list returned or a {@link ClassCastException} will be
-     * thrown.
+     * thrown. Prefer {@link #getBucket(EntityType)} on hot paths, as this copies.
      *
      * @param types The types to include in the returned list.
      * @return The list with the types.
      */
-    @SuppressWarnings("unchecked")
     public <E extends Entity> List<E> getEntities(EntityType... types) {
-        Set<EntityType> typeFilter = EnumSet.copyOf(Arrays.asList(types));
         List<E> filtered = new ArrayList<>();
-        entities.stream().filter(it -> typeFilter.contains(it.type())).forEach(it -> filtered.add((E) it));
+        for (EntityType type : types) {
+            RegionBucket<E> bucket = getBucket(type);
+            bucket.forEach(filtered::add);
+        }
         return filtered;
     }
 
@@ -94,14 +303,89 @@ public final class Region {
      * @return A shallow, immutable copy of the {@link Entity}s in this region.
      */
     public ImmutableList<Entity> toList() {
-        return ImmutableList.copyOf(entities);
+        ImmutableList.Builder<Entity> list = ImmutableList.builder();
+        for (RegionBucket<?> bucket : buckets) {
+            bucket.forEach(list::add);
+        }
+        return list.build();
     }
 
     /**
      * @return A shallow, mutable copy of the {@link Entity}s in this region.
      */
     public Entity[] toArray() {
-        return Iterables.toArray(entities, Entity.class);
+        return toList().toArray(new Entity[0]);
+    }
+
+    /**
+     * Returns the {@code Region} offset from this one by {@code deltaX} and {@code deltaY}, if it has been loaded.
+     *
+     * @param deltaX The {@code X} offset, between {@code -1} and {@code 1}.
+     * @param deltaY The {@code Y} offset, between {@code -1} and {@code 1}.
+     * @return The neighbouring region, {@code this} if both offsets are {@code 0}, or {@code null} if it has not been
+     * loaded.
+     */
+    public Region getNeighbour(int deltaX, int deltaY) {
+        return neighbours.get((deltaY + 1) * 3 + deltaX + 1);
+    }
+
+    /**
+     * Links {@code region} as the neighbour offset from this one by {@code deltaX} and {@code deltaY}.
+     *
+     * @param deltaX The {@code X} offset, between {@code -1} and {@code 1}.
+     * @param deltaY The {@code Y} offset, between {@code -1} and {@code 1}.
+     * @param region The neighbouring region.
+     */
+    void setNeighbour(int deltaX, int deltaY, Region region) {
+        neighbours.set((deltaY + 1) * 3 + deltaX + 1, region);
+    }
+
+    /**
+     * @return The amount of {@link Player}s in this region.
+     */
+    public int getPlayerCount() {
+        return getPlayers().size();
+    }
+
+    /**
+     * @return {@code true} if this region has no {@link Entity}s of any type.
+     */
+    public boolean isEmpty() {
+        for (RegionBucket<?> bucket : buckets) {
+            if (!bucket.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The last tick that a {@link Player} was within this region or one of its neighbours.
+     */
+    public long getLastActiveTick() {
+        return lastActiveTick;
+    }
+
+    /**
+     * Sets the last tick that a {@link Player} was within this region or one of its neighbours.
+     */
+    void setLastActiveTick(long lastActiveTick) {
+        this.lastActiveTick = lastActiveTick;
+    }
+
+    /**
+     * @return {@code true} if no {@link Player} is within this region or any of its neighbours, in which case processing
+     * of its {@link Npc}s may be skipped.
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Sets if no {@link Player} is within this region or any of its neighbours.
+     */
+    void setSleeping(boolean sleeping) {
+        this.sleeping = sleeping;
     }
 
     /**
@@ -0,0 +1,138 @@
+package io.luna.game.model.region;
+
+import io.luna.game.model.Entity;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * An array-backed set of a single type of {@link Entity} within a {@link Region}. Entities are compared by identity and
+ * removed by swapping the last element into their slot, so the order of iteration is not stable.
+ * <p>
+ * Buckets are only modified on the game thread. Iteration from other threads, such as during the parallel
+ * synchronization phase, never fails: {@code size} is published after the element it covers, and is always read before
+ * the backing array. An entity removed during such an iteration may appear as a {@code null} element.
+ *
+ * @param <E> The type of entity.
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class RegionBucket<E extends Entity> {
+
+    /**
+     * The initial capacity of the backing array.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The backing array of entities.
+     */
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+
+    /**
+     * The amount of entities in this bucket.
+     */
+    private volatile int size;
+
+    /**
+     * Adds {@code entity} to this bucket, if it is not already present.
+     *
+     * @param entity The entity to add.
+     */
+    void add(E entity) {
+        int currentSize = size;
+        if (indexOf(entity, currentSize) != -1) {
+            return;
+        }
+        if (currentSize == entities.length) {
+            entities = Arrays.copyOf(entities, currentSize * 2);
+        }
+        entities[currentSize] = entity;
+        size = currentSize + 1;
+    }
+
+    /**
+     * Removes {@code entity} from this bucket, if it is present.
+     *
+     * @param entity The entity to remove.
+     */
+    void remove(E entity) {
+        int currentSize = size;
+        int index = indexOf(entity, currentSize);
+        if (index == -1) {
+            return;
+        }
+        int last = currentSize - 1;
+        entities[index] = entities[last];
+        entities[last] = null;
+        size = last;
+    }
+
+    /**
+     * Determines if {@code entity} is within this bucket.
+     *
+     * @param entity The entity.
+     * @return {@code true} if the entity is present.
+     */
+    public boolean contains(E entity) {
+        return indexOf(entity, size) != -1;
+    }
+
+    /**
+     * Returns the entity at {@code index}.
+     *
+     * @param index The index, between {@code 0} and {@link #size()}.
+     * @return The entity, or {@code null} if it was removed during iteration.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) entities[index];
+    }
+
+    /**
+     * Performs {@code action} for each entity in this bucket, without allocating.
+     *
+     * @param action The action to perform.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        int currentSize = size;
+        Entity[] snapshot = entities;
+        for (int index = 0; index < currentSize; index++) {
+            E entity = (E) snapshot[index];
+            if (entity != null) {
+                action.accept(entity);
+            }
+        }
+    }
+
+    /**
+     * @return The amount of entities in this bucket.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this bucket has no entities.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the index of {@code entity} within the first {@code currentSize} elements.
+     *
+     * @param entity The entity.
+     * @param currentSize The amount of elements to search.
+     * @return The index, or {@code -1} if not found.
+     */
+    private int indexOf(E entity, int currentSize) {
+        Entity[] snapshot = entities;
+        for (int index = 0; index < currentSize; index++) {
+            if (snapshot[index] == entity) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,5 +1,6 @@
 package io.luna.game.model.region;
 
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.Position;
 
 import java.util.Objects;
@@ -60,6 +61,26 @@ public final class RegionCoordinates {
         return false;
     }
 
+    /**
+     * Determines if {@code pos} is within the region these coordinates refer to.
+     *
+     * @param pos The position.
+     * @return {@code true} if {@code pos} is within the region.
+     */
+    public boolean contains(Position pos) {
+        return contains(pos.getPacked());
+    }
+
+    /**
+     * Determines if the packed {@code pos} is within the region these coordinates refer to.
+     *
+     * @param pos The packed position.
+     * @return {@code true} if {@code pos} is within the region.
+     */
+    public boolean contains(int pos) {
+        return PackedPosition.getX(pos) >> 5 == x && PackedPosition.getY(pos) >> 5 == y;
+    }
+
     /**
      * @return The {@code X} region coordinate.
      */
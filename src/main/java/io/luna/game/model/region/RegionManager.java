@@ -2,19 +2,22 @@ package io.luna.game.model.region;
 
 import io.luna.LunaConstants;
 import io.luna.game.model.Entity;
+import io.luna.game.model.EntityConstants;
 import io.luna.game.model.EntityType;
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.Position;
 import io.luna.game.model.mobile.MobileEntity;
 import io.luna.game.model.mobile.Npc;
 import io.luna.game.model.mobile.Player;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Manages all of the cached {@link Region}s and the {@link Entity}s contained within them.
@@ -25,19 +28,59 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class RegionManager {
 
     /**
-     * The map of cached {@link Region}s.
+     * The amount of regions along the {@code X} axis, covering {@code X} coordinates up to {@code 8191}.
+     */
+    public static final int WIDTH = 256;
+
+    /**
+     * The amount of regions along the {@code Y} axis, covering {@code Y} coordinates up to {@code 16383}.
+     */
+    public static final int HEIGHT = 512;
+
+    /**
+     * The amount of ticks an empty {@link Region} must be inactive for before it is evicted.
+     */
+    private static final int EVICTION_TICKS = 100;
+
+    /**
+     * Determines if the packed {@code position} is within the coordinates covered by the region table.
+     *
+     * @param position The packed position.
+     * @return {@code true} if a {@link Region} can contain the position, {@code false} otherwise.
+     */
+    public static boolean isInRange(int position) {
+        return PackedPosition.getX(position) >> 5 < WIDTH && PackedPosition.getY(position) >> 5 < HEIGHT;
+    }
+
+    /**
+     * The table of cached {@link Region}s, indexed by {@code (x * HEIGHT) + y}. Slots are populated lazily.
      */
-    private final Map<RegionCoordinates, Region> regions = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Region> regions = new AtomicReferenceArray<>(WIDTH * HEIGHT);
 
     /**
-     * Returns a {@link Region} based on the given region {@code X} and region {@code Y} coordinates.
+     * The loaded {@link Region}s, in no particular order. Guarded by {@code this}.
+     */
+    private final List<Region> loaded = new ArrayList<>();
+
+    /**
+     * The amount of times {@link #process()} has been called.
+     */
+    private long tick;
+
+    /**
+     * Returns a {@link Region} based on the given region {@code X} and region {@code Y} coordinates, creates and inserts a
+     * new {@code Region} if none present. New regions are linked with their already loaded neighbours.
      *
      * @param x The region {@code X} coordinate.
      * @param y The region {@code Y} coordinate.
      * @return The region in accordance with these coordinates.
+     * @throws IllegalArgumentException If the coordinates are outside of the region table.
      */
     public Region getRegion(int x, int y) {
-        return getRegion(new RegionCoordinates(x, y));
+        checkArgument(x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT, "region coordinates [%s, %s] out of range", x, y);
+
+        Region region = regions.get(x * HEIGHT + y);
+        return region != null ? region : createRegion(x, y);
     }
 
     /**
@@ -47,18 +90,61 @@ public final class RegionManager {
      * @return The region in accordance with this {@code pos}.
      */
     public Region getRegion(Position pos) {
-        return getRegion(RegionCoordinates.create(pos));
+        return getRegion(pos.getX() >> 5, pos.getY() >> 5);
     }
 
     /**
-     * Returns a {@link Region} based on the given {@code coordinates}, creates and inserts a new {@code Region} if none
-     * present.
+     * Returns a {@link Region} based on the given {@code coordinates}.
      *
      * @param coordinates The {@link RegionCoordinates}.
      * @return The region in accordance with {@code coordinates}.
      */
     public Region getRegion(RegionCoordinates coordinates) {
-        return regions.computeIfAbsent(coordinates, Region::new);
+        return getRegion(coordinates.getX(), coordinates.getY());
+    }
+
+    /**
+     * Creates, links and inserts a new {@link Region}. Creation is serialized so that two neighbouring regions created at
+     * the same time are always linked with each other.
+     *
+     * @param x The region {@code X} coordinate.
+     * @param y The region {@code Y} coordinate.
+     * @return The region in accordance with these coordinates.
+     */
+    private synchronized Region createRegion(int x, int y) {
+        Region region = regions.get(x * HEIGHT + y);
+        if (region != null) {
+            return region;
+        }
+
+        region = new Region(new RegionCoordinates(x, y));
+        region.setLastActiveTick(tick);
+        for (int deltaX = -1; deltaX <= 1; deltaX++) {
+            for (int deltaY = -1; deltaY <= 1; deltaY++) {
+                Region neighbour = getLoaded(x + deltaX, y + deltaY);
+                if (neighbour != null && (deltaX != 0 || deltaY != 0)) {
+                    region.setNeighbour(deltaX, deltaY, neighbour);
+                    neighbour.setNeighbour(-deltaX, -deltaY, region);
+                }
+            }
+        }
+        loaded.add(region);
+        regions.set(x * HEIGHT + y, region);
+        return region;
+    }
+
+    /**
+     * Returns the loaded {@link Region} at the given coordinates, without creating it.
+     *
+     * @param x The region {@code X} coordinate.
+     * @param y The region {@code Y} coordinate.
+     * @return The region, or {@code null} if it is not loaded or the coordinates are outside of the region table.
+     */
+    private Region getLoaded(int x, int y) {
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
+            return null;
+        }
+        return regions.get(x * HEIGHT + y);
     }
 
     /**
@@ -68,133 +154,185 @@ public final class RegionManager {
      * @return {@code true} if a {@code Region} exists, {@code false} otherwise.
      */
     public boolean exists(Position pos) {
-        return regions.containsKey(RegionCoordinates.create(pos));
+        return getLoaded(pos.getX() >> 5, pos.getY() >> 5) != null;
     }
 
     /**
-     * Gets all of the {@link Player}s surrounding {@code player}, prioritized in an order somewhat identical to Runescape.
-     * This is done so that staggered updating does not interfere negatively with gameplay.
-     *
-     * @param player The {@link Player}.
-     * @return The local, prioritized, {@code Player}s.
+     * Updates the activity of every loaded {@link Region}. Regions with a {@link Player} within them or one of their
+     * neighbours are woken up, all other regions are put to sleep, and regions that have been empty and asleep for {@code
+     * EVICTION_TICKS} are evicted. This should only be called from the game thread, once per tick.
      */
-    public Set<Player> getSurroundingPlayers(Player player) {
-        List<Region> allRegions = getSurroundingRegions(player.getPosition());
-        Set<Player> localPlayers = getBackingSet(player);
+    public synchronized void process() {
+        tick++;
+        for (Region region : loaded) {
+            if (region.getPlayerCount() > 0) {
+                for (int deltaX = -1; deltaX <= 1; deltaX++) {
+                    for (int deltaY = -1; deltaY <= 1; deltaY++) {
+                        Region neighbour = region.getNeighbour(deltaX, deltaY);
+                        if (neighbour != null) {
+                            neighbour.setLastActiveTick(tick);
+                        }
+                    }
+                }
+            }
+        }
 
-        for (Region region : allRegions) {
-            List<Player> regionPlayers = region.getEntities(EntityType.PLAYER);
+        // Iterate backwards, so regions swapped in by eviction have already been visited.
+        for (int index = loaded.size() - 1; index >= 0; index--) {
+            Region region = loaded.get(index);
+            boolean sleeping = region.getLastActiveTick() != tick;
+            if (region.isSleeping() && !sleeping) {
 
-            for (Player inRegion : regionPlayers) {
-                if (inRegion.isViewable(player)) {
-                    localPlayers.add(inRegion);
-                }
+                // Flags set while asleep were never sent, so they must not be sent late either.
+                region.getNpcs().forEach(Npc::clearFlags);
+            }
+            region.setSleeping(sleeping);
+
+            if (sleeping && tick - region.getLastActiveTick() >= EVICTION_TICKS && region.isEmpty()) {
+                evictRegion(index);
             }
         }
-        return localPlayers;
     }
 
     /**
-     * Gets all of the {@link Npc}s surrounding {@code player}, prioritized in an order somewhat identical to Runescape. This
-     * is done so that staggered updating does not interfere negatively with gameplay.
+     * Unloads an empty {@link Region}, unlinking it from its neighbours.
      *
-     * @param player The {@link Player}.
-     * @return The local, prioritized, {@code Npc}s.
+     * @param index The index of the region within {@code loaded}.
      */
-    public Set<Npc> getSurroundingNpcs(Player player) {
-        List<Region> allRegions = getSurroundingRegions(player.getPosition());
-        Set<Npc> localNpcs = getBackingSet(player);
+    private void evictRegion(int index) {
+        Region region = loaded.get(index);
+        RegionCoordinates coordinates = region.getCoordinates();
+        regions.set(coordinates.getX() * HEIGHT + coordinates.getY(), null);
 
-        for (Region region : allRegions) {
-            List<Npc> regionNpcs = region.getEntities(EntityType.NPC);
+        int last = loaded.size() - 1;
+        loaded.set(index, loaded.get(last));
+        loaded.remove(last);
 
-            for (Npc inRegion : regionNpcs) {
-                if (inRegion.isViewable(player)) {
-                    localNpcs.add(inRegion);
+        for (int deltaX = -1; deltaX <= 1; deltaX++) {
+            for (int deltaY = -1; deltaY <= 1; deltaY++) {
+                Region neighbour = region.getNeighbour(deltaX, deltaY);
+                if (neighbour != null && neighbour != region) {
+                    neighbour.setNeighbour(-deltaX, -deltaY, null);
+                    region.setNeighbour(deltaX, deltaY, null);
                 }
             }
         }
-        return localNpcs;
     }
 
     /**
-     * Returns the backing set that will be used to get surrounding {@link Player}s or {@link Npc}s.
+     * @return The amount of loaded {@link Region}s.
      */
-    private <T extends MobileEntity> Set<T> getBackingSet(Player player) {
-        return LunaConstants.STAGGERED_UPDATING ? new TreeSet<>(new RegionPriorityComparator(player)) : new HashSet<>();
+    public synchronized int size() {
+        return loaded.size();
     }
 
     /**
-     * Gets the {@link Region}s surrounding {@code pos}.
-     *
-     * @param pos The {@link Position}.
-     * @return The surrounding regions.
+     * @return The amount of loaded {@link Region}s that are asleep.
      */
-    private List<Region> getSurroundingRegions(Position pos) {
-        RegionCoordinates coordinates = RegionCoordinates.create(pos);
-
-        int regionX = coordinates.getX();
-        int regionY = coordinates.getY();
-
-        List<Region> regions = new LinkedList<>();
-        regions.add(getRegion(coordinates)); // Initial region.
-
-        int x = pos.getX() % 32;
-        int y = pos.getY() % 32;
-
-        if (y == 15 || y == 16) {
-            // Middle of region.
-
-            if (x > 16) {
-
-                // Middle-right part of region.
-                regions.add(getRegion(regionX + 1, regionY));
-            } else if (x < 15) {
-
-                // Middle-left part of region.
-                regions.add(getRegion(regionX - 1, regionY));
+    public synchronized int sleepingCount() {
+        int count = 0;
+        for (Region region : loaded) {
+            if (region.isSleeping()) {
+                count++;
             }
-        } else if (y > 16) {
-            // Top part of region.
-
-            if (x > 16) {
+        }
+        return count;
+    }
 
-                // Top-right part of region.
-                regions.add(getRegion(regionX, regionY + 1));
-                regions.add(getRegion(regionX + 1, regionY));
-                regions.add(getRegion(regionX + 1, regionY + 1));
-            } else if (x < 15) {
+    /**
+     * @return A new list of the loaded {@link Region}s that are awake, in no particular order.
+     */
+    public synchronized List<Region> getAwakeRegions() {
+        List<Region> awake = new ArrayList<>(loaded.size());
+        for (Region region : loaded) {
+            if (!region.isSleeping()) {
+                awake.add(region);
+            }
+        }
+        return awake;
+    }
 
-                // Top-left part of region.
-                regions.add(getRegion(regionX, regionY + 1));
-                regions.add(getRegion(regionX - 1, regionY));
-                regions.add(getRegion(regionX - 1, regionY + 1));
-            } else if (x == 15 || x == 16) {
+    /**
+     * Gets all of the {@link Player}s surrounding {@code player}, prioritized in an order somewhat identical to Runescape.
+     * This is done so that staggered updating does not interfere negatively with gameplay.
+     *
+     * @param player The {@link Player}.
+     * @return The local, prioritized, {@code Player}s.
+     */
+    public Set<Player> getSurroundingPlayers(Player player) {
+        return getSurroundingMobs(player, EntityType.PLAYER);
+    }
 
-                // Top-middle part of region.
-                regions.add(getRegion(regionX, regionY + 1));
-            }
-        } else if (y < 15) {
-            // Bottom part of region.
+    /**
+     * Gets all of the {@link Npc}s surrounding {@code player}, prioritized in an order somewhat identical to Runescape. This
+     * is done so that staggered updating does not interfere negatively with gameplay.
+     *
+     * @param player The {@link Player}.
+     * @return The local, prioritized, {@code Npc}s.
+     */
+    public Set<Npc> getSurroundingNpcs(Player player) {
+        return getSurroundingMobs(player, EntityType.NPC);
+    }
 
-            if (x > 16) {
+    /**
+     * Gets all of the {@link MobileEntity}s of {@code type} surrounding {@code player}. Only the {@code 8x8} chunks that
+     * overlap the player's viewport are searched, found through the neighbours of the player's region.
+     *
+     * @param player The {@link Player}.
+     * @param type The type of mob to get.
+     * @return The local, prioritized, mobs.
+     */
+    private <T extends MobileEntity> Set<T> getSurroundingMobs(Player player, EntityType type) {
+        int x = PackedPosition.getX(player.getPackedPosition());
+        int y = PackedPosition.getY(player.getPackedPosition());
+        Region origin = player.getCurrentRegion();
+        if (origin == null) {
+            origin = getRegion(x >> 5, y >> 5);
+        }
+        int originX = origin.getCoordinates().getX();
+        int originY = origin.getCoordinates().getY();
 
-                // Bottom-right part of region.
-                regions.add(getRegion(regionX, regionY - 1));
-                regions.add(getRegion(regionX + 1, regionY));
-                regions.add(getRegion(regionX + 1, regionY - 1));
-            } else if (x < 15) {
+        int minChunkX = (x - EntityConstants.VIEWING_DISTANCE) >> 3;
+        int maxChunkX = (x + EntityConstants.VIEWING_DISTANCE) >> 3;
+        int minChunkY = (y - EntityConstants.VIEWING_DISTANCE) >> 3;
+        int maxChunkY = (y + EntityConstants.VIEWING_DISTANCE) >> 3;
 
-                // Bottom-left part of region.
-                regions.add(getRegion(regionX, regionY - 1));
-                regions.add(getRegion(regionX - 1, regionY));
-                regions.add(getRegion(regionX - 1, regionY - 1));
-            } else if (x == 15 || x == 16) {
+        Set<T> localMobs = getBackingSet(player);
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                Region region = origin.getNeighbour((chunkX >> 2) - originX, (chunkY >> 2) - originY);
+                if (region != null) {
+                    addViewable(region.getChunkBucket(chunkX, chunkY, type), player, localMobs);
+                }
+            }
+        }
+        return localMobs;
+    }
 
-                // Bottom-middle part of region.
-                regions.add(getRegion(regionX, regionY - 1));
+    /**
+     * Adds all of the {@link MobileEntity}s within {@code chunk} that are viewable from {@code player}.
+     *
+     * @param chunk The chunk bucket to search, may be {@code null} if no mob has entered it.
+     * @param player The {@link Player}.
+     * @param localMobs The set to add to.
+     */
+    private <T extends MobileEntity> void addViewable(RegionBucket<T> chunk, Player player, Set<T> localMobs) {
+        if (chunk == null) {
+            return;
+        }
+        int size = chunk.size();
+        for (int index = 0; index < size; index++) {
+            T inRegion = chunk.get(index);
+            if (inRegion != null && inRegion.isViewable(player)) {
+                localMobs.add(inRegion);
             }
         }
-        return regions;
+    }
+
+    /**
+     * Returns the backing set that will be used to get surrounding {@link Player}s or {@link Npc}s.
+     */
+    private <T extends MobileEntity> Set<T> getBackingSet(Player player) {
+        return LunaConstants.STAGGERED_UPDATING ? new TreeSet<>(new RegionPriorityComparator(player)) : new HashSet<>();
     }
 }
@@ -60,6 +60,17 @@ public final class PluginManager {
         post(evt, null);
     }
 
+    /**
+     * Determines if any listeners are registered for {@code eventClass}, so that events that would be posted often can be
+     * skipped without being created.
+     *
+     * @param eventClass The class of the event.
+     * @return {@code true} if the event would be received by a listener.
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return pipelines.retrievePipeline(eventClass) != null;
+    }
+
     /**
      * @return An instance of the {@link LunaContext}.
      */
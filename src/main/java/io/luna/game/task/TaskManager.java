@@ -1,6 +1,7 @@
 package io.luna.game.task;
 
 import io.luna.game.GameService;
+import io.luna.game.model.mobile.Npc;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -54,7 +55,8 @@ public final class TaskManager {
 
     /**
      * Runs an iteration of the {@link Task} processing logic. All {@link Exception}s thrown by {@code Task}s are caught and
-     * logged by the underlying {@link Logger}.
+     * logged by the underlying {@link Logger}. Tasks attached to an {@link Npc} within a sleeping region are paused until
+     * the region wakes up.
      */
     public void runTaskIteration() {
         Iterator<Task> $it = awaitingExecution.iterator();
@@ -65,6 +67,9 @@ public final class TaskManager {
                 $it.remove();
                 continue;
             }
+            if (isSleeping(it)) {
+                continue;
+            }
             it.onLoop();
             if (it.canExecute()) {
                 executionQueue.add(it);
@@ -86,6 +91,17 @@ public final class TaskManager {
         }
     }
 
+    /**
+     * Determines if {@code task} is attached to an {@link Npc} within a sleeping region.
+     *
+     * @param task The task.
+     * @return {@code true} if the task should be paused, {@code false} otherwise.
+     */
+    private boolean isSleeping(Task task) {
+        Object attachment = task.getAttachment().orElse(null);
+        return attachment instanceof Npc && ((Npc) attachment).isSleeping();
+    }
+
     /**
      * Iterates through all active {@link Task}s and cancels all that have {@code attachment} as their attachment.
      */
@@ -0,0 +1,143 @@
+package io.luna.net;
+
+import com.google.common.net.InetAddresses;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A binary prefix trie keyed on the raw bytes of {@link InetAddress}es. Supports single addresses as well as CIDR ranges for
+ * both IPv4 and IPv6, and answers membership queries in time proportional to the address length rather than the amount of
+ * entries.
+ * <p>
+ * Instances are not thread-safe while being built. Once built, they should be published and treated as read-only.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AddressTrie {
+
+    /**
+     * A single node in the trie.
+     */
+    private static final class Node {
+
+        /**
+         * The child node for a {@code 0} bit.
+         */
+        private Node zero;
+
+        /**
+         * The child node for a {@code 1} bit.
+         */
+        private Node one;
+
+        /**
+         * If every address with the prefix leading to this node is contained.
+         */
+        private boolean terminal;
+    }
+
+    /**
+     * The root node for IPv4 addresses.
+     */
+    private final Node ipv4Root = new Node();
+
+    /**
+     * The root node for IPv6 addresses.
+     */
+    private final Node ipv6Root = new Node();
+
+    /**
+     * The amount of entries added to this trie.
+     */
+    private int size;
+
+    /**
+     * Adds a single address or CIDR range in the form {@code address[/prefixLength]}. No host name lookups are performed.
+     *
+     * @param range The address or CIDR range.
+     * @throws IllegalArgumentException If {@code range} is not a valid address or CIDR range.
+     */
+    public void add(String range) {
+        int separator = range.indexOf('/');
+        if (separator == -1) {
+            InetAddress address = InetAddresses.forString(range.trim());
+            add(address, address.getAddress().length * 8);
+        } else {
+            InetAddress address = InetAddresses.forString(range.substring(0, separator).trim());
+            add(address, Integer.parseInt(range.substring(separator + 1).trim()));
+        }
+    }
+
+    /**
+     * Adds every address that shares the first {@code prefixLength} bits with {@code address}.
+     *
+     * @param address The address.
+     * @param prefixLength The amount of leading bits that must match.
+     */
+    public void add(InetAddress address, int prefixLength) {
+        byte[] bytes = address.getAddress();
+        checkArgument(prefixLength >= 0 && prefixLength <= bytes.length * 8, "invalid prefix length");
+
+        Node node = root(address);
+        for (int bit = 0; bit < prefixLength && !node.terminal; bit++) {
+            if (isSet(bytes, bit)) {
+                node = node.one == null ? node.one = new Node() : node.one;
+            } else {
+                node = node.zero == null ? node.zero = new Node() : node.zero;
+            }
+        }
+        node.terminal = true;
+        node.zero = null;
+        node.one = null;
+        size++;
+    }
+
+    /**
+     * Determines if {@code address} is contained within any of the entries of this trie.
+     *
+     * @param address The address.
+     * @return {@code true} if contained, {@code false} otherwise.
+     */
+    public boolean contains(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        int bits = bytes.length * 8;
+
+        Node node = root(address);
+        for (int bit = 0; ; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == bits) {
+                return false;
+            }
+            node = isSet(bytes, bit) ? node.one : node.zero;
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return The amount of entries added to this trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the root node for the family of {@code address}.
+     */
+    private Node root(InetAddress address) {
+        return address instanceof Inet4Address ? ipv4Root : ipv6Root;
+    }
+
+    /**
+     * Determines if the bit at {@code bit} (counting from the most significant bit of the first byte) is set.
+     */
+    private boolean isSet(byte[] bytes, int bit) {
+        return (bytes[bit >> 3] & (0x80 >>> (bit & 7))) != 0;
+    }
+}
@@ -0,0 +1,117 @@
+package io.luna.net;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A per-address sliding window connection rate limiter. At most {@code limit} connections are permitted from a single
+ * address within any window of {@code interval} length.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ConnectionRateLimiter {
+
+    /**
+     * The sliding window of an individual address. Holds the timestamps of the last {@code limit} permitted connections in
+     * a ring buffer.
+     */
+    private final class Window {
+
+        /**
+         * The timestamps of the most recently permitted connections.
+         */
+        private final long[] timestamps = new long[limit];
+
+        /**
+         * The index of the oldest timestamp, and where the next one will be written.
+         */
+        private int index;
+
+        /**
+         * The amount of timestamps recorded, up to {@code limit}.
+         */
+        private int count;
+
+        /**
+         * Attempts to record a connection at {@code now}.
+         *
+         * @param now The current time, in nanoseconds.
+         * @return {@code true} if the connection is permitted, {@code false} otherwise.
+         */
+        private synchronized boolean tryAcquire(long now) {
+            if (count == limit && now - timestamps[index] < intervalNanos) {
+                return false;
+            }
+            timestamps[index] = now;
+            index = (index + 1) % limit;
+            if (count < limit) {
+                count++;
+            }
+            return true;
+        }
+
+        /**
+         * Determines if every recorded connection has fallen out of the window.
+         *
+         * @param now The current time, in nanoseconds.
+         * @return {@code true} if this window can be discarded, {@code false} otherwise.
+         */
+        private synchronized boolean isExpired(long now) {
+            int newest = (index + limit - 1) % limit;
+            return count == 0 || now - timestamps[newest] >= intervalNanos;
+        }
+    }
+
+    /**
+     * A map of addresses to their windows.
+     */
+    private final Map<InetAddress, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum amount of connections permitted within a single window.
+     */
+    private final int limit;
+
+    /**
+     * The length of a single window, in nanoseconds.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Creates a new {@link ConnectionRateLimiter}.
+     *
+     * @param limit The maximum amount of connections permitted within a single window.
+     * @param interval The length of a single window.
+     * @param unit The time unit of {@code interval}.
+     */
+    public ConnectionRateLimiter(int limit, long interval, TimeUnit unit) {
+        checkArgument(limit > 0, "limit <= 0");
+        checkArgument(interval > 0, "interval <= 0");
+
+        this.limit = limit;
+        intervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Attempts to record a connection from {@code address}.
+     *
+     * @param address The address the connection was received from.
+     * @return {@code true} if the connection is permitted, {@code false} if the rate limit was exceeded.
+     */
+    public boolean tryAcquire(InetAddress address) {
+        Window window = windows.computeIfAbsent(address, it -> new Window());
+        return window.tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Discards the windows of addresses that have not connected within the last interval.
+     */
+    public void prune() {
+        long now = System.nanoTime();
+        windows.values().removeIf(it -> it.isExpired(now));
+    }
+}
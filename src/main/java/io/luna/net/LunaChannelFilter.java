@@ -3,7 +3,8 @@ package io.luna.net;
 import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multiset;
-import com.google.common.collect.Sets;
+import com.google.common.net.InetAddresses;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.luna.LunaConstants;
 import io.luna.net.codec.login.LoginResponse;
 import io.luna.net.codec.login.LoginResponseMessage;
@@ -17,15 +18,31 @@ import io.netty.handler.ipfilter.AbstractRemoteAddressFilter;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.util.Set;
+import java.net.SocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link AbstractRemoteAddressFilter} implementation that filters {@link Channel}s by the amount of active connections
  * they already have and whether or not they are blacklisted. A threshold is put on the amount of successful connections
  * allowed to be made in order to provide security from socket flooder attacks.
  * <p>
+ * Blacklist entries can be single addresses or CIDR ranges, and are stored within an {@link AddressTrie}. The blacklist
+ * file is watched for modifications and reloaded without a restart. Connection attempts are additionally rate limited per
+ * address through {@link #acceptConnection(SocketAddress)}, which should be called before any handlers are added.
+ * <p>
  * <p>
  * <strong>One {@code LunaChannelFilter} instance must be shared across all pipelines in order to ensure that every channel
  * is using the same multiset.</strong>
@@ -39,26 +56,49 @@ import java.util.Set;
      *
      * @author lare96 <http://github.org/lare96>
      */
-    private final class BlacklistParser extends NewLineParser {
+    private static final class BlacklistParser extends NewLineParser {
+
+        /**
+         * The trie being built.
+         */
+        private final AddressTrie trie = new AddressTrie();
 
         /**
          * Creates a new {@link BlacklistParser}.
          */
         public BlacklistParser() {
-            super("./data/punishment/blacklist.txt");
+            super(BLACKLIST_PATH.toString());
         }
 
         @Override
         public void readNextLine(String nextLine) throws Exception {
-            blacklist.add(nextLine);
+            String entry = nextLine.trim();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                return;
+            }
+            try {
+                trie.add(entry);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Invalid blacklist entry [" + entry + "]");
+            }
         }
     }
 
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The path to the blacklist file.
+     */
+    private static final Path BLACKLIST_PATH = Paths.get("./data/punishment/blacklist.txt");
+
     /**
      * An {@link ImmutableSet} containing whitelisted addresses. Addresses within this {@code ImmutableSet} bypass channel
      * filtering completely.
      */
-    public static final ImmutableSet<String> WHITELIST = ImmutableSet.of("127.0.0.1");
+    public static final ImmutableSet<InetAddress> WHITELIST = ImmutableSet.of(InetAddresses.forString("127.0.0.1"));
 
     /**
      * An {@link AttributeKey} used to access an {@link Attribute} describing which {@link LoginResponse} should be sent for
@@ -69,21 +109,63 @@ import java.util.Set;
     /**
      * A concurrent {@link Multiset} containing active connections.
      */
-    private final Multiset<String> connections = ConcurrentHashMultiset.create();
+    private final Multiset<InetAddress> connections = ConcurrentHashMultiset.create();
+
+    /**
+     * Limits the rate at which connections can be made by a single address.
+     */
+    private final ConnectionRateLimiter rateLimiter = new ConnectionRateLimiter(LunaConstants.CONNECTION_RATE_LIMIT,
+        LunaConstants.CONNECTION_RATE_INTERVAL, TimeUnit.SECONDS);
+
+    /**
+     * The executor that reloads the blacklist and prunes the rate limiter.
+     */
+    private final ScheduledExecutorService maintenanceService;
+
+    /**
+     * The current blacklist. Replaced in its entirety when the blacklist file is modified.
+     */
+    private volatile AddressTrie blacklist = new AddressTrie();
 
     /**
-     * A concurrent {@link Set} containing blacklisted addresses.
+     * The last modified time of the blacklist file when it was last loaded.
      */
-    private final Set<String> blacklist = Sets.newConcurrentHashSet();
+    private FileTime blacklistModified;
 
-    {
-        NewLineParser parser = new BlacklistParser();
-        parser.run();
+    /**
+     * Creates a new {@link LunaChannelFilter}.
+     */
+    public LunaChannelFilter() {
+        reloadBlacklist();
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("LunaChannelFilterThread").setDaemon(true)
+            .build();
+        maintenanceService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        maintenanceService.scheduleWithFixedDelay(() -> {
+            reloadBlacklist();
+            rateLimiter.prune();
+        }, LunaNetworkConstants.FILTER_REFRESH_SECONDS, LunaNetworkConstants.FILTER_REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Determines if a connection from {@code remoteAddress} should be accepted, according to the connection rate limit.
+     * This is intended to be called before a channel's pipeline is initialized, so flooding connections can be closed as
+     * cheaply as possible.
+     *
+     * @param remoteAddress The address the connection was received from.
+     * @return {@code true} if the connection should be accepted, {@code false} if it should be closed.
+     */
+    public boolean acceptConnection(SocketAddress remoteAddress) {
+        if (!(remoteAddress instanceof InetSocketAddress)) {
+            return true;
+        }
+        InetAddress address = ((InetSocketAddress) remoteAddress).getAddress();
+        return WHITELIST.contains(address) || rateLimiter.tryAcquire(address);
     }
 
     @Override
     protected boolean accept(ChannelHandlerContext ctx, InetSocketAddress remoteAddress) throws Exception {
-        String address = address(remoteAddress);
+        InetAddress address = remoteAddress.getAddress();
 
         if (WHITELIST.contains(address)) { // Bypass filter for whitelisted addresses.
             return true;
@@ -103,7 +185,7 @@ import java.util.Set;
 
     @Override
     protected void channelAccepted(ChannelHandlerContext ctx, InetSocketAddress remoteAddress) {
-        String address = address(remoteAddress);
+        InetAddress address = remoteAddress.getAddress();
 
         ChannelFuture future = ctx.channel().closeFuture(); // Remove address once disconnected.
         future.addListener(it -> connections.remove(address));
@@ -124,11 +206,23 @@ import java.util.Set;
     }
 
     /**
-     * Retrieves the host address name from the {@link InetSocketAddress}.
+     * Rebuilds the blacklist if the blacklist file has been modified since it was last loaded.
      */
-    private String address(InetSocketAddress remoteAddress) {
-        InetAddress inet = remoteAddress.getAddress();
-        return inet.getHostAddress();
+    private synchronized void reloadBlacklist() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(BLACKLIST_PATH);
+            if (modified.equals(blacklistModified)) {
+                return;
+            }
+            blacklistModified = modified;
+
+            BlacklistParser parser = new BlacklistParser();
+            parser.run();
+            blacklist = parser.trie;
+            LOGGER.info("Loaded " + parser.trie.size() + " blacklist entries.");
+        } catch (IOException e) {
+            LOGGER.catching(e);
+        }
     }
 
     /**
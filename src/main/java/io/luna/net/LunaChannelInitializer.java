@@ -31,7 +31,7 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
     /**
      * Filters channels based on the amount of active connections they have.
      */
-    public final ChannelHandler channelFilter = new LunaChannelFilter();
+    public final LunaChannelFilter channelFilter = new LunaChannelFilter();
 
     /**
      * The underlying context to be managed under.
@@ -56,6 +56,10 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
 
     @Override
     protected void initChannel(SocketChannel ch) throws Exception {
+        if (!channelFilter.acceptConnection(ch.remoteAddress())) { // Close flooding connections before any setup.
+            ch.close();
+            return;
+        }
         ch.attr(LunaNetworkConstants.SESSION_KEY).setIfAbsent(new Session(ch));
 
         ch.pipeline().addLast("read-timeout", new ReadTimeoutHandler(LunaNetworkConstants.READ_IDLE_SECONDS));
@@ -18,6 +18,11 @@ public final class LunaNetworkConstants {
      */
     public static final int READ_IDLE_SECONDS = 5;
 
+    /**
+     * The amount of {@code SECONDS} between checks for blacklist modifications and pruning of connection rate windows.
+     */
+    public static final int FILTER_REFRESH_SECONDS = 5;
+
     /**
      * The maximum amount of incoming messages per cycle.
      */
@@ -20,11 +20,6 @@ public final class ByteMessage extends DefaultByteBufHolder {
      */
     public static final ByteBufAllocator ALLOC = PooledByteBufAllocator.DEFAULT;
 
-    /**
-     * An array of bit masks used for bitwise operations.
-     */
-    private static final int[] BIT_MASK = new int[32];
-
     /**
      * @return Creates a {@link ByteMessage} used to read and write raw messages.
      */
@@ -69,18 +64,15 @@ public final class ByteMessage extends DefaultByteBufHolder {
     private final MessageType type;
 
     /**
-     * The current bit position when writing bits.
+     * The accumulator that bits are written into before being flushed to the buffer as whole bytes. Only the lowest
+     * {@code bitCount} bits are pending, anything above them has already been flushed.
      */
-    private int bitIndex = -1;
+    private long bitBuffer;
 
     /**
-     * A static initialization block that calculates the bit masks.
+     * The amount of pending bits within the accumulator, {@code -1} if not in bit access mode.
      */
-    static {
-        for (int i = 0; i < BIT_MASK.length; i++) {
-            BIT_MASK[i] = (1 << i) - 1;
-        }
-    }
+    private int bitCount = -1;
 
     private ByteMessage(ByteBuf buf, int opcode, MessageType type) {
         super(buf);
@@ -93,19 +85,26 @@ public final class ByteMessage extends DefaultByteBufHolder {
      * Prepares the buffer for writing bits.
      */
     public void startBitAccess() {
-        checkState(bitIndex == -1, "this ByteMessage instance is already in bit access mode");
+        checkState(bitCount == -1, "this ByteMessage instance is already in bit access mode");
 
-        bitIndex = buf.writerIndex() << 3;
+        bitBuffer = 0;
+        bitCount = 0;
     }
 
     /**
      * Prepares the buffer for writing bytes.
      */
     public void endBitAccess() {
-        checkState(bitIndex != -1, "this ByteMessage instance is not in bit access mode");
+        checkState(bitCount != -1, "this ByteMessage instance is not in bit access mode");
 
-        buf.writerIndex((bitIndex + 7) >> 3);
-        bitIndex = -1;
+        while (bitCount >= 8) {
+            bitCount -= 8;
+            buf.writeByte((int) (bitBuffer >>> bitCount));
+        }
+        if (bitCount > 0) { // Pad the last byte with zeros.
+            buf.writeByte((int) (bitBuffer << (8 - bitCount)));
+        }
+        bitCount = -1;
     }
 
     /**
@@ -155,41 +154,20 @@ public final class ByteMessage extends DefaultByteBufHolder {
     }
 
     /**
-     * Writes the value as a variable amount of bits.
+     * Writes the value as a variable amount of bits. Bits are accumulated and written to the buffer in blocks of {@code
+     * 32}, which grows geometrically as needed. The buffer's writer index is only exact once {@link #endBitAccess()} has
+     * been called.
      *
-     * @param amount The amount of bits to write.
+     * @param amount The amount of bits to write, between {@code 1} and {@code 32} inclusive.
      * @param value The value of the bits.
      * @return An instance of this byte message.
-     * @throws IllegalArgumentException If the number of bits is not between {@code 1} and {@code 32} inclusive.
      */
     public ByteMessage putBits(int amount, int value) {
-        checkState(amount >= 1 || amount <= 32, "Number of bits must be between 1 and 32 inclusive.");
-
-        int bytePos = bitIndex >> 3;
-        int bitOffset = 8 - (bitIndex & 7);
-        bitIndex = bitIndex + amount;
-        int requiredSpace = bytePos - buf.writerIndex() + 1;
-        requiredSpace += (amount + 7) / 8;
-        if (buf.writableBytes() < requiredSpace) {
-            buf.capacity(buf.capacity() + requiredSpace);
-        }
-        for (; amount > bitOffset; bitOffset = 8) {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~BIT_MASK[bitOffset];
-            tmp |= (value >> (amount - bitOffset)) & BIT_MASK[bitOffset];
-            buf.setByte(bytePos++, tmp);
-            amount -= bitOffset;
-        }
-        if (amount == bitOffset) {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~BIT_MASK[bitOffset];
-            tmp |= value & BIT_MASK[bitOffset];
-            buf.setByte(bytePos, tmp);
-        } else {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~(BIT_MASK[amount] << (bitOffset - amount));
-            tmp |= (value & BIT_MASK[amount]) << (bitOffset - amount);
-            buf.setByte(bytePos, tmp);
+        bitBuffer = (bitBuffer << amount) | (value & ((1L << amount) - 1));
+        bitCount += amount;
+        if (bitCount >= 32) {
+            bitCount -= 32;
+            buf.writeInt((int) (bitBuffer >>> bitCount));
         }
         return this;
     }
@@ -451,16 +429,24 @@ public final class ByteMessage extends DefaultByteBufHolder {
     }
 
     /**
-     * Writes a RuneScape {@code String} value.
+     * Writes a RuneScape {@code String} value, encoded through the {@link StringCodec}.
      *
      * @param string The string to write.
      * @return An instance of this byte message.
      */
     public ByteMessage putString(String string) {
-        for (byte value : string.getBytes()) {
-            put(value);
-        }
-        put(10);
+        StringCodec.write(buf, string);
+        return this;
+    }
+
+    /**
+     * Writes a RuneScape {@code String} value that was encoded ahead of time.
+     *
+     * @param string The encoded string to write.
+     * @return An instance of this byte message.
+     */
+    public ByteMessage putString(EncodedString string) {
+        StringCodec.write(buf, string);
         return this;
     }
 
@@ -802,12 +788,7 @@ public final class ByteMessage extends DefaultByteBufHolder {
      * @return The value of the string.
      */
     public String getString() {
-        byte temp;
-        StringBuilder b = new StringBuilder();
-        while ((temp = (byte) get()) != 10) {
-            b.append((char) temp);
-        }
-        return b.toString();
+        return StringCodec.read(buf);
     }
 
     /**
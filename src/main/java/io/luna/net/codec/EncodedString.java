@@ -0,0 +1,54 @@
+package io.luna.net.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A {@link String} that has been encoded through the {@link StringCodec} once, ahead of time. Constant strings that are
+ * sent often, such as common game messages, should be kept as {@code static final} instances of this class so that
+ * writing them is a single copy.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class EncodedString {
+
+    /**
+     * The decoded string.
+     */
+    private final String string;
+
+    /**
+     * The encoded, terminated bytes.
+     */
+    private final byte[] encoded;
+
+    /**
+     * Creates a new {@link EncodedString}.
+     *
+     * @param string The string to encode.
+     */
+    public EncodedString(String string) {
+        this.string = string;
+        encoded = StringCodec.encode(string);
+    }
+
+    @Override
+    public String toString() {
+        return string;
+    }
+
+    /**
+     * Writes the encoded bytes to {@code buf}.
+     *
+     * @param buf The buffer to write to.
+     */
+    void writeTo(ByteBuf buf) {
+        buf.writeBytes(encoded);
+    }
+
+    /**
+     * @return The amount of encoded bytes, including the terminator.
+     */
+    public int length() {
+        return encoded.length;
+    }
+}
@@ -279,4 +279,36 @@ public final class IsaacCipher {
         return results[count];
     }
 
+    /**
+     * Fills {@code keys} with the next {@code length} random values starting at {@code offset}. The values are identical
+     * to those that would be returned by calling {@code nextInt()} {@code length} times, but are copied out of the results
+     * array in blocks rather than one at a time.
+     *
+     * @param keys The array to fill.
+     * @param offset The index to start filling from.
+     * @param length The amount of values to generate.
+     */
+    public void nextInts(int[] keys, int offset, int length) {
+        while (length > 0) {
+            if (count == 0) {
+                isaac();
+                count = SIZE;
+            }
+            int amount = Math.min(length, count);
+            for (int index = 0; index < amount; index++) {
+                keys[offset++] = results[--count];
+            }
+            length -= amount;
+        }
+    }
+
+    /**
+     * Fills the entirety of {@code keys} with the next random values.
+     *
+     * @param keys The array to fill.
+     */
+    public void nextInts(int[] keys) {
+        nextInts(keys, 0, keys.length);
+    }
+
 }
\ No newline at end of file
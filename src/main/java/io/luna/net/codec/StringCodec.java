@@ -0,0 +1,142 @@
+package io.luna.net.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A static-utility class that encodes and decodes Runescape strings. Strings are encoded using Windows-1252, one byte per
+ * character, and terminated by a newline. Characters that cannot be encoded are replaced with {@code '?'}.
+ * <p>
+ * Strings are encoded into a reusable per-thread array, which is then written to the buffer with a single copy. Frequently
+ * sent constant strings should instead be encoded once into an {@link EncodedString}, which skips the encoding entirely.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class StringCodec {
+
+    /**
+     * The value that terminates strings.
+     */
+    public static final int TERMINATOR = 10;
+
+    /**
+     * The characters for the bytes {@code 0x80} to {@code 0x9F}, which differ between Windows-1252 and ISO-8859-1.
+     * Undefined bytes decode to themselves.
+     */
+    private static final char[] CP1252_HIGH = {
+        '\u20AC', '\u0081', '\u201A', '\u0192', '\u201E', '\u2026', '\u2020', '\u2021',
+        '\u02C6', '\u2030', '\u0160', '\u2039', '\u0152', '\u008D', '\u017D', '\u008F',
+        '\u0090', '\u2018', '\u2019', '\u201C', '\u201D', '\u2022', '\u2013', '\u2014',
+        '\u02DC', '\u2122', '\u0161', '\u203A', '\u0153', '\u009D', '\u017E', '\u0178' };
+
+    /**
+     * The array that strings are encoded into before being written, reused by each thread.
+     */
+    private static final ThreadLocal<byte[]> ENCODE_BUFFER = ThreadLocal.withInitial(() -> new byte[256]);
+
+    /**
+     * Writes {@code string} and its terminator to {@code buf}.
+     *
+     * @param buf The buffer to write to.
+     * @param string The string to write.
+     */
+    public static void write(ByteBuf buf, String string) {
+        int length = string.length();
+        byte[] encoded = ENCODE_BUFFER.get();
+        if (encoded.length <= length) {
+            encoded = new byte[length + 1];
+            ENCODE_BUFFER.set(encoded);
+        }
+        encode(string, encoded);
+        buf.writeBytes(encoded, 0, length + 1);
+    }
+
+    /**
+     * Writes the already encoded {@code string} and its terminator to {@code buf}.
+     *
+     * @param buf The buffer to write to.
+     * @param string The encoded string to write.
+     */
+    public static void write(ByteBuf buf, EncodedString string) {
+        string.writeTo(buf);
+    }
+
+    /**
+     * Reads a terminated string from {@code buf}, consuming the terminator.
+     *
+     * @param buf The buffer to read from.
+     * @return The string.
+     * @throws IndexOutOfBoundsException If the string is not terminated.
+     */
+    public static String read(ByteBuf buf) {
+        int length = buf.bytesBefore((byte) TERMINATOR);
+        if (length == -1) {
+            throw new IndexOutOfBoundsException("string is not terminated");
+        }
+
+        char[] chars = new char[length];
+        int start = buf.readerIndex();
+        for (int index = 0; index < length; index++) {
+            chars[index] = decode(buf.getByte(start + index));
+        }
+        buf.skipBytes(length + 1);
+        return new String(chars);
+    }
+
+    /**
+     * Encodes {@code string}, including its terminator.
+     *
+     * @param string The string to encode.
+     * @return The encoded bytes.
+     */
+    public static byte[] encode(String string) {
+        byte[] encoded = new byte[string.length() + 1];
+        encode(string, encoded);
+        return encoded;
+    }
+
+    /**
+     * Encodes {@code string} and its terminator into the start of {@code encoded}.
+     *
+     * @param string The string to encode.
+     * @param encoded The array to encode into, at least one byte longer than the string.
+     */
+    private static void encode(String string, byte[] encoded) {
+        int length = string.length();
+        for (int index = 0; index < length; index++) {
+            encoded[index] = encode(string.charAt(index));
+        }
+        encoded[length] = TERMINATOR;
+    }
+
+    /**
+     * Encodes a single character.
+     */
+    private static byte encode(char value) {
+        if (value < 0x80 || (value >= 0xA0 && value <= 0xFF)) {
+            return (byte) value;
+        }
+        for (int index = 0; index < CP1252_HIGH.length; index++) {
+            if (CP1252_HIGH[index] == value) {
+                return (byte) (0x80 + index);
+            }
+        }
+        return '?';
+    }
+
+    /**
+     * Decodes a single character.
+     */
+    private static char decode(byte value) {
+        int unsigned = value & 0xFF;
+        if (unsigned >= 0x80 && unsigned < 0xA0) {
+            return CP1252_HIGH[unsigned - 0x80];
+        }
+        return (char) unsigned;
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private StringCodec() {
+    }
+}
@@ -30,11 +30,26 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
      */
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * The amount of keys pulled from the decryptor at once.
+     */
+    private static final int KEYSTREAM_LENGTH = 256;
+
     /**
      * The ISAAC that will decrypt incoming messages.
      */
     private final IsaacCipher decryptor;
 
+    /**
+     * A block of keys pulled from the decryptor, applied to opcodes in order.
+     */
+    private final int[] keystream = new int[KEYSTREAM_LENGTH];
+
+    /**
+     * The index of the next unused key in the keystream.
+     */
+    private int keyIndex = KEYSTREAM_LENGTH;
+
     /**
      * The repository containing data for incoming messages.
      */
@@ -103,7 +118,7 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
     private void opcode(ByteBuf in) {
         if (in.isReadable()) {
             opcode = in.readUnsignedByte();
-            opcode = (opcode - decryptor.nextInt()) & 0xFF;
+            opcode = (opcode - nextKey()) & 0xFF;
             size = messageRepository.getSize(opcode);
 
             if (size == -1) {
@@ -182,6 +197,19 @@ public final class GameMessageDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Retrieves the next key from the keystream, pulling another block from the decryptor if all keys have been used.
+     *
+     * @return The next key.
+     */
+    private int nextKey() {
+        if (keyIndex == KEYSTREAM_LENGTH) {
+            decryptor.nextInts(keystream);
+            keyIndex = 0;
+        }
+        return keystream[keyIndex++];
+    }
+
     /**
      * Resets the state of this {@code MessageDecoder} to its default.
      */
@@ -14,11 +14,26 @@ import io.netty.handler.codec.MessageToByteEncoder;
  */
 public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage> {
 
+    /**
+     * The amount of keys pulled from the encryptor at once.
+     */
+    private static final int KEYSTREAM_LENGTH = 256;
+
     /**
      * The encryptor for this message.
      */
     private final IsaacCipher encryptor;
 
+    /**
+     * A block of keys pulled from the encryptor, applied to opcodes in order.
+     */
+    private final int[] keystream = new int[KEYSTREAM_LENGTH];
+
+    /**
+     * The index of the next unused key in the keystream.
+     */
+    private int keyIndex = KEYSTREAM_LENGTH;
+
     /**
      * Creates a new {@link GameMessageEncoder}.
      *
@@ -30,7 +45,7 @@ public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage>
 
     @Override
     public void encode(ChannelHandlerContext ctx, GameMessage msg, ByteBuf out) throws Exception {
-        out.writeByte(msg.getOpcode() + encryptor.nextInt());
+        out.writeByte(msg.getOpcode() + nextKey());
         if (msg.getType() == MessageType.VARIABLE) {
             out.writeByte(msg.getSize());
         } else if (msg.getType() == MessageType.VARIABLE_SHORT) {
@@ -39,5 +54,19 @@ public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage>
         out.writeBytes(msg.getPayload().getBuffer());
 
         msg.getPayload().release();
+        msg.recycle();
+    }
+
+    /**
+     * Retrieves the next key from the keystream, pulling another block from the encryptor if all keys have been used.
+     *
+     * @return The next key.
+     */
+    private int nextKey() {
+        if (keyIndex == KEYSTREAM_LENGTH) {
+            encryptor.nextInts(keystream);
+            keyIndex = 0;
+        }
+        return keystream[keyIndex++];
     }
 }
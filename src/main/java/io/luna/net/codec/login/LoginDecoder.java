@@ -6,6 +6,7 @@ import io.luna.net.codec.IsaacCipher;
 import io.luna.net.msg.MessageRepository;
 import io.luna.net.session.LoginSession;
 import io.luna.net.session.Session;
+import io.luna.util.RsaUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -17,8 +18,14 @@ import java.util.List;
 import java.util.Random;
 
 import static com.google.common.base.Preconditions.checkState;
+import static io.luna.LunaConstants.RSA_CRT;
+import static io.luna.LunaConstants.RSA_DP;
+import static io.luna.LunaConstants.RSA_DQ;
 import static io.luna.LunaConstants.RSA_EXPONENT;
 import static io.luna.LunaConstants.RSA_MODULUS;
+import static io.luna.LunaConstants.RSA_P;
+import static io.luna.LunaConstants.RSA_Q;
+import static io.luna.LunaConstants.RSA_QINV;
 import static io.luna.net.LunaNetworkConstants.SESSION_KEY;
 
 /**
@@ -156,7 +163,7 @@ public final class LoginDecoder extends ByteToMessageDecoder {
             in.readBytes(rsaBytes);
 
             ByteBuf rsaBuffer = ctx.alloc().buffer();
-            rsaBuffer.writeBytes(new BigInteger(rsaBytes).modPow(RSA_EXPONENT, RSA_MODULUS).toByteArray());
+            rsaBuffer.writeBytes(decryptRsa(new BigInteger(rsaBytes)).toByteArray());
 
             int rsaOpcode = rsaBuffer.readUnsignedByte();
             checkState(rsaOpcode == 10, "rsaOpcode != 10");
@@ -184,6 +191,19 @@ public final class LoginDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Decrypts the RSA block, using the Chinese Remainder Theorem if the CRT parameters are present.
+     *
+     * @param value The encrypted value.
+     * @return The decrypted value.
+     */
+    private BigInteger decryptRsa(BigInteger value) {
+        if (RSA_CRT) {
+            return RsaUtils.decryptCrt(value, RSA_P, RSA_Q, RSA_DP, RSA_DQ, RSA_QINV);
+        }
+        return RsaUtils.decrypt(value, RSA_MODULUS, RSA_EXPONENT);
+    }
+
     /**
      * An enumerated type whose elements represent the various stages of the login protocol.
      */
@@ -2,36 +2,68 @@ package io.luna.net.msg;
 
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.MessageType;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
- * A message that can act as an inbound or outbound packet of data. It can be safely used across multiple threads due to it
- * being immutable.
+ * A message that can act as an inbound or outbound packet of data. It can be safely handed off between threads, as it is
+ * never modified after being created. Outbound messages obtained through {@link #pooled(int, MessageType, ByteMessage)}
+ * are returned to their pool by the encoder once written, and must not be retained past that point.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class GameMessage {
 
+    /**
+     * The recycler for pooled instances.
+     */
+    private static final Recycler<GameMessage> RECYCLER = new Recycler<GameMessage>() {
+        @Override
+        protected GameMessage newObject(Handle<GameMessage> handle) {
+            return new GameMessage(handle);
+        }
+    };
+
+    /**
+     * Obtains a pooled {@link GameMessage}, which must be recycled with {@link #recycle()} once encoded.
+     *
+     * @param opcode The opcode of this message.
+     * @param type The type of this message.
+     * @param payload The payload of this message.
+     * @return The pooled message.
+     */
+    public static GameMessage pooled(int opcode, MessageType type, ByteMessage payload) {
+        GameMessage msg = RECYCLER.get();
+        msg.init(opcode, type, payload);
+        return msg;
+    }
+
+    /**
+     * The handle used to recycle this message, {@code null} if this message is not pooled.
+     */
+    private final Handle<GameMessage> handle;
+
     /**
      * The opcode of this message.
      */
-    private final int opcode;
+    private int opcode;
 
     /**
      * The size of this message.
      */
-    private final int size;
+    private int size;
 
     /**
      * The type of this message.
      */
-    private final MessageType type;
+    private MessageType type;
 
     /**
      * The payload of this message.
      */
-    private final ByteMessage payload;
+    private ByteMessage payload;
 
     /**
      * Creates a new {@link GameMessage}.
@@ -41,6 +73,27 @@ public final class GameMessage {
      * @param payload The payload of this message.
      */
     public GameMessage(int opcode, MessageType type, ByteMessage payload) {
+        handle = null;
+        init(opcode, type, payload);
+    }
+
+    /**
+     * Creates a new pooled {@link GameMessage}.
+     *
+     * @param handle The handle used to recycle this message.
+     */
+    private GameMessage(Handle<GameMessage> handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Initializes the contents of this message.
+     *
+     * @param opcode The opcode of this message.
+     * @param type The type of this message.
+     * @param payload The payload of this message.
+     */
+    private void init(int opcode, MessageType type, ByteMessage payload) {
         checkArgument(opcode >= 0, "opcode < 0");
         checkArgument(type != MessageType.RAW, "type == MessageType.RAW");
 
@@ -50,6 +103,17 @@ public final class GameMessage {
         size = payload.getBuffer().readableBytes();
     }
 
+    /**
+     * Returns this message to its pool. Does nothing if this message is not pooled.
+     */
+    public void recycle() {
+        if (handle != null) {
+            payload = null;
+            type = null;
+            handle.recycle(this);
+        }
+    }
+
     /**
      * @return The opcode of this message.
      */
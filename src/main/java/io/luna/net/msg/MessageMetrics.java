@@ -0,0 +1,270 @@
+package io.luna.net.msg;
+
+import io.luna.game.model.mobile.Player;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Per-opcode counters and latency histograms for inbound {@link GameMessage}s. The time spent within {@link
+ * MessageReader#read(Player, GameMessage)} and the time spent posting the resulting event to plugins are recorded
+ * separately, into histograms with power-of-two nanosecond buckets. Recording is a handful of atomic increments, so this
+ * is always enabled.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class MessageMetrics {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The amount of opcodes tracked.
+     */
+    private static final int OPCODES = 257;
+
+    /**
+     * The amount of histogram buckets per opcode. Bucket {@code n} holds durations below {@code 2^n} nanoseconds, with
+     * the last bucket holding everything longer.
+     */
+    private static final int BUCKETS = 40;
+
+    /**
+     * The amount of messages handled, per opcode.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(OPCODES);
+
+    /**
+     * The amount of messages that threw an exception while being handled, per opcode.
+     */
+    private final AtomicLongArray errors = new AtomicLongArray(OPCODES);
+
+    /**
+     * The amount of messages that exceeded the slow threshold, per opcode.
+     */
+    private final AtomicLongArray slow = new AtomicLongArray(OPCODES);
+
+    /**
+     * The histograms of reading times, {@code BUCKETS} entries per opcode.
+     */
+    private final AtomicLongArray readTimes = new AtomicLongArray(OPCODES * BUCKETS);
+
+    /**
+     * The histograms of plugin posting times, {@code BUCKETS} entries per opcode.
+     */
+    private final AtomicLongArray postTimes = new AtomicLongArray(OPCODES * BUCKETS);
+
+    /**
+     * The longest total handling time, per opcode.
+     */
+    private final AtomicLongArray maxTimes = new AtomicLongArray(OPCODES);
+
+    /**
+     * The total handling time in nanoseconds above which a message is logged as slow.
+     */
+    private final long slowThreshold;
+
+    /**
+     * Creates a new {@link MessageMetrics}.
+     *
+     * @param slowThreshold The total handling time above which a message is logged as slow.
+     * @param unit The unit of {@code slowThreshold}.
+     */
+    public MessageMetrics(long slowThreshold, TimeUnit unit) {
+        checkArgument(slowThreshold > 0, "slowThreshold <= 0");
+        this.slowThreshold = unit.toNanos(slowThreshold);
+    }
+
+    /**
+     * Records a handled message, logging it if it exceeded the slow threshold.
+     *
+     * @param player The player that sent the message.
+     * @param opcode The opcode of the message.
+     * @param readNanos The time spent reading the message.
+     * @param postNanos The time spent posting the resulting event, {@code -1} if none was posted.
+     * @param failed If an exception was thrown while handling the message.
+     */
+    public void record(Player player, int opcode, long readNanos, long postNanos, boolean failed) {
+        counts.incrementAndGet(opcode);
+        readTimes.incrementAndGet(opcode * BUCKETS + bucket(readNanos));
+        if (postNanos >= 0) {
+            postTimes.incrementAndGet(opcode * BUCKETS + bucket(postNanos));
+        } else {
+            postNanos = 0;
+        }
+        if (failed) {
+            errors.incrementAndGet(opcode);
+        }
+
+        long total = readNanos + postNanos;
+        maxTimes.accumulateAndGet(opcode, total, Math::max);
+        if (total >= slowThreshold) {
+            slow.incrementAndGet(opcode);
+            LOGGER.warn("{} took {}ms to handle opcode {} (read: {}ms, post: {}ms).", player, toMillis(total), opcode,
+                toMillis(readNanos), toMillis(postNanos));
+        }
+    }
+
+    /**
+     * Returns the amount of messages handled for {@code opcode}.
+     *
+     * @param opcode The opcode.
+     * @return The message count.
+     */
+    public long getCount(int opcode) {
+        return counts.get(opcode);
+    }
+
+    /**
+     * Returns the amount of messages for {@code opcode} that threw an exception while being handled.
+     *
+     * @param opcode The opcode.
+     * @return The error count.
+     */
+    public long getErrors(int opcode) {
+        return errors.get(opcode);
+    }
+
+    /**
+     * Returns the amount of messages for {@code opcode} that exceeded the slow threshold.
+     *
+     * @param opcode The opcode.
+     * @return The slow message count.
+     */
+    public long getSlow(int opcode) {
+        return slow.get(opcode);
+    }
+
+    /**
+     * Returns an upper bound on the {@code percentile} reading time for {@code opcode}.
+     *
+     * @param opcode The opcode.
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The reading time in nanoseconds, rounded up to a power of two.
+     */
+    public long getReadPercentile(int opcode, double percentile) {
+        return percentile(readTimes, opcode, percentile);
+    }
+
+    /**
+     * Returns an upper bound on the {@code percentile} plugin posting time for {@code opcode}.
+     *
+     * @param opcode The opcode.
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The posting time in nanoseconds, rounded up to a power of two.
+     */
+    public long getPostPercentile(int opcode, double percentile) {
+        return percentile(postTimes, opcode, percentile);
+    }
+
+    /**
+     * Returns the longest total handling time for {@code opcode}.
+     *
+     * @param opcode The opcode.
+     * @return The handling time in nanoseconds.
+     */
+    public long getMax(int opcode) {
+        return maxTimes.get(opcode);
+    }
+
+    /**
+     * Builds a table of every opcode that has been handled at least once.
+     *
+     * @return The report, one line per opcode.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-7s%10s%8s%7s%11s%11s%11s%11s%11s%n", "opcode", "count",
+            "errors", "slow", "read p50", "read p99", "post p50", "post p99", "max"));
+        for (int opcode = 0; opcode < OPCODES; opcode++) {
+            long count = counts.get(opcode);
+            if (count == 0) {
+                continue;
+            }
+            sb.append(String.format("%-7d%10d%8d%7d%9dus%9dus%9dus%9dus%9dus%n", opcode, count, errors.get(opcode),
+                slow.get(opcode), toMicros(getReadPercentile(opcode, 50)), toMicros(getReadPercentile(opcode, 99)),
+                toMicros(getPostPercentile(opcode, 50)), toMicros(getPostPercentile(opcode, 99)),
+                toMicros(maxTimes.get(opcode))));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Logs the table built by {@link #report()}, if any messages have been handled.
+     */
+    public void logReport() {
+        for (int opcode = 0; opcode < OPCODES; opcode++) {
+            if (counts.get(opcode) > 0) {
+                LOGGER.info("Inbound message metrics:{}{}", System.lineSeparator(), report());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Computes an upper bound on a percentile from a histogram.
+     *
+     * @param histograms The histograms.
+     * @param opcode The opcode of the histogram.
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The upper bound of the bucket containing the percentile, in nanoseconds.
+     */
+    private long percentile(AtomicLongArray histograms, int opcode, double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        int offset = opcode * BUCKETS;
+        long total = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            total += histograms.get(offset + index);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += histograms.get(offset + index);
+            if (seen >= target && seen > 0) {
+                return 1L << index;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+    /**
+     * Returns the histogram bucket for a duration.
+     *
+     * @param nanos The duration, in nanoseconds.
+     * @return The bucket index.
+     */
+    private static int bucket(long nanos) {
+        int bucket = 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds for logging.
+     *
+     * @param nanos The amount of nanoseconds.
+     * @return The amount of milliseconds.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Converts nanoseconds to whole microseconds.
+     *
+     * @param nanos The amount of nanoseconds.
+     * @return The amount of microseconds.
+     */
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -33,22 +33,41 @@ public abstract class MessageReader {
 
     /**
      * Reads the payload from the inbound {@code msg}, and notifies all listeners of any events constructed from the
-     * operation. Return the buffer used to hold the payload back to it's buffer pool, if applicable.
+     * operation. Return the buffer used to hold the payload back to it's buffer pool, if applicable. The time taken to
+     * read the message and to post its event is recorded within {@code metrics}.
      *
      * @param player The player.
      * @param msg The message to read.
+     * @param metrics The metrics to record timings in.
      */
-    public final void handleInboundMessage(Player player, GameMessage msg) {
+    public final void handleInboundMessage(Player player, GameMessage msg, MessageMetrics metrics) {
+        long start = System.nanoTime();
+        long readNanos = 0;
+        long postNanos = -1;
+        boolean failed = false;
         try {
             Event evt = read(player, msg);
+            readNanos = System.nanoTime() - start;
 
             if (evt != null) {
                 player.getPlugins().post(evt, player);
+                postNanos = System.nanoTime() - start - readNanos;
             }
         } catch (Exception e) {
+            failed = true;
             LOGGER.catching(e);
             player.logout();
         } finally {
+            if (failed) {
+                long elapsed = System.nanoTime() - start;
+                if (readNanos == 0) {
+                    readNanos = elapsed;
+                } else if (postNanos == -1) {
+                    postNanos = elapsed - readNanos;
+                }
+            }
+            metrics.record(player, msg.getOpcode(), readNanos, postNanos, failed);
+
             ByteMessage payload = msg.getPayload();
 
             if (payload.refCnt() > 0) {
@@ -1,7 +1,10 @@
 package io.luna.net.msg;
 
+import io.luna.LunaConstants;
 import io.luna.util.ThreadUtils;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * A repository that contains data related to incoming {@link GameMessage}s.
  *
@@ -19,6 +22,11 @@ public final class MessageRepository {
      */
     private final MessageReader[] messageReaders = new MessageReader[257];
 
+    /**
+     * The counters and latency histograms for incoming messages.
+     */
+    private final MessageMetrics metrics = new MessageMetrics(LunaConstants.SLOW_MESSAGE_THRESHOLD, TimeUnit.MILLISECONDS);
+
     /**
      * Creates a new {@link MessageRepository}.
      */
@@ -62,4 +70,11 @@ public final class MessageRepository {
     public MessageReader getHandler(int opcode) {
         return messageReaders[opcode];
     }
+
+    /**
+     * @return The counters and latency histograms for incoming messages.
+     */
+    public MessageMetrics getMetrics() {
+        return metrics;
+    }
 }
@@ -24,6 +24,12 @@ public abstract class MessageWriter {
      */
     public GameMessage handleOutboundMessage(Player player) {
         ByteMessage msg = write(player);
-        return new GameMessage(msg.getOpcode(), msg.getType(), msg);
+        return GameMessage.pooled(msg.getOpcode(), msg.getType(), msg);
+    }
+
+    /**
+     * Returns this writer to its pool once its message has been built. Does nothing for writers that are not pooled.
+     */
+    public void recycle() {
     }
 }
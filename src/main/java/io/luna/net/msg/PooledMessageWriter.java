@@ -0,0 +1,44 @@
+package io.luna.net.msg;
+
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
+
+/**
+ * A {@link MessageWriter} that can be obtained from and returned to a {@link Recycler}. Pooled instances are recycled as
+ * soon as their message has been built, so they must not be retained or queued more than once. Instances created without
+ * a {@link Handle} are never recycled.
+ *
+ * @param <T> The type of the writer.
+ * @author lare96 <http://github.org/lare96>
+ */
+public abstract class PooledMessageWriter<T extends PooledMessageWriter<T>> extends MessageWriter {
+
+    /**
+     * The handle used to recycle this writer, {@code null} if this writer is not pooled.
+     */
+    private final Handle<T> handle;
+
+    /**
+     * Creates a new {@link PooledMessageWriter}.
+     *
+     * @param handle The handle used to recycle this writer, {@code null} if this writer is not pooled.
+     */
+    protected PooledMessageWriter(Handle<T> handle) {
+        this.handle = handle;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final void recycle() {
+        if (handle != null) {
+            clear();
+            handle.recycle((T) this);
+        }
+    }
+
+    /**
+     * Clears any references held by this writer before it is returned to its pool.
+     */
+    protected void clear() {
+    }
+}
@@ -2,6 +2,7 @@ package io.luna.net.msg.out;
 
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.MessageWriter;
 import org.apache.logging.log4j.message.ParameterizedMessage;
@@ -14,10 +15,15 @@ import org.apache.logging.log4j.message.ParameterizedMessage;
 public final class GameChatboxMessageWriter extends MessageWriter {
 
     /**
-     * The message to write to the chatbox.
+     * The message to write to the chatbox, or {@code null} if it was encoded ahead of time.
      */
     private final String message;
 
+    /**
+     * The encoded message to write to the chatbox, or {@code null} if it was not encoded ahead of time.
+     */
+    private final EncodedString encodedMessage;
+
     /**
      * Creates a new {@link GameChatboxMessageWriter}.
      *
@@ -25,6 +31,17 @@ public final class GameChatboxMessageWriter extends MessageWriter {
      */
     public GameChatboxMessageWriter(String message) {
         this.message = message;
+        encodedMessage = null;
+    }
+
+    /**
+     * Creates a new {@link GameChatboxMessageWriter} for a constant message that was encoded ahead of time.
+     *
+     * @param encodedMessage The encoded message to write to the chatbox.
+     */
+    public GameChatboxMessageWriter(EncodedString encodedMessage) {
+        this.encodedMessage = encodedMessage;
+        message = null;
     }
 
     /**
@@ -43,7 +60,11 @@ public final class GameChatboxMessageWriter extends MessageWriter {
     @Override
     public ByteMessage write(Player player) {
         ByteMessage msg = ByteMessage.message(253, MessageType.VARIABLE);
-        msg.putString(message);
+        if (encodedMessage != null) {
+            msg.putString(encodedMessage);
+        } else {
+            msg.putString(message);
+        }
         return msg;
     }
 }
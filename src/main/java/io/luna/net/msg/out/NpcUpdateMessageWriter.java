@@ -1,6 +1,7 @@
 package io.luna.net.msg.out;
 
 import io.luna.game.model.Direction;
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.mobile.Npc;
 import io.luna.game.model.mobile.Player;
 import io.luna.game.model.mobile.update.UpdateBlock;
@@ -89,8 +90,8 @@ public final class NpcUpdateMessageWriter extends MessageWriter {
     private void addNpc(Player player, Npc addNpc, ByteMessage msg) {
         boolean updateRequired = !addNpc.getUpdateFlags().isEmpty();
 
-        int deltaX = addNpc.getPosition().getX() - player.getPosition().getX();
-        int deltaY = addNpc.getPosition().getY() - player.getPosition().getY();
+        int deltaX = PackedPosition.getX(addNpc.getPackedPosition()) - PackedPosition.getX(player.getPackedPosition());
+        int deltaY = PackedPosition.getY(addNpc.getPackedPosition()) - PackedPosition.getY(player.getPackedPosition());
 
         msg.putBits(14, addNpc.getIndex());
         msg.putBits(5, deltaY);
@@ -2,6 +2,7 @@ package io.luna.net.msg.out;
 
 import io.luna.game.model.Direction;
 import io.luna.game.model.EntityState;
+import io.luna.game.model.PackedPosition;
 import io.luna.game.model.Position;
 import io.luna.game.model.mobile.Player;
 import io.luna.game.model.mobile.update.UpdateBlock;
@@ -63,7 +64,7 @@ public final class PlayerUpdateMessageWriter extends MessageWriter {
                 if (player.equals(other) || other.getState() != EntityState.ACTIVE) {
                     continue;
                 }
-                if (other.getPosition().isViewable(player.getPosition()) && player.getLocalPlayers().add(other)) {
+                if (other.isViewable(player) && player.getLocalPlayers().add(other)) {
                     playersAdded++;
                     addPlayer(msg, player, other);
                     blockSet.encodeUpdateBlocks(other, blockMsg, UpdateState.ADD_LOCAL);
@@ -98,8 +99,8 @@ public final class PlayerUpdateMessageWriter extends MessageWriter {
         msg.putBit(true);
         msg.putBit(true);
 
-        int deltaX = addPlayer.getPosition().getX() - player.getPosition().getX();
-        int deltaY = addPlayer.getPosition().getY() - player.getPosition().getY();
+        int deltaX = PackedPosition.getX(addPlayer.getPackedPosition()) - PackedPosition.getX(player.getPackedPosition());
+        int deltaY = PackedPosition.getY(addPlayer.getPackedPosition()) - PackedPosition.getY(player.getPackedPosition());
         msg.putBits(5, deltaY);
         msg.putBits(5, deltaX);
     }
@@ -4,23 +4,50 @@ import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteOrder;
 import io.luna.net.msg.MessageWriter;
+import io.luna.net.msg.PooledMessageWriter;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
 
 /**
  * A {@link MessageWriter} implementation that handles both {@code byte} and {@code short} state messages.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class StateMessageWriter extends MessageWriter {
+public final class StateMessageWriter extends PooledMessageWriter<StateMessageWriter> {
+
+    /**
+     * The recycler for pooled instances.
+     */
+    private static final Recycler<StateMessageWriter> RECYCLER = new Recycler<StateMessageWriter>() {
+        @Override
+        protected StateMessageWriter newObject(Handle<StateMessageWriter> handle) {
+            return new StateMessageWriter(handle);
+        }
+    };
+
+    /**
+     * Obtains a pooled {@link StateMessageWriter}, which is recycled once queued.
+     *
+     * @param id The identifier for the state.
+     * @param state The value of the state.
+     * @return The pooled writer.
+     */
+    public static StateMessageWriter pooled(int id, int state) {
+        StateMessageWriter writer = RECYCLER.get();
+        writer.id = id;
+        writer.state = state;
+        return writer;
+    }
 
     /**
      * The identifier for the state.
      */
-    private final int id;
+    private int id;
 
     /**
      * The value of the state.
      */
-    private final int state;
+    private int state;
 
     /**
      * Creates a new {@link StateMessageWriter}.
@@ -29,10 +56,20 @@ public final class StateMessageWriter extends MessageWriter {
      * @param state The value of the state.
      */
     public StateMessageWriter(int id, int state) {
+        super(null);
         this.id = id;
         this.state = state;
     }
 
+    /**
+     * Creates a new pooled {@link StateMessageWriter}.
+     *
+     * @param handle The handle used to recycle this writer.
+     */
+    private StateMessageWriter(Handle<StateMessageWriter> handle) {
+        super(handle);
+    }
+
     @Override
     public ByteMessage write(Player player) {
         return state <= Byte.MAX_VALUE ? writeByteState() : writeShortState();
@@ -57,4 +94,4 @@ public final class StateMessageWriter extends MessageWriter {
         msg.putInt(state, ByteOrder.MIDDLE);
         return msg;
     }
-}
\ No newline at end of file
+}
@@ -3,18 +3,43 @@ package io.luna.net.msg.out;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.msg.MessageWriter;
+import io.luna.net.msg.PooledMessageWriter;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
 
 /**
  * A {@link MessageWriter} implementation that sends the run energy value to the client.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class UpdateRunEnergyMessageWriter extends MessageWriter {
+public final class UpdateRunEnergyMessageWriter extends PooledMessageWriter<UpdateRunEnergyMessageWriter> {
+
+    /**
+     * The recycler for pooled instances.
+     */
+    private static final Recycler<UpdateRunEnergyMessageWriter> RECYCLER = new Recycler<UpdateRunEnergyMessageWriter>() {
+        @Override
+        protected UpdateRunEnergyMessageWriter newObject(Handle<UpdateRunEnergyMessageWriter> handle) {
+            return new UpdateRunEnergyMessageWriter(handle);
+        }
+    };
+
+    /**
+     * Obtains a pooled {@link UpdateRunEnergyMessageWriter}, which is recycled once queued.
+     *
+     * @param energy The run energy value to send.
+     * @return The pooled writer.
+     */
+    public static UpdateRunEnergyMessageWriter pooled(int energy) {
+        UpdateRunEnergyMessageWriter writer = RECYCLER.get();
+        writer.energy = energy;
+        return writer;
+    }
 
     /**
      * The run energy value to send.
      */
-    private final int energy;
+    private int energy;
 
     /**
      * Creates a new {@link UpdateRunEnergyMessageWriter}.
@@ -22,9 +47,19 @@ public final class UpdateRunEnergyMessageWriter extends MessageWriter {
      * @param energy The run energy value to send.
      */
     public UpdateRunEnergyMessageWriter(int energy) {
+        super(null);
         this.energy = energy;
     }
 
+    /**
+     * Creates a new pooled {@link UpdateRunEnergyMessageWriter}.
+     *
+     * @param handle The handle used to recycle this writer.
+     */
+    private UpdateRunEnergyMessageWriter(Handle<UpdateRunEnergyMessageWriter> handle) {
+        super(handle);
+    }
+
     @Override
     public ByteMessage write(Player player) {
         ByteMessage msg = ByteMessage.message(110);
@@ -3,18 +3,43 @@ package io.luna.net.msg.out;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.msg.MessageWriter;
+import io.luna.net.msg.PooledMessageWriter;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
 
 /**
  * A {@link MessageWriter} implementation that sends the weight value to the client.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class UpdateWeightMessageWriter extends MessageWriter {
+public final class UpdateWeightMessageWriter extends PooledMessageWriter<UpdateWeightMessageWriter> {
+
+    /**
+     * The recycler for pooled instances.
+     */
+    private static final Recycler<UpdateWeightMessageWriter> RECYCLER = new Recycler<UpdateWeightMessageWriter>() {
+        @Override
+        protected UpdateWeightMessageWriter newObject(Handle<UpdateWeightMessageWriter> handle) {
+            return new UpdateWeightMessageWriter(handle);
+        }
+    };
+
+    /**
+     * Obtains a pooled {@link UpdateWeightMessageWriter}, which is recycled once queued.
+     *
+     * @param weight The weight value to send.
+     * @return The pooled writer.
+     */
+    public static UpdateWeightMessageWriter pooled(int weight) {
+        UpdateWeightMessageWriter writer = RECYCLER.get();
+        writer.weight = weight;
+        return writer;
+    }
 
     /**
      * The weight value to send.
      */
-    private final int weight;
+    private int weight;
 
     /**
      * Creates new {@link UpdateWeightMessageWriter}.
@@ -22,9 +47,19 @@ public final class UpdateWeightMessageWriter extends MessageWriter {
      * @param weight The weight value to send.
      */
     public UpdateWeightMessageWriter(int weight) {
+        super(null);
         this.weight = weight;
     }
 
+    /**
+     * Creates a new pooled {@link UpdateWeightMessageWriter}.
+     *
+     * @param handle The handle used to recycle this writer.
+     */
+    private UpdateWeightMessageWriter(Handle<UpdateWeightMessageWriter> handle) {
+        super(handle);
+    }
+
     @Override
     public ByteMessage write(Player player) {
         ByteMessage msg = ByteMessage.message(240);
@@ -3,25 +3,73 @@ package io.luna.net.msg.out;
 import io.luna.game.model.mobile.Player;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteTransform;
+import io.luna.net.codec.EncodedString;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.MessageWriter;
+import io.luna.net.msg.PooledMessageWriter;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
 
 /**
  * A {@link MessageWriter} implementation that displays text on a widget.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class WidgetTextMessageWriter extends MessageWriter {
+public final class WidgetTextMessageWriter extends PooledMessageWriter<WidgetTextMessageWriter> {
 
     /**
-     * The text to display on the widget.
+     * The recycler for pooled instances.
      */
-    private final String text;
+    private static final Recycler<WidgetTextMessageWriter> RECYCLER = new Recycler<WidgetTextMessageWriter>() {
+        @Override
+        protected WidgetTextMessageWriter newObject(Handle<WidgetTextMessageWriter> handle) {
+            return new WidgetTextMessageWriter(handle);
+        }
+    };
+
+    /**
+     * Obtains a pooled {@link WidgetTextMessageWriter}, which is recycled once queued.
+     *
+     * @param text The text to display on the widget.
+     * @param id The identifier for the widget that the text will be displayed on.
+     * @return The pooled writer.
+     */
+    public static WidgetTextMessageWriter pooled(String text, int id) {
+        WidgetTextMessageWriter writer = RECYCLER.get();
+        writer.text = text;
+        writer.id = id;
+        return writer;
+    }
+
+    /**
+     * Obtains a pooled {@link WidgetTextMessageWriter} for text that was encoded ahead of time, which is recycled once
+     * queued.
+     *
+     * @param encodedText The encoded text to display on the widget.
+     * @param id The identifier for the widget that the text will be displayed on.
+     * @return The pooled writer.
+     */
+    public static WidgetTextMessageWriter pooled(EncodedString encodedText, int id) {
+        WidgetTextMessageWriter writer = RECYCLER.get();
+        writer.encodedText = encodedText;
+        writer.id = id;
+        return writer;
+    }
+
+    /**
+     * The text to display on the widget, or {@code null} if it was encoded ahead of time.
+     */
+    private String text;
+
+    /**
+     * The encoded text to display on the widget, or {@code null} if it was not encoded ahead of time.
+     */
+    private EncodedString encodedText;
 
     /**
      * The identifier for the widget that the text will be displayed on.
      */
-    private final int id;
+    private int id;
 
     /**
      * Creates a new {@link WidgetTextMessageWriter}.
@@ -30,15 +78,47 @@ public final class WidgetTextMessageWriter extends MessageWriter {
      * @param id The identifier for the widget that the text will be displayed on.
      */
     public WidgetTextMessageWriter(String text, int id) {
+        super(null);
         this.text = text;
         this.id = id;
     }
 
+    /**
+     * Creates a new {@link WidgetTextMessageWriter} for text that was encoded ahead of time.
+     *
+     * @param encodedText The encoded text to display on the widget.
+     * @param id The identifier for the widget that the text will be displayed on.
+     */
+    public WidgetTextMessageWriter(EncodedString encodedText, int id) {
+        super(null);
+        this.encodedText = encodedText;
+        this.id = id;
+    }
+
+    /**
+     * Creates a new pooled {@link WidgetTextMessageWriter}.
+     *
+     * @param handle The handle used to recycle this writer.
+     */
+    private WidgetTextMessageWriter(Handle<WidgetTextMessageWriter> handle) {
+        super(handle);
+    }
+
     @Override
     public ByteMessage write(Player player) {
         ByteMessage msg = ByteMessage.message(126, MessageType.VARIABLE_SHORT);
-        msg.putString(text);
+        if (encodedText != null) {
+            msg.putString(encodedText);
+        } else {
+            msg.putString(text);
+        }
         msg.putShort(id, ByteTransform.A);
         return msg;
     }
+
+    @Override
+    protected void clear() {
+        text = null;
+        encodedText = null;
+    }
 }
@@ -84,6 +84,7 @@ public final class GameSession extends Session {
         if (channel.isActive()) {
             channel.write(msg.handleOutboundMessage(player), channel.voidPromise());
         }
+        msg.recycle();
     }
 
     /**
@@ -109,7 +110,7 @@ public final class GameSession extends Session {
                 break;
             }
             MessageReader inbound = messageRepository.getHandler(msg.getOpcode());
-            inbound.handleInboundMessage(player, msg);
+            inbound.handleInboundMessage(player, msg, messageRepository.getMetrics());
         }
     }
 
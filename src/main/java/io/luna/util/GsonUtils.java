@@ -4,6 +4,10 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.luna.game.model.Position;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -17,10 +21,54 @@ import java.io.IOException;
 public final class GsonUtils {
 
     /**
-     * A general purpose {@link Gson} instance that has no registered type adapters.
+     * A {@link TypeAdapter} that reads and writes {@link Position}s as their separate coordinates, since they are stored
+     * packed. Missing coordinates default to {@code 0}.
+     */
+    private static final class PositionAdapter extends TypeAdapter<Position> {
+
+        @Override
+        public void write(JsonWriter out, Position value) throws IOException {
+            out.beginObject();
+            out.name("x").value(value.getX());
+            out.name("y").value(value.getY());
+            out.name("z").value(value.getZ());
+            out.endObject();
+        }
+
+        @Override
+        public Position read(JsonReader in) throws IOException {
+            int x = 0;
+            int y = 0;
+            int z = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "x":
+                    x = in.nextInt();
+                    break;
+                case "y":
+                    y = in.nextInt();
+                    break;
+                case "z":
+                    z = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new Position(x, y, z);
+        }
+    }
+
+    /**
+     * A general purpose {@link Gson} instance that only has a type adapter for {@link Position}s registered.
      */
     public static final Gson GSON = new GsonBuilder().disableInnerClassSerialization().setPrettyPrinting()
-        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapter(Position.class, new PositionAdapter().nullSafe()).create();
 
     /**
      * Shortcut to function {@link Gson#fromJson(JsonElement, Class)}.
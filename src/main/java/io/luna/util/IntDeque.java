@@ -0,0 +1,146 @@
+package io.luna.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable ring buffer of primitive {@code int}s, usable as a queue or a stack without boxing.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class IntDeque {
+
+    /**
+     * The backing array, its length is always a power of two.
+     */
+    private int[] elements;
+
+    /**
+     * The index of the first element.
+     */
+    private int head;
+
+    /**
+     * The amount of elements.
+     */
+    private int size;
+
+    /**
+     * Creates a new {@link IntDeque}.
+     *
+     * @param initialCapacity The initial capacity, rounded up to a power of two.
+     */
+    public IntDeque(int initialCapacity) {
+        elements = new int[Math.max(Integer.highestOneBit(Math.max(initialCapacity, 1) - 1) << 1, 2)];
+    }
+
+    /**
+     * Creates a new {@link IntDeque} with an initial capacity of {@code 16}.
+     */
+    public IntDeque() {
+        this(16);
+    }
+
+    /**
+     * Adds {@code value} to the back of this deque.
+     *
+     * @param value The value to add.
+     */
+    public void addLast(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the front element.
+     *
+     * @return The front element.
+     * @throws NoSuchElementException If this deque is empty.
+     */
+    public int pollFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the back element.
+     *
+     * @return The back element.
+     * @throws NoSuchElementException If this deque is empty.
+     */
+    public int pollLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        return elements[(head + size) & (elements.length - 1)];
+    }
+
+    /**
+     * Returns the back element without removing it.
+     *
+     * @return The back element.
+     * @throws NoSuchElementException If this deque is empty.
+     */
+    public int peekLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Returns the element at {@code index}, counting from the front.
+     *
+     * @param index The index.
+     * @return The element.
+     * @throws IndexOutOfBoundsException If {@code index} is out of range.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return The amount of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if there are no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Doubles the capacity of the backing array, unwrapping the elements to the front.
+     */
+    private void grow() {
+        int[] grown = new int[elements.length * 2];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
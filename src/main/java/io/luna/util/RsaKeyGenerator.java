@@ -0,0 +1,62 @@
+package io.luna.util;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * A command-line utility that generates a new RSA key pair and prints every parameter in the format used by the {@code
+ * [network]} table of {@code luna.toml}. The public exponent and modulus also need to be placed in the client.
+ * <p>
+ * The key size in bits can be given as the first argument, otherwise {@code 1024} is used.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class RsaKeyGenerator {
+
+    /**
+     * The public exponent that will be used.
+     */
+    private static final BigInteger PUBLIC_EXPONENT = BigInteger.valueOf(65537);
+
+    /**
+     * The default key size, in bits.
+     */
+    private static final int DEFAULT_BITS = 1024;
+
+    /**
+     * Generates and prints a new key pair.
+     *
+     * @param args The runtime arguments, the first of which is the optional key size.
+     */
+    public static void main(String[] args) {
+        int bits = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BITS;
+        Random random = new SecureRandom();
+
+        BigInteger p, q, phi;
+        do {
+            p = BigInteger.probablePrime(bits / 2, random);
+            q = BigInteger.probablePrime(bits - bits / 2, random);
+            phi = p.subtract(BigInteger.ONE).multiply(q.subtract(BigInteger.ONE));
+        } while (p.equals(q) || !phi.gcd(PUBLIC_EXPONENT).equals(BigInteger.ONE) ||
+            p.multiply(q).bitLength() != bits);
+
+        BigInteger modulus = p.multiply(q);
+        BigInteger exponent = PUBLIC_EXPONENT.modInverse(phi);
+
+        System.out.println("# public exponent (client) = " + PUBLIC_EXPONENT);
+        System.out.println("rsa_modulus = \"" + modulus + "\"");
+        System.out.println("rsa_exponent = \"" + exponent + "\"");
+        System.out.println("rsa_p = \"" + p + "\"");
+        System.out.println("rsa_q = \"" + q + "\"");
+        System.out.println("rsa_dp = \"" + exponent.mod(p.subtract(BigInteger.ONE)) + "\"");
+        System.out.println("rsa_dq = \"" + exponent.mod(q.subtract(BigInteger.ONE)) + "\"");
+        System.out.println("rsa_qinv = \"" + q.modInverse(p) + "\"");
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private RsaKeyGenerator() {
+    }
+}
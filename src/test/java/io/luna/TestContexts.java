@@ -0,0 +1,26 @@
+package io.luna;
+
+/**
+ * A static-utility class that creates {@link LunaContext}s for tests. The game service of the created contexts is not
+ * started, so tests drive the {@link io.luna.game.model.World} themselves. Definitions are read from {@code ./data}, so
+ * tests using this class must be run from the root directory.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TestContexts {
+
+    /**
+     * Creates a new {@link LunaContext}.
+     *
+     * @return The context.
+     */
+    public static LunaContext create() {
+        return new LunaContext();
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private TestContexts() {
+    }
+}
@@ -0,0 +1,132 @@
+package io.luna.codec;
+
+import io.luna.net.codec.ByteMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that bit access within {@link ByteMessage} is functioning correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ByteMessageTest {
+
+    /**
+     * The reference bit writer, which writes each byte touched individually. Reproduced here so that the accumulator
+     * based writer can be compared against it.
+     */
+    private static final class ReferenceBitWriter {
+
+        /**
+         * The buffer being written to, zeroed on allocation.
+         */
+        private final ByteBuf buf = Unpooled.buffer(1);
+
+        /**
+         * The current bit position.
+         */
+        private int bitIndex;
+
+        /**
+         * Writes {@code amount} bits of {@code value}.
+         */
+        private void putBits(int amount, int value) {
+            int bytePos = bitIndex >> 3;
+            int bitOffset = 8 - (bitIndex & 7);
+            bitIndex += amount;
+            int requiredSpace = bytePos - buf.writerIndex() + 1 + (amount + 7) / 8;
+            if (buf.writableBytes() < requiredSpace) {
+                buf.capacity(buf.capacity() + requiredSpace);
+            }
+            for (; amount > bitOffset; bitOffset = 8) {
+                byte tmp = buf.getByte(bytePos);
+                tmp &= ~mask(bitOffset);
+                tmp |= (value >> (amount - bitOffset)) & mask(bitOffset);
+                buf.setByte(bytePos++, tmp);
+                amount -= bitOffset;
+            }
+            byte tmp = buf.getByte(bytePos);
+            if (amount == bitOffset) {
+                tmp &= ~mask(bitOffset);
+                tmp |= value & mask(bitOffset);
+            } else {
+                tmp &= ~(mask(amount) << (bitOffset - amount));
+                tmp |= (value & mask(amount)) << (bitOffset - amount);
+            }
+            buf.setByte(bytePos, tmp);
+        }
+
+        /**
+         * Returns the written bytes.
+         */
+        private String finish() {
+            buf.writerIndex((bitIndex + 7) >> 3);
+            String hex = ByteBufUtil.hexDump(buf);
+            buf.release();
+            return hex;
+        }
+
+        /**
+         * Returns a mask of the lowest {@code bits} bits.
+         */
+        private int mask(int bits) {
+            return (1 << bits) - 1;
+        }
+    }
+
+    /**
+     * Test that random sequences of bit writes produce exactly the same bytes as the reference writer.
+     */
+    @Test
+    public void testPutBitsMatchesReference() {
+        Random random = new Random(317);
+        for (int round = 0; round < 500; round++) {
+            ReferenceBitWriter reference = new ReferenceBitWriter();
+            ByteMessage msg = ByteMessage.message();
+            msg.put(random.nextInt(256));
+
+            reference.buf.writeByte(msg.getBuffer().getByte(0));
+            reference.bitIndex = 8;
+            msg.startBitAccess();
+
+            int writes = random.nextInt(300);
+            for (int index = 0; index < writes; index++) {
+                int amount = 1 + random.nextInt(32);
+                int value = random.nextInt();
+                reference.putBits(amount, value);
+                msg.putBits(amount, value);
+            }
+            msg.endBitAccess();
+
+            try {
+                assertEquals(reference.finish(), ByteBufUtil.hexDump(msg.getBuffer()));
+            } finally {
+                msg.release();
+            }
+        }
+    }
+
+    /**
+     * Test that bytes written after bit access are placed after the last partial byte.
+     */
+    @Test
+    public void testBytesAfterBitAccess() {
+        ByteMessage msg = ByteMessage.message();
+        try {
+            msg.startBitAccess();
+            msg.putBits(11, 2047);
+            msg.endBitAccess();
+            msg.put(0x7F);
+
+            assertEquals("ffe07f", ByteBufUtil.hexDump(msg.getBuffer()));
+        } finally {
+            msg.release();
+        }
+    }
+}
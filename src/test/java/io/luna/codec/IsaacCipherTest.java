@@ -0,0 +1,37 @@
+package io.luna.codec;
+
+import io.luna.net.codec.IsaacCipher;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures the {@link IsaacCipher} is functioning correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class IsaacCipherTest {
+
+    /**
+     * Test that values generated in blocks are identical to values generated one at a time, across table regenerations.
+     */
+    @Test
+    public void testNextIntsMatchesNextInt() {
+        int[] seed = { 1, 2, 3, 4 };
+        IsaacCipher single = new IsaacCipher(seed);
+        IsaacCipher block = new IsaacCipher(seed);
+
+        int[] lengths = { 1, 7, 255, 256, 3, 600, 1 };
+        for (int length : lengths) {
+            int[] keys = new int[length + 2];
+            block.nextInts(keys, 1, length);
+
+            for (int index = 0; index < length; index++) {
+                assertEquals(single.nextInt(), keys[index + 1]);
+            }
+            assertEquals(0, keys[0]);
+            assertEquals(0, keys[length + 1]);
+        }
+        assertEquals(single.nextInt(), block.nextInt());
+    }
+}
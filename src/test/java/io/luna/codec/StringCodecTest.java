@@ -0,0 +1,89 @@
+package io.luna.codec;
+
+import com.google.common.base.Strings;
+import io.luna.net.codec.EncodedString;
+import io.luna.net.codec.StringCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that {@link StringCodec} encodes and decodes strings correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class StringCodecTest {
+
+    /**
+     * Test that strings survive a round trip, including Windows-1252 specific characters.
+     */
+    @Test
+    public void testRoundTrip() {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            StringCodec.write(buf, "You do not have enough space in your inventory.");
+            StringCodec.write(buf, "Caf\u00E9 \u20AC5 \u2013 \u201Cquoted\u201D");
+            StringCodec.write(buf, "");
+
+            assertEquals("You do not have enough space in your inventory.", StringCodec.read(buf));
+            assertEquals("Caf\u00E9 \u20AC5 \u2013 \u201Cquoted\u201D", StringCodec.read(buf));
+            assertEquals("", StringCodec.read(buf));
+            assertEquals(0, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Test that strings encoded ahead of time are written the same as strings encoded while writing.
+     */
+    @Test
+    public void testEncodedString() {
+        String string = "Caf\u00E9 \u20AC5";
+        EncodedString encoded = new EncodedString(string);
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            StringCodec.write(buf, encoded);
+            StringCodec.write(buf, string);
+
+            assertEquals(string.length() + 1, encoded.length());
+            assertEquals(string, StringCodec.read(buf));
+            assertEquals(string, StringCodec.read(buf));
+            assertEquals(0, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Test that characters outside of Windows-1252 are replaced, and that strings are terminated.
+     */
+    @Test
+    public void testEncode() {
+        byte[] expected = { 'a', (byte) 0x80, (byte) 0xE9, '?', 10 };
+        assertArrayEquals(expected, StringCodec.encode("a\u20AC\u00E9\u4E2D"));
+    }
+
+    /**
+     * Test that strings longer than the reused encoding array are written, and that shorter strings written afterwards
+     * are not affected by the leftover bytes.
+     */
+    @Test
+    public void testLongString() {
+        String longString = Strings.repeat("\u20AC", 1000);
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            StringCodec.write(buf, longString);
+            StringCodec.write(buf, "short");
+
+            assertEquals(longString, StringCodec.read(buf));
+            assertEquals("short", StringCodec.read(buf));
+            assertEquals(0, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+}
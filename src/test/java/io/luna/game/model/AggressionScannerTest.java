@@ -0,0 +1,102 @@
+package io.luna.game.model;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.net.session.GameSession;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * A test that ensures that {@link AggressionScanner} picks the same targets for the same placements every time.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AggressionScannerTest {
+
+    /**
+     * The identifier of an aggressive npc.
+     */
+    private static final int AGGRESSIVE_NPC = 52;
+
+    /**
+     * The identifier of a passive npc.
+     */
+    private static final int PASSIVE_NPC = 1;
+
+    /**
+     * Ensures the closest player is picked, with ties broken by the lowest player index, on every run.
+     */
+    @Test
+    public void testDeterministicTargets() {
+        for (int run = 0; run < 10; run++) {
+            LunaContext context = TestContexts.create();
+            World world = context.getWorld();
+
+            // Both players are two tiles away from the first npc, the lower index is found second.
+            Player east = addPlayer(context, new Position(3224, 3222));
+            Player west = addPlayer(context, new Position(3220, 3222));
+            Player north = addPlayer(context, new Position(3241, 3240));
+            assertEquals(1, east.getIndex());
+            assertEquals(2, west.getIndex());
+
+            Npc tied = addNpc(context, AGGRESSIVE_NPC, new Position(3222, 3222));
+            Npc closest = addNpc(context, AGGRESSIVE_NPC, new Position(3239, 3240));
+            Npc passive = addNpc(context, PASSIVE_NPC, new Position(3223, 3222));
+            Npc alone = addNpc(context, AGGRESSIVE_NPC, new Position(3232, 3222));
+
+            world.getRegions().process();
+            new AggressionScanner(world).process();
+
+            assertEquals(Optional.of(east), tied.getInteractingWith());
+            assertEquals(Optional.of(north), closest.getInteractingWith());
+            assertFalse(passive.getInteractingWith().isPresent());
+            assertFalse(alone.getInteractingWith().isPresent());
+        }
+    }
+
+    /**
+     * Adds a player to the world at {@code position}.
+     *
+     * @param context The context.
+     * @param position The position.
+     * @return The player.
+     */
+    private Player addPlayer(LunaContext context, Position position) {
+        Channel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        Player player = new Player(context, new PlayerCredentials("test", "password"));
+        player.setSession(new GameSession(player, channel, null, null, null));
+        player.setPosition(position);
+        context.getWorld().getPlayers().add(player);
+        return player;
+    }
+
+    /**
+     * Adds an npc to the world at {@code position}.
+     *
+     * @param context The context.
+     * @param id The identifier of the npc.
+     * @param position The position.
+     * @return The npc.
+     */
+    private Npc addNpc(LunaContext context, int id, Position position) {
+        Npc npc = new Npc(context, id, position);
+        context.getWorld().getNpcs().add(npc);
+        return npc;
+    }
+}
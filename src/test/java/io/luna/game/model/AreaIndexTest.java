@@ -0,0 +1,172 @@
+package io.luna.game.model;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.event.EventListener;
+import io.luna.game.event.EventListenerPipelineSet;
+import io.luna.game.event.impl.AreaEvent.AreaEnterEvent;
+import io.luna.game.event.impl.AreaEvent.AreaExitEvent;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.session.GameSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link AreaIndex} answers containment queries and posts area changes correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AreaIndexTest {
+
+    /**
+     * Ensures overlapping areas spanning several chunks are all found, and only on their own plane.
+     */
+    @Test
+    public void testNames() {
+        AreaIndex areas = new AreaIndex();
+        areas.register("wilderness", Area.create(2941, 3525, 3392, 3966, 0));
+        areas.register("edgeville_pit", Area.create(3080, 3530, 3100, 3545, 0), true);
+        areas.register("upstairs", Area.create(3080, 3530, 3100, 3545, 1));
+
+        List<String> names = areas.getNames(new Position(3085, 3535, 0));
+        assertEquals(new HashSet<>(names), new HashSet<>(Arrays.asList("wilderness", "edgeville_pit")));
+        assertEquals(1, areas.getNames(new Position(3200, 3900, 0)).size());
+        assertEquals(0, areas.getNames(new Position(3200, 3200, 0)).size());
+        assertEquals(1, areas.getNames(new Position(3085, 3535, 1)).size());
+
+        assertTrue(areas.isMultiCombat(new Position(3100, 3545, 0)));
+        assertFalse(areas.isMultiCombat(new Position(3101, 3545, 0)));
+        assertTrue(areas.contains("upstairs", new Position(3080, 3530, 1)));
+        assertFalse(areas.contains("upstairs", new Position(3080, 3530, 0)));
+    }
+
+    /**
+     * Ensures unregistered areas are removed from every chunk they overlapped.
+     */
+    @Test
+    public void testUnregister() {
+        AreaIndex areas = new AreaIndex();
+        areas.register("a", Area.create(3200, 3200, 3230, 3230, 0), true);
+        areas.register("b", Area.create(3210, 3210, 3220, 3220, 0));
+
+        assertTrue(areas.unregister("a"));
+        assertFalse(areas.unregister("a"));
+        assertNull(areas.get("a"));
+        assertEquals(1, areas.size());
+        assertFalse(areas.isMultiCombat(new Position(3200, 3200, 0)));
+        assertEquals(1, areas.getNames(new Position(3215, 3215, 0)).size());
+
+        areas.register("a", Area.create(3200, 3200, 3201, 3201, 0));
+        assertTrue(areas.contains("a", new Position(3201, 3201, 0)));
+    }
+
+    /**
+     * Ensures events are only posted when the areas containing an entity change, and that exits come before enters.
+     */
+    @Test
+    public void testUpdateEvents() {
+        LunaContext context = TestContexts.create();
+        List<String> events = new ArrayList<>();
+        EventListenerPipelineSet pipelines = context.getPlugins().getPipelines();
+        pipelines.addEventListener(AreaEnterEvent.class,
+            new EventListener<AreaEnterEvent>((evt, plr) -> events.add("enter " + evt.getName())));
+        pipelines.addEventListener(AreaExitEvent.class,
+            new EventListener<AreaExitEvent>((evt, plr) -> events.add("exit " + evt.getName())));
+
+        AreaIndex areas = new AreaIndex();
+        areas.register("a", Area.create(3200, 3200, 3210, 3210, 0));
+        areas.register("b", Area.create(3205, 3205, 3215, 3215, 0));
+        Npc npc = new Npc(context, 1, new Position(3202, 3202));
+
+        areas.update(npc, PackedPosition.NONE, pack(3202, 3202));
+        assertEquals(Collections.singletonList("enter a"), events);
+
+        events.clear();
+        areas.update(npc, pack(3202, 3202), pack(3203, 3203));
+        assertTrue(events.isEmpty());
+
+        areas.update(npc, pack(3203, 3203), pack(3212, 3212));
+        assertEquals(Arrays.asList("exit a", "enter b"), events);
+
+        events.clear();
+        areas.update(npc, pack(3212, 3212), pack(3207, 3207));
+        assertEquals(Collections.singletonList("enter a"), events);
+
+        events.clear();
+        areas.update(npc, pack(3207, 3207), pack(3230, 3230));
+        assertEquals(new HashSet<>(Arrays.asList("exit a", "exit b")), new HashSet<>(events));
+    }
+
+    /**
+     * Ensures the multi-combat sign is only sent to players when they move in or out of multi-combat areas.
+     */
+    @Test
+    public void testMultiCombatSign() {
+        LunaContext context = TestContexts.create();
+        EmbeddedChannel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        Player player = new Player(context, new PlayerCredentials("test", "password"));
+        player.setSession(new GameSession(player, channel, null, null, null));
+
+        AreaIndex areas = new AreaIndex();
+        areas.register("multi", Area.create(3200, 3200, 3210, 3210, 0), true);
+        areas.register("single", Area.create(3200, 3200, 3220, 3220, 0));
+
+        areas.update(player, pack(3215, 3215), pack(3205, 3205));
+        assertEquals(1, nextMultiCombatSign(channel));
+
+        areas.update(player, pack(3205, 3205), pack(3206, 3206));
+        assertEquals(-1, nextMultiCombatSign(channel));
+
+        areas.update(player, pack(3206, 3206), pack(3215, 3215));
+        assertEquals(0, nextMultiCombatSign(channel));
+        assertEquals(-1, nextMultiCombatSign(channel));
+    }
+
+    /**
+     * Reads the next multi-combat sign message queued on {@code channel}.
+     *
+     * @param channel The channel.
+     * @return {@code 1} if the sign was displayed, {@code 0} if it was removed, or {@code -1} if there was no message.
+     */
+    private int nextMultiCombatSign(EmbeddedChannel channel) {
+        channel.flush();
+        GameMessage msg = channel.readOutbound();
+        if (msg == null) {
+            return -1;
+        }
+        assertEquals(61, msg.getOpcode());
+        return msg.getPayload().get();
+    }
+
+    /**
+     * Packs a position on the ground plane.
+     *
+     * @param x The {@code X} coordinate.
+     * @param y The {@code Y} coordinate.
+     * @return The packed position.
+     */
+    private int pack(int x, int y) {
+        return PackedPosition.pack(x, y, 0);
+    }
+}
@@ -0,0 +1,101 @@
+package io.luna.game.model;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.model.mobile.MobileEntityList;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.region.Region;
+import io.luna.game.model.region.RegionManager;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test that ensures that {@link Entity}s are kept within the correct {@link io.luna.game.model.region.Region}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class EntityTest {
+
+    /**
+     * Ensures an entity that is removed and added again is placed back into its region, and can still move.
+     */
+    @Test
+    public void testReactivate() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+        MobileEntityList<Npc> npcs = world.getNpcs();
+
+        Position position = new Position(3222, 3222);
+        Npc npc = new Npc(context, 1, position);
+        npcs.add(npc);
+        npcs.remove(npc);
+        assertNull(npc.getCurrentRegion());
+
+        npcs.add(npc);
+        assertSame(world.getRegions().getRegion(position), npc.getCurrentRegion());
+        assertTrue(npc.getCurrentRegion().getEntities(EntityType.NPC).contains(npc));
+
+        Position next = new Position(3300, 3300);
+        npc.setPosition(next);
+        assertEquals(next, npc.getPosition());
+        assertSame(world.getRegions().getRegion(next), npc.getCurrentRegion());
+    }
+
+    /**
+     * Ensures moving an entity by its packed position changes its region and chunk, and its position view.
+     */
+    @Test
+    public void testPackedMove() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+
+        Npc npc = new Npc(context, 1, new Position(3222, 3222));
+        world.getNpcs().add(npc);
+        Region oldRegion = npc.getCurrentRegion();
+
+        npc.setPackedPosition(PackedPosition.pack(3230, 3222, 0));
+        assertEquals(new Position(3230, 3222), npc.getPosition());
+        assertSame(oldRegion, npc.getCurrentRegion());
+        assertFalse(oldRegion.<Npc>getChunkBucket(3222 >> 3, 3222 >> 3, EntityType.NPC).contains(npc));
+        assertTrue(oldRegion.<Npc>getChunkBucket(3230 >> 3, 3222 >> 3, EntityType.NPC).contains(npc));
+
+        npc.setPackedPosition(PackedPosition.pack(3300, 3222, 0));
+        assertEquals(3300, npc.getPosition().getX());
+        assertFalse(oldRegion.getNpcs().contains(npc));
+        assertSame(world.getRegions().getRegion(npc.getPosition()), npc.getCurrentRegion());
+    }
+
+    /**
+     * Ensures an entity can move to the last position covered by the region table, and that moving past it fails without
+     * changing the position or region of the entity.
+     */
+    @Test
+    public void testRegionTableBoundary() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+
+        Npc npc = new Npc(context, 1, new Position(3222, 3222));
+        world.getNpcs().add(npc);
+
+        Position boundary = new Position((RegionManager.WIDTH << 5) - 1, (RegionManager.HEIGHT << 5) - 1);
+        npc.setPosition(boundary);
+        assertEquals(boundary, npc.getPosition());
+        assertSame(world.getRegions().getRegion(boundary), npc.getCurrentRegion());
+
+        Region region = npc.getCurrentRegion();
+        try {
+            npc.setPosition(new Position(RegionManager.WIDTH << 5, 3222));
+            fail("moved outside of the region table");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(boundary, npc.getPosition());
+            assertSame(region, npc.getCurrentRegion());
+            assertTrue(region.getNpcs().contains(npc));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package io.luna.game.model;
 
+import com.google.gson.JsonObject;
+import io.luna.util.GsonUtils;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 /**
  * A test that ensures that functions within {@link Position} are functioning correctly.
  *
@@ -40,4 +45,48 @@ public final class PositionTest {
     public void testInvalidLowerZ() {
         new Position(1, 1, -1);
     }
+
+    /**
+     * Test invalid upper bound {@code x} values.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidUpperX() {
+        new Position(PackedPosition.MAX_COORDINATE + 1, 1, 1);
+    }
+
+    /**
+     * Test that coordinates survive packing, including the largest values.
+     */
+    @Test
+    public void testPacking() {
+        Position position = new Position(PackedPosition.MAX_COORDINATE, 9800, 3);
+        assertEquals(PackedPosition.MAX_COORDINATE, position.getX());
+        assertEquals(9800, position.getY());
+        assertEquals(3, position.getZ());
+        assertEquals(position, Position.unpack(position.getPacked()));
+    }
+
+    /**
+     * Test that moving keeps the {@code z} value, and returns the same instance when not moving.
+     */
+    @Test
+    public void testMove() {
+        Position position = new Position(3222, 3222, 2);
+        assertEquals(new Position(3223, 3220, 2), position.move(1, -2));
+        assertSame(position, position.move(0, 0));
+    }
+
+    /**
+     * Test that positions are serialized as separate coordinates, and that a missing {@code z} defaults to {@code 0}.
+     */
+    @Test
+    public void testJson() {
+        Position position = new Position(3222, 3218, 1);
+        assertEquals(position, GsonUtils.getAsType(GsonUtils.toJsonTree(position), Position.class));
+
+        JsonObject json = new JsonObject();
+        json.addProperty("x", 3222);
+        json.addProperty("y", 3222);
+        assertEquals(new Position(3222, 3222), GsonUtils.getAsType(json, Position.class));
+    }
 }
@@ -0,0 +1,125 @@
+package io.luna.game.model;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.event.EventListener;
+import io.luna.game.event.impl.SkillChangeEvent;
+import io.luna.game.model.mobile.Npc;
+import io.luna.game.model.mobile.Player;
+import io.luna.game.model.mobile.PlayerCredentials;
+import io.luna.game.model.mobile.Skill;
+import io.luna.game.model.mobile.update.UpdateFlagHolder.UpdateFlag;
+import io.luna.game.task.Task;
+import io.luna.net.session.GameSession;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that the {@link World} game loop skips {@link Npc}s within sleeping regions.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class WorldTest {
+
+    /**
+     * Ensures tasks attached to an npc are paused while its region sleeps, and resume once a player wakes it up.
+     */
+    @Test
+    public void testSleepingNpcTasks() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+        Npc npc = addNpc(context, new Position(3222, 3222));
+
+        AtomicInteger executions = new AtomicInteger();
+        world.getTasks().schedule(new Task(1) {
+            @Override
+            protected void execute() {
+                executions.incrementAndGet();
+            }
+        }.attach(npc));
+
+        world.runGameLoop();
+        world.runGameLoop();
+        assertTrue(npc.isSleeping());
+        assertEquals(0, executions.get());
+
+        addPlayer(context, new Position(3223, 3223));
+        world.runGameLoop();
+        assertFalse(npc.isSleeping());
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Ensures flags set by a task on the tick an npc's region wakes up are still set when the npc is processed.
+     */
+    @Test
+    public void testWakeKeepsTaskFlags() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+        Npc npc = addNpc(context, new Position(3222, 3222));
+
+        world.runGameLoop();
+        assertTrue(npc.isSleeping());
+
+        AtomicBoolean flagged = new AtomicBoolean();
+        context.getPlugins().getPipelines().addEventListener(SkillChangeEvent.class,
+            new EventListener<SkillChangeEvent>((evt, plr) ->
+                flagged.set(npc.getUpdateFlags().get(UpdateFlag.FORCE_CHAT))));
+
+        addPlayer(context, new Position(3223, 3223));
+        world.getTasks().schedule(new Task(1) {
+            @Override
+            protected void execute() {
+                npc.forceChat("Hello!");
+                npc.skill(Skill.ATTACK).setLevel(0);
+                cancel();
+            }
+        });
+        world.runGameLoop();
+        assertTrue(flagged.get());
+    }
+
+    /**
+     * Adds a player to the world at {@code position}.
+     *
+     * @param context The context.
+     * @param position The position.
+     * @return The player.
+     */
+    private Player addPlayer(LunaContext context, Position position) {
+        Channel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        Player player = new Player(context, new PlayerCredentials("test", "password"));
+        player.setSession(new GameSession(player, channel, null, null, null));
+        player.setPosition(position);
+        context.getWorld().getPlayers().add(player);
+        return player;
+    }
+
+    /**
+     * Adds an npc to the world at {@code position}.
+     *
+     * @param context The context.
+     * @param position The position.
+     * @return The npc.
+     */
+    private Npc addNpc(LunaContext context, Position position) {
+        Npc npc = new Npc(context, 1, position);
+        context.getWorld().getNpcs().add(npc);
+        return npc;
+    }
+}
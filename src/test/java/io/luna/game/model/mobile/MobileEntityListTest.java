@@ -0,0 +1,246 @@
+package io.luna.game.model.mobile;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.model.EntityState;
+import io.luna.game.model.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link MobileEntityList} assigns indexes and iterates over its mobs correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class MobileEntityListTest {
+
+    /**
+     * The context the npcs are created in.
+     */
+    private LunaContext context;
+
+    @Before
+    public void setUp() {
+        context = TestContexts.create();
+    }
+
+    /**
+     * Ensures mobs can be added, looked up and removed.
+     */
+    @Test
+    public void testAddRemove() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(4);
+        Npc first = add(list);
+        Npc second = add(list);
+        Npc third = add(list);
+        assertEquals(3, list.size());
+        assertEquals(2, second.getIndex());
+        assertSame(second, list.get(2));
+
+        list.remove(second);
+        assertEquals(2, list.size());
+        assertNull(list.get(2));
+        assertEquals(-1, second.getIndex());
+        assertEquals(EntityState.INACTIVE, second.getState());
+        assertEquals(Arrays.asList(first, third), collect(list));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(EntityState.INACTIVE, first.getState());
+        assertEquals(EntityState.INACTIVE, third.getState());
+    }
+
+    /**
+     * Ensures freed indexes are reused in the order they were freed, after the indexes that were never used.
+     */
+    @Test
+    public void testFreeIndexOrder() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(4);
+        Npc first = add(list);
+        Npc second = add(list);
+
+        list.remove(second);
+        list.remove(first);
+        assertEquals(3, add(list).getIndex());
+        assertEquals(4, add(list).getIndex());
+        assertEquals(2, add(list).getIndex());
+        assertEquals(1, add(list).getIndex());
+    }
+
+    /**
+     * Ensures the list reports being full, and refuses new mobs until one is removed.
+     */
+    @Test
+    public void testIsFull() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(2);
+        Npc first = add(list);
+        assertFalse(list.isFull());
+        assertEquals(1, list.remaining());
+
+        add(list);
+        assertTrue(list.isFull());
+        assertEquals(0, list.remaining());
+        try {
+            add(list);
+            throw new AssertionError("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+        }
+
+        list.remove(first);
+        assertFalse(list.isFull());
+        assertEquals(1, add(list).getIndex());
+    }
+
+    /**
+     * Ensures removing visited and unvisited mobs within {@code forEach()} neither skips nor repeats any mob.
+     */
+    @Test
+    public void testRemoveDuringForEach() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(8);
+        List<Npc> npcs = new ArrayList<>();
+        for (int count = 0; count < 5; count++) {
+            npcs.add(add(list));
+        }
+
+        List<Npc> visited = new ArrayList<>();
+        list.forEach(npc -> {
+            visited.add(npc);
+            if (npc == npcs.get(2)) {
+                list.remove(npcs.get(0));
+                list.remove(npcs.get(3));
+                add(list);
+            }
+        });
+        assertEquals(Arrays.asList(npcs.get(0), npcs.get(1), npcs.get(2), npcs.get(4)), visited);
+        assertEquals(4, list.size());
+
+        List<Npc> remaining = collect(list);
+        assertEquals(Arrays.asList(npcs.get(1), npcs.get(2), npcs.get(4)), remaining.subList(0, 3));
+        assertEquals(6, remaining.get(3).getIndex());
+
+        // The indexes of mobs removed during iteration are freed after the ones that were never used.
+        assertEquals(7, add(list).getIndex());
+        assertEquals(8, add(list).getIndex());
+        assertEquals(1, add(list).getIndex());
+        assertEquals(4, add(list).getIndex());
+    }
+
+    /**
+     * Ensures every other mob can be removed through the {@link Iterator}.
+     */
+    @Test
+    public void testIteratorRemove() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(8);
+        List<Npc> npcs = new ArrayList<>();
+        for (int count = 0; count < 6; count++) {
+            npcs.add(add(list));
+        }
+
+        List<Npc> visited = new ArrayList<>();
+        boolean remove = true;
+        for (Iterator<Npc> iterator = list.iterator(); iterator.hasNext(); ) {
+            visited.add(iterator.next());
+            if (remove) {
+                iterator.remove();
+            }
+            remove = !remove;
+        }
+        assertEquals(6, visited.size());
+        assertTrue(visited.containsAll(npcs));
+        assertEquals(3, list.size());
+    }
+
+    /**
+     * Ensures the {@link Spliterator} knows its exact size, and splits into balanced halves.
+     */
+    @Test
+    public void testSpliteratorSplits() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(16);
+        for (int count = 0; count < 9; count++) {
+            add(list);
+        }
+
+        Spliterator<Npc> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(9, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Npc> prefix = spliterator.trySplit();
+        assertEquals(4, prefix.getExactSizeIfKnown());
+        assertEquals(5, spliterator.getExactSizeIfKnown());
+        assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+
+        Spliterator<Npc> quarter = spliterator.trySplit();
+        assertEquals(2, quarter.getExactSizeIfKnown());
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+        assertEquals(9, list.parallelStream().count());
+    }
+
+    /**
+     * Ensures mobs removed and added while a stream is traversed are neither returned as {@code null} nor twice.
+     */
+    @Test
+    public void testRemoveDuringStream() {
+        MobileEntityList<Npc> list = new MobileEntityList<>(16);
+        List<Npc> npcs = new ArrayList<>();
+        for (int count = 0; count < 6; count++) {
+            npcs.add(add(list));
+        }
+
+        List<Npc> visited = new ArrayList<>();
+        list.stream().forEach(npc -> {
+            visited.add(npc);
+            list.remove(npc);
+            add(list);
+        });
+        assertEquals(npcs, visited);
+        assertEquals(6, list.size());
+
+        // Within forEach, removed mobs leave gaps that the stream must skip.
+        List<Npc> streamed = new ArrayList<>();
+        list.forEach(npc -> {
+            if (streamed.isEmpty()) {
+                list.remove(npc);
+                list.stream().forEach(streamed::add);
+            }
+        });
+        assertEquals(5, streamed.size());
+        assertFalse(streamed.contains(null));
+    }
+
+    /**
+     * Adds a new npc to {@code list}.
+     *
+     * @param list The list.
+     * @return The npc.
+     */
+    private Npc add(MobileEntityList<Npc> list) {
+        Npc npc = new Npc(context, 1, new Position(3222, 3222));
+        list.add(npc);
+        return npc;
+    }
+
+    /**
+     * Collects the mobs within {@code list} in iteration order.
+     *
+     * @param list The list.
+     * @return The mobs.
+     */
+    private List<Npc> collect(MobileEntityList<Npc> list) {
+        List<Npc> mobs = new ArrayList<>();
+        list.forEach(mobs::add);
+        return mobs;
+    }
+}
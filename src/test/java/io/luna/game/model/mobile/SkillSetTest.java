@@ -0,0 +1,176 @@
+package io.luna.game.model.mobile;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.event.EventListener;
+import io.luna.game.event.impl.SkillChangeEvent;
+import io.luna.game.model.Position;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.ByteOrder;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.session.GameSession;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that the experience table lookups and the flushing of skill changes within {@link SkillSet} are
+ * functioning correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class SkillSetTest {
+
+    /**
+     * Test that the level for every amount of experience on and around a level boundary is correct.
+     */
+    @Test
+    public void testLevelForExperience() {
+        assertEquals(1, SkillSet.levelForExperience(0));
+        assertEquals(99, SkillSet.levelForExperience(SkillSet.MAXIMUM_EXPERIENCE));
+
+        for (int level = 2; level <= 99; level++) {
+            int experience = SkillSet.experienceForLevel(level);
+            assertEquals(level - 1, SkillSet.levelForExperience(experience - 1));
+            assertEquals(level, SkillSet.levelForExperience(experience));
+            assertEquals(level, SkillSet.levelForExperience(experience + 1));
+        }
+    }
+
+    /**
+     * Test that well known experience amounts are computed.
+     */
+    @Test
+    public void testExperienceForLevel() {
+        assertEquals(0, SkillSet.experienceForLevel(1));
+        assertEquals(83, SkillSet.experienceForLevel(2));
+        assertEquals(1154, SkillSet.experienceForLevel(10));
+        assertEquals(13_034_431, SkillSet.experienceForLevel(99));
+    }
+
+    /**
+     * Test that several changes to one skill within a tick are flushed as one event with the values from before the first
+     * change.
+     */
+    @Test
+    public void testCoalescedChanges() {
+        List<SkillChangeEvent> events = new ArrayList<>();
+        SkillSet skills = newSkillSet(events);
+        Skill attack = skills.getSkill(Skill.ATTACK);
+
+        attack.setExperience(SkillSet.experienceForLevel(5));
+        attack.setLevel(3);
+        attack.setExperience(SkillSet.experienceForLevel(10));
+        assertTrue(events.isEmpty());
+
+        skills.flush();
+        assertEquals(1, events.size());
+
+        SkillChangeEvent evt = events.get(0);
+        assertEquals(Skill.ATTACK, evt.getId());
+        assertEquals(0, evt.getOldExperience(), 0);
+        assertEquals(1, evt.getOldStaticLevel());
+        assertEquals(1, evt.getOldLevel());
+    }
+
+    /**
+     * Test that flushing a skill set without any changes does not post events.
+     */
+    @Test
+    public void testEmptyFlush() {
+        List<SkillChangeEvent> events = new ArrayList<>();
+        SkillSet skills = newSkillSet(events);
+
+        skills.flush();
+        assertTrue(events.isEmpty());
+
+        skills.getSkill(Skill.MAGIC).addExperience(100);
+        skills.flush();
+        skills.flush();
+        assertEquals(1, events.size());
+    }
+
+    /**
+     * Test that the combat level is recomputed as soon as a combat skill levels up, rather than at the next flush.
+     */
+    @Test
+    public void testCombatLevelReset() {
+        SkillSet skills = newSkillSet(new ArrayList<>());
+        int oldCombatLevel = skills.getCombatLevel();
+
+        skills.getSkill(Skill.DEFENCE).setExperience(SkillSet.experienceForLevel(99));
+        assertTrue(skills.getCombatLevel() > oldCombatLevel);
+    }
+
+    /**
+     * Test that a level up, which changes the level again while its event is handled, sends the skill to the client once
+     * with the new level and is not flushed again on the next tick.
+     */
+    @Test
+    public void testLevelUpWithinEvent() {
+        LunaContext context = TestContexts.create();
+        List<SkillChangeEvent> events = new ArrayList<>();
+        context.getPlugins().getPipelines().addEventListener(SkillChangeEvent.class,
+            new EventListener<SkillChangeEvent>((evt, plr) -> {
+                events.add(evt);
+                Skill skill = plr.skill(evt.getId());
+                if (evt.getOldStaticLevel() < skill.getStaticLevel()) {
+                    skill.setLevel(skill.getStaticLevel());
+                }
+            }));
+
+        EmbeddedChannel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        Player player = new Player(context, new PlayerCredentials("test", "password"));
+        player.setSession(new GameSession(player, channel, null, null, null));
+
+        player.skill(Skill.ATTACK).setExperience(SkillSet.experienceForLevel(10));
+        player.getSkills().flush();
+        assertEquals(2, events.size());
+
+        channel.flush();
+        GameMessage msg = channel.readOutbound();
+        assertEquals(134, msg.getOpcode());
+
+        ByteMessage payload = msg.getPayload();
+        assertEquals(Skill.ATTACK, payload.get());
+        assertEquals(SkillSet.experienceForLevel(10), payload.getInt(ByteOrder.MIDDLE));
+        assertEquals(10, payload.get());
+        assertNull(channel.readOutbound());
+
+        events.clear();
+        player.getSkills().flush();
+        channel.flush();
+        assertTrue(events.isEmpty());
+        assertNull(channel.readOutbound());
+    }
+
+    /**
+     * Creates a flushed {@link SkillSet} for a new {@link Npc}, recording the events it posts into {@code events}.
+     *
+     * @param events The list to record events into.
+     * @return The skill set.
+     */
+    private SkillSet newSkillSet(List<SkillChangeEvent> events) {
+        LunaContext context = TestContexts.create();
+        context.getPlugins().getPipelines().addEventListener(SkillChangeEvent.class,
+            new EventListener<SkillChangeEvent>((evt, plr) -> events.add(evt)));
+
+        SkillSet skills = new Npc(context, 1, new Position(3222, 3222)).getSkills();
+        skills.flush();
+        events.clear();
+        return skills;
+    }
+}
@@ -0,0 +1,77 @@
+package io.luna.game.model.mobile;
+
+import io.luna.LunaContext;
+import io.luna.TestContexts;
+import io.luna.game.model.Direction;
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.path.Path;
+import io.luna.net.session.GameSession;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link WalkingQueue}s move their mobs every tick.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class WalkingQueueTest {
+
+    /**
+     * Ensures an npc given a path walks one step along it every tick, without touching run energy. A player is added
+     * nearby, so that the region of the npc stays awake.
+     */
+    @Test
+    public void testNpcWalksPath() {
+        LunaContext context = TestContexts.create();
+        World world = context.getWorld();
+
+        Position start = new Position(3222, 3222);
+        Npc npc = new Npc(context, 1, start);
+        world.getNpcs().add(npc);
+        addPlayer(context, new Position(3222, 3230));
+
+        Path path = world.getPathfinding().findNow(start, new Position(3225, 3222));
+        npc.getWalkingQueue().addPath(path);
+
+        assertEquals(3, path.size());
+
+        for (int index = 0; index < path.size(); index++) {
+            world.runGameLoop();
+            assertEquals(path.getStep(index), npc.getPosition());
+            assertTrue(npc.getWalkingDirection() != Direction.NONE);
+        }
+        assertEquals(new Position(3225, 3222), npc.getPosition());
+        assertTrue(npc.getWalkingQueue().empty());
+
+        world.runGameLoop();
+        assertEquals(new Position(3225, 3222), npc.getPosition());
+        assertEquals(Direction.NONE, npc.getWalkingDirection());
+    }
+
+    /**
+     * Adds a player to the world at {@code position}.
+     *
+     * @param context The context.
+     * @param position The position.
+     */
+    private void addPlayer(LunaContext context, Position position) {
+        Channel channel = new EmbeddedChannel() {
+            @Override
+            public SocketAddress remoteAddress() {
+                return new InetSocketAddress("127.0.0.1", 43594);
+            }
+        };
+        Player player = new Player(context, new PlayerCredentials("test", "password"));
+        player.setSession(new GameSession(player, channel, null, null, null));
+        player.setPosition(position);
+        context.getWorld().getPlayers().add(player);
+    }
+}
@@ -60,6 +60,49 @@ public final class AttributeTest {
         AttributeKey.ALIASES.clear();
     }
 
+    /**
+     * Test the typed functions of the attribute map, and that they share values with the {@code String} key functions.
+     */
+    @Test
+    public void testTypedAccess() {
+        AttributeMap map = new AttributeMap();
+
+        AttributeKey<Double> energy = AttributeKey.forTransient("some_double", 100.0);
+        AttributeKey<Long> time = AttributeKey.forTransient("some_long", 0L);
+        AttributeKey<Integer> count = AttributeKey.forTransient("some_int", 5);
+        AttributeKey<Boolean> flag = AttributeKey.forTransient("some_boolean", false);
+
+        assertEquals(100.0, map.getDouble(energy), 0.0);
+        assertEquals(5, map.getInt(count));
+
+        map.setDouble(energy, 42.5);
+        map.setLong(time, 1234L);
+        map.setObject(flag, true);
+        assertEquals(42.5, map.<Double>get("some_double").get(), 0.0);
+        assertEquals(1234L, (long) map.<Long>get("some_long").get());
+        assertEquals(true, map.get("some_boolean").get());
+
+        map.<Integer>get("some_int").set(10);
+        assertEquals(10, map.getInt(count));
+
+        AttributeKey.ALIASES.clear();
+    }
+
+    /**
+     * Test setting a value of the wrong type through a {@code String} key.
+     */
+    @Test(expected = AttributeTypeException.class)
+    public void testWrongType() {
+        AttributeMap map = new AttributeMap();
+
+        AttributeKey.forTransient("some_attribute", 0.0);
+        try {
+            map.get("some_attribute").set(5);
+        } finally {
+            AttributeKey.ALIASES.clear();
+        }
+    }
+
     /**
      * Test trying to use a non-existent attribute.
      */
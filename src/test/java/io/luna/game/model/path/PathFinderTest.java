@@ -0,0 +1,96 @@
+package io.luna.game.model.path;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.region.ClippingMap;
+import io.luna.game.model.region.ClippingMapConverter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link PathFinder} finds the shortest paths around clipped tiles.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class PathFinderTest {
+
+    /**
+     * A temporary folder for the clipping files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The clipping map, with a wall along {@code x = 3225} and a closed box around {@code (3240, 3240)}.
+     */
+    private ClippingMap clipping;
+
+    @Before
+    public void setUp() throws IOException {
+        List<String> dump = new ArrayList<>();
+        for (int y = 3215; y <= 3229; y++) {
+            dump.add("3225 " + y + " 0 0x200000");
+        }
+        for (int offset = -1; offset <= 1; offset++) {
+            dump.add((3240 + offset) + " 3239 0 0x200000");
+            dump.add((3240 + offset) + " 3241 0 0x200000");
+            dump.add("3239 " + (3240 + offset) + " 0 0x200000");
+            dump.add("3241 " + (3240 + offset) + " 0 0x200000");
+        }
+        java.nio.file.Path input = folder.getRoot().toPath().resolve("clipping.txt");
+        java.nio.file.Path output = folder.getRoot().toPath().resolve("clipping.bin");
+        Files.write(input, dump);
+        ClippingMapConverter.convert(input, output);
+        clipping = ClippingMap.load(output);
+    }
+
+    /**
+     * Ensures a path is found around the wall, one adjacent step at a time.
+     */
+    @Test
+    public void testAroundWall() {
+        Position start = new Position(3222, 3222);
+        Path path = new PathFinder(clipping).find(start, new Position(3228, 3222));
+
+        assertTrue(path.isComplete());
+        assertEquals(new Position(3228, 3222), path.getDestination());
+        assertEquals(18, path.size());
+
+        int lastX = start.getX();
+        int lastY = start.getY();
+        for (int index = 0; index < path.size(); index++) {
+            assertTrue(Math.abs(path.getX(index) - lastX) <= 1 && Math.abs(path.getY(index) - lastY) <= 1);
+            assertFalse(path.getX(index) == 3225 && path.getY(index) >= 3215 && path.getY(index) <= 3229);
+            lastX = path.getX(index);
+            lastY = path.getY(index);
+        }
+    }
+
+    /**
+     * Ensures an unreachable target results in a path to the closest reachable tile, and that searches can be repeated
+     * with the same finder.
+     */
+    @Test
+    public void testUnreachable() {
+        PathFinder finder = new PathFinder(clipping);
+        for (int repeat = 0; repeat < 3; repeat++) {
+            Path path = finder.find(new Position(3235, 3240), new Position(3240, 3240));
+            assertFalse(path.isComplete());
+            assertEquals(new Position(3238, 3240), path.getDestination());
+        }
+
+        Path empty = finder.find(new Position(3235, 3240), new Position(3235, 3240));
+        assertTrue(empty.isComplete());
+        assertTrue(empty.isEmpty());
+    }
+}
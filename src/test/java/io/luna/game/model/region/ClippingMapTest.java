@@ -0,0 +1,74 @@
+package io.luna.game.model.region;
+
+import io.luna.game.model.Direction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link ClippingMapConverter} output is read back correctly by {@link ClippingMap}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ClippingMapTest {
+
+    /**
+     * A temporary folder for the dump and clipping files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Ensures flags are converted, stored per height level, and block the correct steps.
+     */
+    @Test
+    public void testConversion() throws IOException {
+        Path dump = folder.getRoot().toPath().resolve("clipping.txt");
+        Path output = folder.getRoot().toPath().resolve("map/clipping.bin");
+        Files.write(dump, Arrays.asList(
+            "# x y z flags",
+            "3222 3223 0 0x20",
+            "3222 3222 0 0x2",
+            "3224 3222 0 0x200100",
+            "3222 3222 2 0x1000000",
+            "",
+            "3300 3300 0 0x20000"));
+
+        assertEquals(1, ClippingMapConverter.convert(dump, output));
+        ClippingMap map = ClippingMap.load(output);
+        assertEquals(1, map.getRegionCount());
+
+        assertEquals(ClippingMap.WALL_SOUTH, map.getFlags(3222, 3223, 0));
+        assertEquals(ClippingMap.OCCUPIED | ClippingMap.BLOCKED, map.getFlags(3224, 3222, 0));
+        assertEquals(ClippingMap.BLOCKED, map.getFlags(3222, 3222, 2));
+        assertEquals(0, map.getFlags(3222, 3222, 1));
+        assertEquals(0, map.getFlags(3300, 3300, 0));
+
+        assertFalse(map.isTraversable(3222, 3222, 0, Direction.NORTH));
+        assertFalse(map.isTraversable(3222, 3223, 0, Direction.SOUTH));
+        assertFalse(map.isTraversable(3222, 3222, 0, Direction.NORTH_EAST));
+        assertFalse(map.isTraversable(3223, 3222, 0, Direction.EAST));
+        assertTrue(map.isTraversable(3222, 3222, 0, Direction.EAST));
+        assertTrue(map.isTraversable(3222, 3222, 1, Direction.NORTH));
+        assertTrue(map.isTraversable(3222, 3222, 0, Direction.NONE));
+    }
+
+    /**
+     * Ensures a missing file results in a map where every tile is traversable.
+     */
+    @Test
+    public void testMissing() {
+        ClippingMap map = ClippingMap.load(folder.getRoot().toPath().resolve("missing.bin"));
+        assertEquals(0, map.getRegionCount());
+        assertTrue(map.isTraversable(3222, 3222, 0, Direction.SOUTH_WEST));
+    }
+}
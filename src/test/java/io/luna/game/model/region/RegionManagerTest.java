@@ -0,0 +1,58 @@
+package io.luna.game.model.region;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A test that ensures that {@link RegionManager} links regions with their neighbours and evicts idle regions.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class RegionManagerTest {
+
+    /**
+     * Ensures regions are linked in both directions regardless of the order they are loaded in.
+     */
+    @Test
+    public void testNeighbours() {
+        RegionManager regions = new RegionManager();
+        Region center = regions.getRegion(100, 100);
+
+        assertSame(center, center.getNeighbour(0, 0));
+        assertNull(center.getNeighbour(1, 0));
+
+        Region east = regions.getRegion(101, 100);
+        Region southWest = regions.getRegion(99, 99);
+
+        assertSame(east, center.getNeighbour(1, 0));
+        assertSame(center, east.getNeighbour(-1, 0));
+        assertSame(southWest, center.getNeighbour(-1, -1));
+        assertSame(center, southWest.getNeighbour(1, 1));
+        assertNull(east.getNeighbour(-1, -1));
+        assertSame(regions.getRegion(100, 101), east.getNeighbour(-1, 1));
+    }
+
+    /**
+     * Ensures empty regions fall asleep immediately, and are evicted and unlinked once idle for long enough.
+     */
+    @Test
+    public void testEviction() {
+        RegionManager regions = new RegionManager();
+        Region center = regions.getRegion(100, 100);
+        Region east = regions.getRegion(101, 100);
+
+        regions.process();
+        assertEquals(2, regions.size());
+        assertEquals(2, regions.sleepingCount());
+
+        for (int tick = 0; tick < 100; tick++) {
+            regions.process();
+        }
+        assertEquals(0, regions.size());
+        assertNull(center.getNeighbour(1, 0));
+        assertNull(east.getNeighbour(-1, 0));
+    }
+}
@@ -0,0 +1,54 @@
+package io.luna.net;
+
+import com.google.common.net.InetAddresses;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test that ensures that {@link AddressTrie} matches single addresses and CIDR ranges correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class AddressTrieTest {
+
+    /**
+     * Ensures single addresses only match themselves.
+     */
+    @Test
+    public void testSingleAddress() {
+        AddressTrie trie = new AddressTrie();
+        trie.add("192.168.1.5");
+
+        assertTrue(trie.contains(InetAddresses.forString("192.168.1.5")));
+        assertFalse(trie.contains(InetAddresses.forString("192.168.1.4")));
+        assertFalse(trie.contains(InetAddresses.forString("192.168.1.6")));
+    }
+
+    /**
+     * Ensures IPv4 and IPv6 ranges match every address within them and nothing else.
+     */
+    @Test
+    public void testRanges() {
+        AddressTrie trie = new AddressTrie();
+        trie.add("10.0.0.0/8");
+        trie.add("172.16.0.0/12");
+        trie.add("2001:db8::/32");
+
+        assertTrue(trie.contains(InetAddresses.forString("10.255.3.1")));
+        assertTrue(trie.contains(InetAddresses.forString("172.31.255.255")));
+        assertFalse(trie.contains(InetAddresses.forString("172.32.0.0")));
+        assertFalse(trie.contains(InetAddresses.forString("11.0.0.1")));
+        assertTrue(trie.contains(InetAddresses.forString("2001:db8:1::1")));
+        assertFalse(trie.contains(InetAddresses.forString("2001:db9::1")));
+    }
+
+    /**
+     * Ensures an invalid entry is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEntry() {
+        new AddressTrie().add("10.0.0.0/33");
+    }
+}
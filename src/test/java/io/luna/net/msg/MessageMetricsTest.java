@@ -0,0 +1,68 @@
+package io.luna.net.msg;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that {@link MessageMetrics} counts messages and bounds percentiles correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class MessageMetricsTest {
+
+    /**
+     * Ensures counts, errors, slow messages and maximums are tracked per opcode.
+     */
+    @Test
+    public void testCounts() {
+        MessageMetrics metrics = new MessageMetrics(1, TimeUnit.MILLISECONDS);
+        metrics.record(null, 41, 1_000, 500, false);
+        metrics.record(null, 41, 2_000_000, 0, true);
+        metrics.record(null, 164, 100, 0, false);
+
+        assertEquals(2, metrics.getCount(41));
+        assertEquals(1, metrics.getErrors(41));
+        assertEquals(1, metrics.getSlow(41));
+        assertEquals(2_000_000, metrics.getMax(41));
+        assertEquals(1, metrics.getCount(164));
+        assertEquals(0, metrics.getSlow(164));
+        assertEquals(0, metrics.getCount(0));
+    }
+
+    /**
+     * Ensures percentiles are rounded up to the power of two bounding their bucket.
+     */
+    @Test
+    public void testPercentiles() {
+        MessageMetrics metrics = new MessageMetrics(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 99; i++) {
+            metrics.record(null, 4, 1_000, 0, false);
+        }
+        metrics.record(null, 4, 100_000, 0, false);
+
+        assertEquals(1024, metrics.getReadPercentile(4, 50));
+        assertEquals(1024, metrics.getReadPercentile(4, 99));
+        assertEquals(131_072, metrics.getReadPercentile(4, 100));
+        assertEquals(1, metrics.getPostPercentile(4, 50));
+        assertEquals(0, metrics.getReadPercentile(5, 50));
+    }
+
+    /**
+     * Ensures messages that didn't post an event are left out of the post percentiles.
+     */
+    @Test
+    public void testNoEventPosted() {
+        MessageMetrics metrics = new MessageMetrics(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 99; i++) {
+            metrics.record(null, 4, 1_000, -1, false);
+        }
+        metrics.record(null, 4, 1_000, 5_000, false);
+
+        assertEquals(100, metrics.getCount(4));
+        assertEquals(8192, metrics.getPostPercentile(4, 50));
+        assertEquals(6_000, metrics.getMax(4));
+    }
+}
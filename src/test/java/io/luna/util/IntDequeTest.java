@@ -0,0 +1,57 @@
+package io.luna.util;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that {@link IntDeque} behaves like an {@link ArrayDeque} across wrapping and growth.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class IntDequeTest {
+
+    /**
+     * Ensures a random sequence of operations matches an {@link ArrayDeque}.
+     */
+    @Test
+    public void testAgainstArrayDeque() {
+        IntDeque deque = new IntDeque(2);
+        Deque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(317);
+
+        for (int operation = 0; operation < 100_000; operation++) {
+            int choice = random.nextInt(10);
+            if (choice < 5) {
+                int value = random.nextInt();
+                deque.addLast(value);
+                expected.addLast(value);
+            } else if (choice < 7 && !expected.isEmpty()) {
+                assertEquals((int) expected.pollFirst(), deque.pollFirst());
+            } else if (choice < 9 && !expected.isEmpty()) {
+                assertEquals((int) expected.peekLast(), deque.peekLast());
+                assertEquals((int) expected.pollLast(), deque.pollLast());
+            } else if (choice == 9 && random.nextInt(100) == 0) {
+                deque.clear();
+                expected.clear();
+            }
+            assertEquals(expected.size(), deque.size());
+            if (!expected.isEmpty()) {
+                assertEquals((int) expected.peekFirst(), deque.get(0));
+            }
+        }
+    }
+
+    /**
+     * Ensures polling an empty deque fails.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() {
+        new IntDeque().pollFirst();
+    }
+}
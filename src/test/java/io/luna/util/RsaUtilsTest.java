@@ -0,0 +1,46 @@
+package io.luna.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test that ensures that functions within {@link RsaUtils} are functioning correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class RsaUtilsTest {
+
+    /**
+     * Test that decrypting with the Chinese Remainder Theorem gives the same result as the standard method.
+     */
+    @Test
+    public void testCrtMatchesStandard() {
+        Random random = new Random(317);
+        BigInteger publicExponent = BigInteger.valueOf(65537);
+
+        BigInteger p, q, phi;
+        do {
+            p = BigInteger.probablePrime(256, random);
+            q = BigInteger.probablePrime(256, random);
+            phi = p.subtract(BigInteger.ONE).multiply(q.subtract(BigInteger.ONE));
+        } while (!phi.gcd(publicExponent).equals(BigInteger.ONE));
+
+        BigInteger modulus = p.multiply(q);
+        BigInteger exponent = publicExponent.modInverse(phi);
+        BigInteger dp = exponent.mod(p.subtract(BigInteger.ONE));
+        BigInteger dq = exponent.mod(q.subtract(BigInteger.ONE));
+        BigInteger qInv = q.modInverse(p);
+
+        for (int i = 0; i < 100; i++) {
+            BigInteger message = new BigInteger(400, random);
+            BigInteger encrypted = message.modPow(publicExponent, modulus);
+
+            assertEquals(message, RsaUtils.decrypt(encrypted, modulus, exponent));
+            assertEquals(message, RsaUtils.decryptCrt(encrypted, p, q, dp, dq, qInv));
+        }
+    }
+}